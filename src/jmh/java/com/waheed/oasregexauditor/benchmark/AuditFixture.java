@@ -0,0 +1,86 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.config.AuditExecutorConfig;
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.service.AuditMetrics;
+import com.waheed.oasregexauditor.service.OasValidationService;
+import com.waheed.oasregexauditor.service.RegexVerdictCache;
+import com.waheed.oasregexauditor.service.redos.RedosAnalyzer;
+import com.waheed.oasregexauditor.service.redos.RedosProber;
+import com.waheed.oasregexauditor.service.rules.MissingAnchorsRule;
+import com.waheed.oasregexauditor.service.rules.OperationIdRule;
+import com.waheed.oasregexauditor.service.rules.OperationSummaryRule;
+import com.waheed.oasregexauditor.service.rules.PathNamingRule;
+import com.waheed.oasregexauditor.service.rules.PermissivePatternRule;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.RuleSet;
+import com.waheed.oasregexauditor.service.rules.SchemaDescriptionRule;
+import com.waheed.oasregexauditor.service.rules.SchemaExampleRule;
+import com.waheed.oasregexauditor.service.validators.GoRe2jRegexValidator;
+import com.waheed.oasregexauditor.service.validators.JavaRegexValidator;
+import com.waheed.oasregexauditor.service.validators.JavaScriptRegexValidator;
+import com.waheed.oasregexauditor.service.validators.RegexValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Wires the audit services by hand, exactly as the Spring context does, so that benchmarks measure the
+ * services and not container start-up. Uses the default {@link AuditProperties}; metrics are recorded in a
+ * {@link SimpleMeterRegistry} so that their cost is part of the measurement, as it is in the application.
+ */
+final class AuditFixture implements AutoCloseable {
+
+    final AuditProperties properties = new AuditProperties();
+    final JavaRegexValidator javaValidator = new JavaRegexValidator();
+    final GoRe2jRegexValidator goValidator = new GoRe2jRegexValidator();
+    final JavaScriptRegexValidator javaScriptValidator = new JavaScriptRegexValidator(properties);
+    final AuditMetrics metrics = new AuditMetrics(new SimpleMeterRegistry());
+    final RedosAnalyzer redosAnalyzer = new RedosAnalyzer(properties);
+    final PermissivePatternRule permissiveRule = new PermissivePatternRule();
+    final MissingAnchorsRule anchorsRule = new MissingAnchorsRule();
+    final RedosRule redosRule = new RedosRule(redosAnalyzer);
+    final RuleRegistry ruleRegistry = new RuleRegistry(List.of(permissiveRule, anchorsRule, redosRule, new PathNamingRule(),
+            new OperationIdRule(), new OperationSummaryRule(), new SchemaDescriptionRule(), new SchemaExampleRule()), properties);
+    final OasValidationService validationService;
+
+    private final ForkJoinPool auditForkJoinPool;
+    private final ThreadPoolExecutor redosProbeExecutor;
+
+    AuditFixture() {
+        AuditExecutorConfig executors = new AuditExecutorConfig();
+        auditForkJoinPool = executors.auditForkJoinPool(properties);
+        redosProbeExecutor = executors.redosProbeExecutor(properties);
+        RegexVerdictCache verdictCache = new RegexVerdictCache(new CacheConfig().cacheManager(properties));
+        List<RegexValidator> validators = List.of(javaValidator, javaScriptValidator, goValidator);
+        validationService = new OasValidationService(validators, verdictCache, auditForkJoinPool,
+                properties, new RedosProber(redosAnalyzer, properties, redosProbeExecutor), metrics);
+    }
+
+    /**
+     * The dispatch table of rule IDs or rule set names, e.g. {@code all}.
+     */
+    RuleSet rules(String... names) {
+        return ruleRegistry.ruleSet(ruleRegistry.resolve(List.of(names)));
+    }
+
+    RegexValidator validator(String engine) {
+        return switch (engine) {
+            case "java" -> javaValidator;
+            case "go" -> goValidator;
+            case "javascript" -> javaScriptValidator;
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+    }
+
+    @Override
+    public void close() {
+        javaScriptValidator.close();
+        auditForkJoinPool.shutdown();
+        redosProbeExecutor.shutdownNow();
+    }
+}
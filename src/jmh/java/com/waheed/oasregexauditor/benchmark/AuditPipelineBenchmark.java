@@ -0,0 +1,90 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of auditing a parsed spec, and of the pattern scan with line-number resolution on its own.
+ * The spec is parsed once per trial, as parsing is the swagger-parser's cost rather than ours.
+ * <p>
+ * The verdict cache is shared across invocations, as it is across requests in production, so after the first
+ * invocation engine verdicts are cache hits; {@link RegexValidatorBenchmark} measures the engines themselves.
+ * Compare the per-pattern cost across {@code patternCount} values to check that the audit scales linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditPipelineBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int patternCount;
+
+    @Param({"10"})
+    public int pathCount;
+
+    @Param({"3"})
+    public int schemaDepth;
+
+    @Param({"java"})
+    public String engine;
+
+    private AuditFixture fixture;
+    private String content;
+    private OpenAPI openAPI;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new AuditFixture();
+        content = SyntheticSpecGenerator.generate(pathCount, schemaDepth, patternCount);
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        openAPI = new OpenAPIV3Parser().readContents(content, null, options).getOpenAPI();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<GroupedValidationResult> validateOas() {
+        return fixture.validationService.validateOas(openAPI, content, engine, fixture.rules());
+    }
+
+    @Benchmark
+    public List<GroupedValidationResult> validateOasWithAllChecks() {
+        return fixture.validationService.validateOas(openAPI, content, engine, fixture.rules(RuleRegistry.ALL));
+    }
+
+    /**
+     * Pattern extraction plus line-number lookup through the source position index, which replaced the
+     * per-pattern {@code findLineNumber} rescans.
+     */
+    @Benchmark
+    public List<PatternLocation> scanPatternsWithLineNumbers() {
+        return fixture.validationService.scanPatterns(openAPI, content);
+    }
+}
@@ -0,0 +1,77 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram in microseconds with under 1% relative error. Values below 256 are counted
+ * exactly; above that, every power of two is split into 128 equal buckets, so memory stays constant however
+ * long a soak runs.
+ */
+final class LatencyHistogram {
+
+    private static final int EXACT = 256;
+    private static final int SUB_BUCKETS = 128;
+    // Values up to 2^41 microseconds, far beyond any request timeout.
+    private static final int BUCKETS = EXACT + 33 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long micros) {
+        counts.incrementAndGet(bucketOf(Math.max(0, micros)));
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100), in microseconds, or 0 if nothing was recorded.
+     */
+    long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+
+    void addTo(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                other.counts.addAndGet(i, c);
+            }
+        }
+    }
+
+    private static int bucketOf(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        // Keep the 8 most significant bits: the top one selects the power of two, the other 7 the bucket within it.
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 7;
+        int bucket = EXACT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int shift = (bucket - EXACT) / SUB_BUCKETS + 1;
+        long top = (bucket - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,427 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.waheed.oasregexauditor.OpenApiPatternAuditorApplication;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load and soak harness. It boots the application on a random port in this JVM and replays a
+ * weighted mix of small uploads, large uploads and permalink hits against the real controllers, printing
+ * throughput, error rate, p50/p99/p99.9 latency, heap and GC activity and the size of the results cache
+ * at every interval, and a per-scenario summary at the end of each stage.
+ * <p>
+ * Several concurrency levels can be given; they run as consecutive stages against the same application, so
+ * the level at which latency or live heap starts climbing stands out. Without {@code --rate} every worker
+ * sends its next request as soon as the previous one completes (closed loop). With {@code --rate} requests are
+ * issued on a fixed schedule and latency is measured from the scheduled start, so queueing delay shows up in
+ * the percentiles instead of silently lowering the request rate.
+ * <p>
+ * Heap and GC figures cover the whole JVM, including the load generator, whose own allocation is small next to
+ * the application's (request bodies are prepared up front).
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec@load-test -Dload.args="--concurrency=8,32,128 --duration=10m"
+ * </pre>
+ * Options (defaults in brackets): {@code --concurrency} [16], {@code --duration} per stage [60s],
+ * {@code --warmup} [15s], {@code --rate} requests per second, 0 for closed loop [0], {@code --mix}
+ * [upload-small:6,upload-large:1,share:13], {@code --small-patterns} [50], {@code --large-patterns} [5000],
+ * {@code --distinct-specs} per size, to control audit memo hits [50], {@code --engine} [java],
+ * {@code --checks} [anchors,redos], {@code --report-interval} [10s].
+ */
+public final class LoadHarness {
+
+    private static final Pattern SHARE_ID = Pattern.compile("/openapiauditor/r/([A-Za-z0-9-]+)");
+    private static final int RECENT_IDS = 1024;
+    private static final Map<String, String> CHECK_FIELDS = Map.of(
+            "permissive", "qualityCheckPermissive",
+            "anchors", "qualityCheckAnchors",
+            "redos", "qualityCheckRedos",
+            "naming", "checkNaming",
+            "operation-id", "checkOperationId",
+            "summary", "checkSummary",
+            "schema-description", "checkSchemaDescription",
+            "schema-example", "checkSchemaExample");
+
+    enum Scenario {
+        UPLOAD_SMALL("upload-small"),
+        UPLOAD_LARGE("upload-large"),
+        SHARE("share");
+
+        final String label;
+
+        Scenario(String label) {
+            this.label = label;
+        }
+
+        static Scenario of(String label) {
+            for (Scenario s : values()) {
+                if (s.label.equals(label)) {
+                    return s;
+                }
+            }
+            throw new IllegalArgumentException("Unknown scenario '" + label + "'; expected upload-small, upload-large or share");
+        }
+    }
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final ExecutorService requestThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicReferenceArray<String> recentIds = new AtomicReferenceArray<>(RECENT_IDS);
+    private final AtomicLong uploads = new AtomicLong();
+    private final String boundary = "----load-" + UUID.randomUUID();
+    private final Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, List<byte[]>> bodies = new EnumMap<>(Scenario.class);
+    private int totalWeight;
+    private String baseUrl;
+    private Cache<Object, Object> resultsCache;
+
+    private LoadHarness(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(requestThreads)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Shared results go to a throwaway store rather than the application's data directory.
+        Path resultsStore = Files.createTempDirectory("load-results");
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(OpenApiPatternAuditorApplication.class)
+                .run("--server.port=0", "--spring.thymeleaf.cache=true", "--logging.level.com.waheed.oasregexauditor=WARN",
+                        "--app.audit.results-store-directory=" + resultsStore)) {
+            new LoadHarness(options).run(app);
+        }
+        System.exit(0);
+    }
+
+    private void run(ConfigurableApplicationContext app) throws Exception {
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+        CaffeineCache cache = (CaffeineCache) app.getBean(CacheManager.class).getCache(CacheConfig.ANALYSIS_RESULTS_CACHE);
+        resultsCache = cache.getNativeCache();
+        prepare();
+
+        double rate = Double.parseDouble(option("rate", "0"));
+        Duration warmup = duration("warmup", "15s");
+        Duration stageLength = duration("duration", "60s");
+        Duration interval = duration("report-interval", "10s");
+        List<Integer> levels = new ArrayList<>();
+        for (String level : option("concurrency", "16").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+
+        System.out.printf("Target %s, mix %s, %s%n", baseUrl, weights,
+                rate > 0 ? "open loop at " + rate + " req/s" : "closed loop");
+        System.out.printf("Warming up for %s at concurrency %d%n", warmup, levels.get(0));
+        runStage(levels.get(0), rate, warmup, warmup, false);
+        for (int level : levels) {
+            System.out.printf("%n== Concurrency %d for %s ==%n", level, stageLength);
+            runStage(level, rate, stageLength, interval, true);
+        }
+        requestThreads.shutdownNow();
+    }
+
+    /**
+     * Builds the request bodies once, so the generator allocates little while measuring.
+     */
+    private void prepare() {
+        for (String entry : option("mix", "upload-small:6,upload-large:1,share:13").split(",")) {
+            String[] parts = entry.split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            weights.merge(Scenario.of(parts[0].trim()), weight, Integer::sum);
+            totalWeight += weight;
+        }
+        int distinct = Integer.parseInt(option("distinct-specs", "50"));
+        bodies.put(Scenario.UPLOAD_SMALL, uploadBodies(Integer.parseInt(option("small-patterns", "50")), distinct));
+        bodies.put(Scenario.UPLOAD_LARGE, uploadBodies(Integer.parseInt(option("large-patterns", "5000")), distinct));
+    }
+
+    private List<byte[]> uploadBodies(int patternCount, int distinct) {
+        String spec = SyntheticSpecGenerator.generate(Math.max(1, patternCount / 20), 3, Math.max(patternCount, 1));
+        List<byte[]> variants = new ArrayList<>(distinct);
+        for (int i = 0; i < distinct; i++) {
+            // Distinct titles give distinct content hashes, so only repeats of a variant hit the audit memo.
+            String variant = spec.replaceFirst("title: Synthetic benchmark API", "title: Synthetic benchmark API " + i);
+            variants.add(multipart(variant));
+        }
+        return variants;
+    }
+
+    private byte[] multipart(String spec) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(spec.length() + 1024);
+        field(body, "engine", option("engine", "java"));
+        for (String check : option("checks", "anchors,redos").split(",")) {
+            String field = CHECK_FIELDS.get(check.trim().toLowerCase(Locale.ROOT));
+            if (field != null) {
+                field(body, field, "true");
+            }
+        }
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"oasFile\"; filename=\"spec.yaml\"\r\n"
+                + "Content-Type: application/yaml\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(spec.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private void field(ByteArrayOutputStream body, String name, String value) {
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void runStage(int concurrency, double rate, Duration length, Duration interval, boolean report) throws InterruptedException {
+        Map<Scenario, Stats> total = new EnumMap<>(Scenario.class);
+        AtomicReference<Map<Scenario, Stats>> current = new AtomicReference<>(newStats());
+        for (Scenario s : Scenario.values()) {
+            total.put(s, new Stats());
+        }
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        Semaphore inFlight = new Semaphore(concurrency);
+        Thread driver = Thread.ofPlatform().name("load-driver").start(() -> drive(concurrency, rate, end, inFlight, current));
+
+        JvmSample previous = JvmSample.take();
+        if (report) {
+            System.out.printf("%8s %9s %7s %9s %9s %9s %9s %9s %7s %8s %8s%n",
+                    "elapsed", "req/s", "err%", "p50 ms", "p99 ms", "p99.9 ms", "heap MB", "live MB", "gc/s", "gc ms/s", "cached");
+        }
+        while (System.nanoTime() < end) {
+            long sleep = Math.min(interval.toNanos(), end - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, sleep));
+            Map<Scenario, Stats> window = current.getAndSet(newStats());
+            JvmSample sample = JvmSample.take();
+            if (report) {
+                Stats all = new Stats();
+                window.forEach((scenario, stats) -> {
+                    stats.addTo(total.get(scenario));
+                    stats.addTo(all);
+                });
+                double seconds = (sample.nanos - previous.nanos) / 1e9;
+                System.out.printf("%7.0fs %9.1f %6.2f%% %9.1f %9.1f %9.1f %9d %9d %7.1f %8.1f %8d%n",
+                        (sample.nanos - start) / 1e9, all.latency.count() / seconds, all.errorPercent(),
+                        all.latency.percentile(50) / 1000.0, all.latency.percentile(99) / 1000.0, all.latency.percentile(99.9) / 1000.0,
+                        sample.heapUsed >> 20, sample.liveHeap >> 20,
+                        (sample.gcCount - previous.gcCount) / seconds, (sample.gcMillis - previous.gcMillis) / seconds,
+                        resultsCache.estimatedSize());
+            }
+            previous = sample;
+        }
+        driver.join();
+        // Let requests of this stage finish before the next one starts.
+        inFlight.acquire(concurrency);
+        inFlight.release(concurrency);
+        if (report) {
+            Map<Scenario, Stats> tail = current.getAndSet(newStats());
+            tail.forEach((scenario, stats) -> stats.addTo(total.get(scenario)));
+            printSummary(total, length);
+        }
+    }
+
+    private void drive(int concurrency, double rate, long end, Semaphore inFlight, AtomicReference<Map<Scenario, Stats>> current) {
+        SplittableRandom random = new SplittableRandom(concurrency);
+        long intervalNanos = rate > 0 ? (long) (1e9 / rate) : 0;
+        long next = System.nanoTime();
+        try {
+            while (System.nanoTime() < end) {
+                long scheduled;
+                if (rate > 0) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    scheduled = next;
+                    next += intervalNanos;
+                    inFlight.acquire();
+                } else {
+                    inFlight.acquire();
+                    scheduled = System.nanoTime();
+                }
+                Scenario scenario = pick(random);
+                SplittableRandom requestRandom = random.split();
+                requestThreads.execute(() -> {
+                    try {
+                        execute(scenario, scheduled, requestRandom, current);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Scenario pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> weight : weights.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void execute(Scenario scenario, long scheduled, SplittableRandom random, AtomicReference<Map<Scenario, Stats>> window) {
+        String shareId = scenario == Scenario.SHARE ? recentIds.get(random.nextInt(RECENT_IDS)) : null;
+        if (scenario == Scenario.SHARE && shareId == null) {
+            // No result to link to yet: audit something first, as a real user would.
+            scenario = Scenario.UPLOAD_SMALL;
+        }
+        boolean ok;
+        try {
+            HttpRequest request;
+            if (scenario == Scenario.SHARE) {
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/openapiauditor/r/" + shareId)).GET().build();
+            } else {
+                List<byte[]> variants = bodies.get(scenario);
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/openapiauditor/upload"))
+                        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(variants.get(random.nextInt(variants.size()))))
+                        .build();
+            }
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() == 200;
+            if (ok && scenario != Scenario.SHARE) {
+                // A failed audit renders an error message instead of a share link.
+                Matcher link = SHARE_ID.matcher(response.body());
+                ok = link.find();
+                if (ok) {
+                    recentIds.set((int) (uploads.getAndIncrement() % RECENT_IDS), link.group(1));
+                }
+            }
+        } catch (Exception e) {
+            ok = false;
+        }
+        // Counted in the window in which the request completes.
+        window.get().get(scenario).record((System.nanoTime() - scheduled) / 1000, ok);
+    }
+
+    private static void printSummary(Map<Scenario, Stats> total, Duration length) {
+        System.out.printf("%n%-14s %9s %9s %7s %9s %9s %9s %9s%n", "scenario", "requests", "req/s", "err%", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Stats all = new Stats();
+        total.forEach((scenario, stats) -> {
+            stats.addTo(all);
+            printRow(scenario.label, stats, length);
+        });
+        printRow("all", all, length);
+    }
+
+    private static void printRow(String label, Stats stats, Duration length) {
+        long count = stats.latency.count();
+        System.out.printf("%-14s %9d %9.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f%n", label, count, count / (length.toMillis() / 1000.0),
+                stats.errorPercent(), stats.latency.percentile(50) / 1000.0, stats.latency.percentile(99) / 1000.0,
+                stats.latency.percentile(99.9) / 1000.0, stats.latency.percentile(100) / 1000.0);
+    }
+
+    private static Map<Scenario, Stats> newStats() {
+        Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario s : Scenario.values()) {
+            stats.put(s, new Stats());
+        }
+        return stats;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(option(name, defaultValue));
+    }
+
+    /**
+     * Latencies and errors of one scenario over one window.
+     */
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+
+        void record(long micros, boolean ok) {
+            latency.record(micros);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void addTo(Stats other) {
+            latency.addTo(other.latency);
+            other.errors.addAndGet(errors.get());
+        }
+
+        double errorPercent() {
+            long count = latency.count();
+            return count == 0 ? 0 : 100.0 * errors.get() / count;
+        }
+    }
+
+    /**
+     * Heap and GC counters at one point in time. The live heap is the heap in use right after the most recent
+     * collection of each pool, which tracks retained data (such as cached results) rather than garbage.
+     */
+    private record JvmSample(long nanos, long heapUsed, long liveHeap, long gcCount, long gcMillis) {
+
+        static JvmSample take() {
+            long used = 0;
+            long live = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    used += pool.getUsage().getUsed();
+                    MemoryUsage afterGc = pool.getCollectionUsage();
+                    live += afterGc == null ? 0 : afterGc.getUsed();
+                }
+            }
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return new JvmSample(System.nanoTime(), used, live, count, millis);
+        }
+    }
+}
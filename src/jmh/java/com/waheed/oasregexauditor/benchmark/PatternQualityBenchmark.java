@@ -0,0 +1,69 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.rules.AuditRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the pattern rules per pattern. The ReDoS analysis dominates, so it is measured separately from
+ * the cheap textual checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternQualityBenchmark {
+
+    @Param({"textual", "redos"})
+    public String checks;
+
+    private AuditFixture fixture;
+    private List<PatternLocation> patterns;
+    private List<AuditRule> rules;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new AuditFixture();
+        // One pass over the pool plus a few distinct patterns.
+        patterns = SyntheticSpecGenerator.patterns(SyntheticSpecGenerator.COMMON_PATTERNS.size() * 4 / 3);
+        rules = checks.equals("textual")
+                ? List.of(fixture.permissiveRule, fixture.anchorsRule)
+                : List.of(fixture.redosRule);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void checkPattern(Blackhole blackhole) {
+        for (PatternLocation p : patterns) {
+            List<ValidationResult> results = new ArrayList<>();
+            for (AuditRule rule : rules) {
+                rule.checkPattern(p, results);
+            }
+            blackhole.consume(results);
+        }
+    }
+}
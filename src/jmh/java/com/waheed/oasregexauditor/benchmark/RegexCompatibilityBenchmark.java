@@ -0,0 +1,50 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.service.regex.RegexCompatibility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the static compatibility analysis, which decides the verdicts of all engines from one parse per
+ * pattern; compare with {@link RegexValidatorBenchmark} for the engines it replaces in the common case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegexCompatibilityBenchmark {
+
+    @Param({"1000"})
+    public int patternCount;
+
+    private List<PatternLocation> patterns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        patterns = SyntheticSpecGenerator.patterns(patternCount);
+    }
+
+    @Benchmark
+    public void analyze(Blackhole blackhole) {
+        for (PatternLocation p : patterns) {
+            blackhole.consume(RegexCompatibility.analyze(p.regex()));
+        }
+    }
+}
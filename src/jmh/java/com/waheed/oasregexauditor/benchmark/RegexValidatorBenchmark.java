@@ -0,0 +1,70 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.validators.RegexValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw cost of each regex engine, without the verdict cache. {@code validateEach} calls
+ * {@link RegexValidator#validate} once per pattern; {@code validateAll} uses the batch path, which for
+ * JavaScript checks the whole batch in a single guest call on a pooled context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegexValidatorBenchmark {
+
+    @Param({"java", "go", "javascript"})
+    public String engine;
+
+    @Param({"1000"})
+    public int patternCount;
+
+    private AuditFixture fixture;
+    private RegexValidator validator;
+    private List<PatternLocation> patterns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new AuditFixture();
+        validator = fixture.validator(engine);
+        patterns = SyntheticSpecGenerator.patterns(patternCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void validateEach(Blackhole blackhole) {
+        for (PatternLocation p : patterns) {
+            blackhole.consume(validator.validate(p.location(), p.lineNumber(), p.regex()));
+        }
+    }
+
+    @Benchmark
+    public List<ValidationResult> validateAll() {
+        return validator.validateAll(patterns);
+    }
+}
@@ -0,0 +1,98 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.service.ReportCompactor;
+import com.waheed.oasregexauditor.service.rules.MissingAnchorsRule;
+import com.waheed.oasregexauditor.service.rules.PermissivePatternRule;
+import com.waheed.oasregexauditor.service.rules.RuleSet;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap retained by one shared audit report of a large synthetic spec: as produced by the audit,
+ * after {@link ReportCompactor#compact}, and in the issues-only retention mode. Each figure is the difference in
+ * used heap after full collections with and without the report reachable, next to the estimate that weighs the
+ * report in the {@code analysisResults} cache.
+ * <p>
+ * Run with the benchmarks profile:
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec@footprint -Dfootprint.args="--patterns=50000 --engine=java,go"
+ * </pre>
+ */
+public final class ResultsFootprint {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    // Keeps the measured report reachable while the heap is sampled.
+    private static volatile Object retained;
+
+    private ResultsFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int patternCount = 50_000;
+        String engine = "java,go";
+        for (String arg : args) {
+            if (arg.startsWith("--patterns=")) {
+                patternCount = Integer.parseInt(arg.substring(arg.indexOf('=') + 1));
+            } else if (arg.startsWith("--engine=")) {
+                engine = arg.substring(arg.indexOf('=') + 1);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        try (AuditFixture fixture = new AuditFixture()) {
+            String content = SyntheticSpecGenerator.generate(50, 3, patternCount);
+            ParseOptions parseOptions = new ParseOptions();
+            parseOptions.setResolve(true);
+            OpenAPI openAPI = new OpenAPIV3Parser().readContents(content, null, parseOptions).getOpenAPI();
+            RuleSet rules = fixture.rules(PermissivePatternRule.ID, MissingAnchorsRule.ID);
+            AuditOptions options = new AuditOptions(engine, rules.ids(), false);
+            String auditEngine = engine;
+            Supplier<AuditReport> audit = () -> {
+                List<PatternLocation> patterns = fixture.validationService.scanPatterns(openAPI, content);
+                List<GroupedValidationResult> results = fixture.validationService.validatePatterns(patterns, auditEngine, rules, false);
+                return new AuditReport(results, options, patterns);
+            };
+            // Warm the verdict cache, so that it does not grow during the measurements.
+            audit.get();
+
+            System.out.printf(Locale.ROOT, "%d patterns, engine %s, checks permissive and anchors%n", patternCount, engine);
+            System.out.printf(Locale.ROOT, "%-12s %10s %12s %14s%n", "report", "results", "retained MB", "estimated MB");
+            measure("as audited", audit);
+            measure("compacted", () -> ReportCompactor.compact(audit.get(), false));
+            measure("issues only", () -> ReportCompactor.compact(audit.get(), true));
+        }
+    }
+
+    private static void measure(String name, Supplier<AuditReport> report) {
+        long baseline = usedAfterGc();
+        AuditReport measured = report.get();
+        retained = measured;
+        long used = usedAfterGc();
+        long results = measured.getResults().stream().mapToLong(g -> g.getResults().size()).sum();
+        System.out.printf(Locale.ROOT, "%-12s %10d %12.1f %14.1f%n", name, results,
+                (used - baseline) / 1e6, ReportCompactor.estimateBytes(measured) / 1e6);
+        retained = null;
+    }
+
+    private static long usedAfterGc() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
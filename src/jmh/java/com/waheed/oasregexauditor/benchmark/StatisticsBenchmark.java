@@ -0,0 +1,64 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.Statistics;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of computing the result statistics, which happens on every upload, share link hit and job.
+ * Results are a fixed mix: every pattern valid for Java, every fifth one an engine error, every third one
+ * carrying a warning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int resultCount;
+
+    private List<GroupedValidationResult> results;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        results = new ArrayList<>(resultCount);
+        List<PatternLocation> patterns = SyntheticSpecGenerator.patterns(resultCount);
+        for (int i = 0; i < patterns.size(); i++) {
+            PatternLocation p = patterns.get(i);
+            List<ValidationResult> group = new ArrayList<>(3);
+            group.add(ValidationResult.success(p.location(), p.lineNumber(), p.regex(), "Java"));
+            if (i % 5 == 0) {
+                group.add(ValidationResult.error(p.location(), p.lineNumber(), p.regex(), "Go (RE2J)", "Unsupported syntax", null, null));
+            }
+            if (i % 3 == 0) {
+                group.add(ValidationResult.warning(p.location(), p.lineNumber(), p.regex(), "Quality Check", "Missing Anchors", null, null));
+            }
+            results.add(new GroupedValidationResult(p.location(), p.lineNumber(), p.regex(), group));
+        }
+    }
+
+    @Benchmark
+    public Statistics fromResults() {
+        return Statistics.fromResults(results);
+    }
+}
@@ -0,0 +1,124 @@
+package com.waheed.oasregexauditor.benchmark;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates OpenAPI documents of a given shape for benchmarks. The output depends only on the parameters,
+ * so results are comparable across runs and machines.
+ * <p>
+ * Every path gets a path parameter with a pattern and a response schema; the remaining patterns are spread
+ * over the properties of those schemas, nested {@code schemaDepth} objects deep. Like real spec corpora, most
+ * patterns come from a small pool of common formats (UUIDs, dates, emails, ...) and every fourth one is
+ * distinct, so verdict caches see a realistic hit rate.
+ */
+public final class SyntheticSpecGenerator {
+
+    static final List<String> COMMON_PATTERNS = List.of(
+            "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$",
+            "^\\d{4}-\\d{2}-\\d{2}$",
+            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+            "^\\+?[1-9]\\d{1,14}$",
+            "^[A-Z]{3}$",
+            "^[a-z0-9]+(?:-[a-z0-9]+)*$",
+            "^(?<=v)\\d+\\.\\d+$",
+            "[A-Za-z]+",
+            ".*",
+            "^(\\w+\\s?)+$",
+            "^\\p{L}[\\p{L}\\p{Nd} ]{0,63}$",
+            "^(?:[01]\\d|2[0-3]):[0-5]\\d$");
+
+    private SyntheticSpecGenerator() {
+    }
+
+    /**
+     * Returns the {@code index}-th pattern of the generated corpus.
+     */
+    public static String pattern(int index) {
+        if (index % 4 == 3) {
+            return "^ID-[0-9]{" + (index % 16 + 1) + "}-" + index + "$";
+        }
+        return COMMON_PATTERNS.get(index % COMMON_PATTERNS.size());
+    }
+
+    /**
+     * Returns the first {@code count} patterns of the corpus as pattern locations, without a document.
+     */
+    public static List<PatternLocation> patterns(int count) {
+        List<PatternLocation> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            patterns.add(new PatternLocation("#/synthetic/" + i, i + 1, pattern(i)));
+        }
+        return patterns;
+    }
+
+    /**
+     * Generates a YAML document.
+     *
+     * @param pathCount    Number of paths, each with one operation, one path parameter and one response schema.
+     * @param schemaDepth  How many objects deep the properties of each schema are nested.
+     * @param patternCount Total number of {@code pattern} keywords; at least {@code pathCount}.
+     * @return The document.
+     */
+    public static String generate(int pathCount, int schemaDepth, int patternCount) {
+        if (pathCount < 1 || schemaDepth < 1 || patternCount < pathCount) {
+            throw new IllegalArgumentException("Need pathCount >= 1, schemaDepth >= 1 and patternCount >= pathCount");
+        }
+        StringBuilder yaml = new StringBuilder(patternCount * 96);
+        yaml.append("openapi: 3.0.3\n")
+                .append("info:\n  title: Synthetic benchmark API\n  version: '1.0'\n")
+                .append("paths:\n");
+        int next = 0;
+        for (int p = 0; p < pathCount; p++) {
+            yaml.append("  /resource-").append(p).append("/{id}:\n")
+                    .append("    get:\n")
+                    .append("      operationId: getResource").append(p).append('\n')
+                    .append("      summary: Gets resource ").append(p).append('\n')
+                    .append("      parameters:\n")
+                    .append("        - name: id\n          in: path\n          required: true\n          schema:\n")
+                    .append("            type: string\n")
+                    .append("            pattern: ").append(quote(pattern(next++))).append('\n')
+                    .append("      responses:\n        '200':\n          description: OK\n")
+                    .append("          content:\n            application/json:\n              schema:\n")
+                    .append("                $ref: '#/components/schemas/Model").append(p).append("'\n");
+        }
+        yaml.append("components:\n  schemas:\n");
+        int remaining = patternCount - pathCount;
+        for (int s = 0; s < pathCount; s++) {
+            // Spread the remaining patterns as evenly as possible over the schemas.
+            int properties = remaining / pathCount + (s < remaining % pathCount ? 1 : 0);
+            yaml.append("    Model").append(s).append(":\n");
+            next = appendObject(yaml, 6, 0, schemaDepth, properties, next);
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Appends an object schema whose properties are split between this level and a nested object.
+     */
+    private static int appendObject(StringBuilder yaml, int indent, int level, int depth, int properties, int next) {
+        String pad = " ".repeat(indent);
+        int here = level == depth - 1 ? properties : (properties + depth - level - 1) / (depth - level);
+        yaml.append(pad).append("type: object\n")
+                .append(pad).append("description: Level ").append(level).append(" object\n")
+                .append(pad).append("properties:\n");
+        for (int i = 0; i < here; i++) {
+            yaml.append(pad).append("  field").append(i).append(":\n")
+                    .append(pad).append("    type: string\n")
+                    .append(pad).append("    pattern: ").append(quote(pattern(next++))).append('\n');
+        }
+        if (level < depth - 1) {
+            yaml.append(pad).append("  nested:\n");
+            next = appendObject(yaml, indent + 4, level + 1, depth, properties - here, next);
+        } else if (here == 0) {
+            yaml.append(pad).append("  id:\n").append(pad).append("    type: integer\n");
+        }
+        return next;
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
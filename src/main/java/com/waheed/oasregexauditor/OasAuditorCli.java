@@ -0,0 +1,317 @@
+package com.waheed.oasregexauditor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.service.OasAuditService;
+import com.waheed.oasregexauditor.service.OasParseException;
+import com.waheed.oasregexauditor.service.report.AuditedSpec;
+import com.waheed.oasregexauditor.service.report.ReportFormat;
+import com.waheed.oasregexauditor.service.report.ReportWriter;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.UnknownRuleException;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Command-line entry point for CI. It audits spec files with the same services as the web application, but
+ * starts a minimal, lazily initialized Spring context without auto-configuration or a servlet container:
+ * only the {@code service} and {@code config} packages are scanned, and only the beans an audit touches are
+ * ever created.
+ * <p>
+ * The report is written to standard output (or {@code --output}); everything else, including log output,
+ * goes to standard error. Exit codes: 0 if nothing reached the {@code --fail-on} level, 1 if warnings did,
+ * 2 if errors did (a spec that cannot be parsed counts as an error), 3 for usage, I/O or internal errors.
+ */
+public class OasAuditorCli {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_WARNINGS = 1;
+    static final int EXIT_ERRORS = 2;
+    static final int EXIT_USAGE = 3;
+
+    private static final String USAGE = """
+            Usage: oas-audit [options] <file|directory|glob>...
+
+              --engine=<name>     java, javascript, go, all, or a comma-separated list (default: java)
+              --checks=<list>     comma-separated rules to run besides the engines: permissive, anchors,
+                                  redos, redos-timing (redos, confirmed by timing attack strings), naming,
+                                  operation-id, summary, schema-description, schema-example; or rule sets:
+                                  all, patterns, best-practices, or one under app.audit.rule-sets (default: none)
+              --format=<format>   json or sarif (default: json)
+              --output=<file>     write the report to a file instead of standard output
+              --fail-on=<level>   error, warning or never (default: error)
+
+            Directories are searched recursively for .yaml, .yml and .json files. Quote globs such as
+            'specs/**/*.yaml' so that they are expanded by the auditor rather than the shell.
+            """;
+
+    /**
+     * Not a rule but the {@code redos} rule with its warnings confirmed, see {@code RedosProber}.
+     */
+    private static final String REDOS_TIMING = "redos-timing";
+
+    /**
+     * The CLI context: the audit services and their configuration, without auto-configuration.
+     * It is deliberately not a {@code @Configuration} so that the web application's component scan ignores it.
+     */
+    @ComponentScan(basePackages = {"com.waheed.oasregexauditor.service", "com.waheed.oasregexauditor.config"})
+    @EnableConfigurationProperties
+    static class CliContext {
+    }
+
+    public static void main(String[] args) {
+        // The report owns standard output; logs and anything else printed during the run go to standard error.
+        PrintStream stdout = System.out;
+        System.setOut(System.err);
+        System.exit(run(args, stdout));
+    }
+
+    static int run(String[] args, OutputStream stdout) {
+        CliArguments arguments;
+        List<Path> files;
+        try {
+            arguments = CliArguments.parse(args);
+            if (arguments.help()) {
+                System.err.print(USAGE);
+                return EXIT_OK;
+            }
+            files = resolveFiles(arguments.inputs());
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("oas-audit: " + e.getMessage());
+            System.err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        quietDefaults();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CliContext.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .lazyInitialization(true)
+                .registerShutdownHook(false)
+                .run()) {
+            AuditOptions options;
+            try {
+                options = arguments.options(context.getBean(RuleRegistry.class));
+            } catch (UnknownRuleException e) {
+                System.err.println("oas-audit: " + e.getMessage());
+                System.err.print(USAGE);
+                return EXIT_USAGE;
+            }
+            OasAuditService auditService = context.getBean(OasAuditService.class);
+            OutputStream out = arguments.output() == null ? stdout : Files.newOutputStream(arguments.output());
+            try {
+                return writeReport(auditService, files, options, arguments, out);
+            } finally {
+                if (out != stdout) {
+                    out.close();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("oas-audit: " + e.getMessage());
+            return EXIT_USAGE;
+        } catch (RuntimeException e) {
+            System.err.println("oas-audit: the audit failed");
+            e.printStackTrace();
+            return EXIT_USAGE;
+        }
+    }
+
+    private static int writeReport(OasAuditService auditService, List<Path> files, AuditOptions options, CliArguments arguments,
+                                   OutputStream out) throws IOException {
+        int exitCode = EXIT_OK;
+        try (ReportWriter writer = arguments.format().open(out, new ObjectMapper())) {
+            for (Path file : files) {
+                AuditedSpec spec = audit(auditService, file, options);
+                writer.write(spec);
+                exitCode = Math.max(exitCode, severity(spec, arguments.failOn()));
+            }
+        }
+        out.write('\n');
+        out.flush();
+        return exitCode;
+    }
+
+    private static AuditedSpec audit(OasAuditService auditService, Path file, AuditOptions options) {
+        String name = file.toString().replace('\\', '/');
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            // One-shot runs gain nothing from the audit memo, so validate directly.
+            return AuditedSpec.of(name, auditService.parseAndValidate(content, options));
+        } catch (IOException e) {
+            return AuditedSpec.failed(name, "Could not read the file: " + e.getMessage());
+        } catch (OasParseException e) {
+            return AuditedSpec.failed(name, e.getMessage());
+        }
+    }
+
+    private static int severity(AuditedSpec spec, String failOn) {
+        if ("never".equals(failOn)) {
+            return EXIT_OK;
+        }
+        if (spec.error() != null || spec.results().stream().anyMatch(GroupedValidationResult::hasError)) {
+            return EXIT_ERRORS;
+        }
+        boolean warnings = spec.results().stream().anyMatch(GroupedValidationResult::hasWarning);
+        return warnings && "warning".equals(failOn) ? EXIT_WARNINGS : EXIT_OK;
+    }
+
+    /**
+     * Silences application logging below WARN unless the caller configured it, since application.properties
+     * enables DEBUG output for the web application. System properties take precedence over that file.
+     */
+    private static void quietDefaults() {
+        System.setProperty("logging.level.root", System.getProperty("logging.level.root", "WARN"));
+        System.setProperty("logging.level.com.waheed.oasregexauditor",
+                System.getProperty("logging.level.com.waheed.oasregexauditor", "WARN"));
+        System.setProperty("spring.devtools.restart.enabled", "false");
+    }
+
+    /**
+     * Expands the inputs into a sorted, de-duplicated list of spec files.
+     *
+     * @throws IllegalArgumentException if an input names no file or matches nothing.
+     */
+    static List<Path> resolveFiles(List<String> inputs) throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (String input : inputs) {
+            List<Path> matches = new ArrayList<>();
+            if (isGlob(input)) {
+                String pattern = input.replace('\\', '/');
+                // Like most shells, let "**/" also match no directory at all, so "specs/**/*.yaml" includes specs/a.yaml.
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+                PathMatcher shallowMatcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.replace("**/", ""));
+                Path base = Path.of(globBase(pattern));
+                if (Files.isDirectory(base)) {
+                    try (Stream<Path> walk = Files.walk(base)) {
+                        walk.filter(Files::isRegularFile).filter(p -> matcher.matches(p) || shallowMatcher.matches(p)).sorted().forEach(matches::add);
+                    }
+                }
+            } else {
+                Path path = Path.of(input);
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> walk = Files.walk(path)) {
+                        walk.filter(Files::isRegularFile).filter(OasAuditorCli::isSpecFile).sorted().forEach(matches::add);
+                    }
+                } else if (Files.isRegularFile(path)) {
+                    matches.add(path);
+                } else {
+                    throw new IllegalArgumentException("No such file: " + input);
+                }
+            }
+            if (matches.isEmpty()) {
+                throw new IllegalArgumentException("No spec files match " + input);
+            }
+            files.addAll(matches);
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static boolean isGlob(String input) {
+        return input.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    /**
+     * The literal directory prefix of a glob, i.e. where to start walking; empty for the working directory.
+     */
+    private static String globBase(String pattern) {
+        int firstWildcard = 0;
+        while (firstWildcard < pattern.length() && "*?[{".indexOf(pattern.charAt(firstWildcard)) < 0) {
+            firstWildcard++;
+        }
+        int slash = pattern.lastIndexOf('/', firstWildcard);
+        return slash < 0 ? "" : pattern.substring(0, slash + 1);
+    }
+
+    private static boolean isSpecFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".yaml") || name.endsWith(".yml") || name.endsWith(".json");
+    }
+
+    /**
+     * The parsed command line.
+     */
+    record CliArguments(List<String> inputs, String engine, Set<String> checks, ReportFormat format, Path output, String failOn, boolean help) {
+
+        static CliArguments parse(String[] args) {
+            List<String> inputs = new ArrayList<>();
+            String engine = "java";
+            Set<String> checks = new LinkedHashSet<>();
+            ReportFormat format = ReportFormat.JSON;
+            Path output = null;
+            String failOn = "error";
+            for (String arg : args) {
+                if (arg.equals("-h") || arg.equals("--help")) {
+                    return new CliArguments(List.of(), engine, Set.of(), format, null, failOn, true);
+                } else if (arg.startsWith("--engine=")) {
+                    engine = value(arg);
+                } else if (arg.startsWith("--checks=")) {
+                    // Rule names are checked against the rule registry once the context is up.
+                    for (String check : value(arg).split(",")) {
+                        if (!check.isBlank()) {
+                            checks.add(check.trim().toLowerCase(Locale.ROOT));
+                        }
+                    }
+                } else if (arg.startsWith("--format=")) {
+                    format = ReportFormat.parse(value(arg));
+                } else if (arg.startsWith("--output=")) {
+                    output = Path.of(value(arg));
+                } else if (arg.startsWith("--fail-on=")) {
+                    failOn = value(arg).toLowerCase(Locale.ROOT);
+                    if (!Arrays.asList("error", "warning", "never").contains(failOn)) {
+                        throw new IllegalArgumentException("--fail-on must be error, warning or never");
+                    }
+                } else if (arg.startsWith("-")) {
+                    throw new IllegalArgumentException("Unknown option " + arg);
+                } else {
+                    inputs.add(arg);
+                }
+            }
+            if (inputs.isEmpty()) {
+                throw new IllegalArgumentException("No spec files given");
+            }
+            return new CliArguments(inputs, engine, checks, format, output, failOn, false);
+        }
+
+        /**
+         * Resolves the checks to the rules to run.
+         *
+         * @throws UnknownRuleException if a check is neither a rule nor a rule set.
+         */
+        AuditOptions options(RuleRegistry ruleRegistry) {
+            Set<String> names = new LinkedHashSet<>(checks);
+            // --checks=all has always included the timing.
+            boolean confirmRedos = names.remove(REDOS_TIMING) || names.contains(RuleRegistry.ALL);
+            if (confirmRedos) {
+                names.add(RedosRule.ID);
+            }
+            return new AuditOptions(engine, ruleRegistry.resolve(names), confirmRedos);
+        }
+
+        private static String value(String arg) {
+            return arg.substring(arg.indexOf('=') + 1);
+        }
+    }
+}
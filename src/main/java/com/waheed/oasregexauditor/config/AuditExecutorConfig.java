@@ -0,0 +1,71 @@
+package com.waheed.oasregexauditor.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the thread pools used by the audit pipeline.
+ */
+@Configuration
+public class AuditExecutorConfig {
+
+    /**
+     * A dedicated fork-join pool for validating the patterns of an audit in parallel.
+     * It is kept separate from the common pool so audits cannot starve other parallel work in the JVM.
+     *
+     * @param auditProperties The audit tuning properties.
+     * @return The fork-join pool sized by {@code app.audit.parallelism}.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool auditForkJoinPool(AuditProperties auditProperties) {
+        return new ForkJoinPool(Math.max(1, auditProperties.getParallelism()));
+    }
+
+    /**
+     * The pool running asynchronous audit jobs. Its queue is bounded so that a burst of submissions is shed
+     * with 429 Too Many Requests instead of piling up work that clients will have given up on.
+     *
+     * @param auditProperties The audit tuning properties.
+     * @return The executor sized by {@code app.audit.job-parallelism} and {@code app.audit.job-queue-capacity}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor auditJobExecutor(AuditProperties auditProperties) {
+        int threads = Math.max(1, auditProperties.getJobParallelism());
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, auditProperties.getJobQueueCapacity())),
+                namedThreads("audit-job-", Thread.NORM_PRIORITY), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * A small, bounded pool for timing suspected ReDoS patterns. Probes deliberately burn CPU, so they get
+     * their own threads and a bounded queue: when it is full, further probes are rejected rather than
+     * delaying regular audits.
+     *
+     * @param auditProperties The audit tuning properties.
+     * @return The executor sized by {@code app.audit.redos-probe-parallelism} and {@code app.audit.redos-probe-queue-capacity}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor redosProbeExecutor(AuditProperties auditProperties) {
+        int threads = Math.max(1, auditProperties.getRedosProbeParallelism());
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, auditProperties.getRedosProbeQueueCapacity())),
+                namedThreads("redos-probe-", Thread.MIN_PRIORITY), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ThreadFactory namedThreads(String prefix, int priority) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        };
+    }
+}
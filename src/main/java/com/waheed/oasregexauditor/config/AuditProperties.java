@@ -0,0 +1,196 @@
+package com.waheed.oasregexauditor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the tuning properties of the audit pipeline from application.properties into a Java object.
+ * The prefix 'app.audit' is used to group all related properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.audit")
+@Data
+public class AuditProperties {
+
+    /**
+     * Maximum number of (engine, regex) verdicts kept in the cross-request verdict cache.
+     */
+    private long verdictCacheMaximumSize = 20_000;
+
+    /**
+     * Maximum number of finished audits memoized by content hash and options.
+     */
+    private long auditMemoMaximumSize = 200;
+
+    /**
+     * Named rule sets, by name, with the rule IDs they enable; usable wherever rules are selected, besides the
+     * built-in {@code all}, {@code patterns} and {@code best-practices}.
+     */
+    private Map<String, List<String>> ruleSets = new LinkedHashMap<>();
+
+    /**
+     * Number of worker threads used to validate the patterns of a single audit in parallel.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Whether every pattern is also compiled by the selected engines. By default the engines only decide the
+     * patterns the static compatibility analysis cannot, which spares most audits the cost of, e.g., GraalJS.
+     */
+    private boolean confirmWithEngines = false;
+
+    /**
+     * Deadline for each engine when several engines are audited at once ({@code engine=all}).
+     */
+    private Duration engineTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Maximum number of pooled GraalJS contexts, i.e. how many JavaScript validations may run at once.
+     */
+    private int jsContextPoolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * How long a JavaScript validation waits for a pooled context before giving up.
+     */
+    private Duration jsContextBorrowTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of automaton states the ReDoS analysis may explore for one pattern.
+     */
+    private int redosMaxStates = 100_000;
+
+    /**
+     * Wall-clock budget of the ReDoS analysis of one pattern; patterns exceeding it are reported as inconclusive.
+     */
+    private Duration redosTimeBudget = Duration.ofMillis(500);
+
+    /**
+     * Number of threads measuring match times of suspected ReDoS patterns; kept small so that probes cannot starve audits.
+     */
+    private int redosProbeParallelism = 2;
+
+    /**
+     * Number of probes that may wait for a probe thread; further patterns are reported as not measured.
+     */
+    private int redosProbeQueueCapacity = 32;
+
+    /**
+     * Hard cap on a single timed match of a probe.
+     */
+    private Duration redosProbeTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Total time spent measuring one pattern across all input lengths and engines.
+     */
+    private Duration redosProbeBudget = Duration.ofSeconds(4);
+
+    /**
+     * Number of audit jobs (the asynchronous job API) that run at once.
+     */
+    private int jobParallelism = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Number of audit jobs that may wait for a worker; further submissions are rejected with 429 Too Many Requests.
+     */
+    private int jobQueueCapacity = 16;
+
+    /**
+     * How long the status of a finished job stays available.
+     */
+    private Duration jobRetention = Duration.ofMinutes(30);
+
+    /**
+     * How long a progress event stream stays open before the client has to reconnect.
+     */
+    private Duration jobEventsTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Largest spec accepted by the upload form and the job API, after decompressing a gzip upload. Enforced while
+     * the upload is streamed, so larger specs are rejected before they are read into memory.
+     */
+    private DataSize uploadMaxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Number of specs of a bulk archive audited at once; also bounds how many specs are held in memory.
+     */
+    private int bulkConcurrency = 4;
+
+    /**
+     * Specs of a bulk archive larger than this are reported as failed instead of being read.
+     */
+    private DataSize bulkMaxEntrySize = DataSize.ofMegabytes(10);
+
+    /**
+     * Maximum number of entries, specs or not, in one bulk archive; larger archives are rejected.
+     */
+    private int bulkMaxEntries = 5_000;
+
+    /**
+     * Maximum number of bytes one bulk archive may decompress to, skipped entries included; larger archives are rejected.
+     */
+    private DataSize bulkMaxTotalSize = DataSize.ofMegabytes(512);
+
+    /**
+     * How long a bulk audit response may stream before it is cut off.
+     */
+    private Duration bulkTimeout = Duration.ofHours(1);
+
+    /**
+     * Estimated heap budget of the shared results kept in memory; evicted ones are read back from the results store.
+     */
+    private DataSize resultsHotCacheMaximumWeight = DataSize.ofMegabytes(64);
+
+    /**
+     * Maximum number of share IDs kept in memory with the content key of their report; older ones are read
+     * from the results store.
+     */
+    private long resultLinksMaximumSize = 100_000;
+
+    /**
+     * Which results of an audit are kept for its share link: all of them, or only warnings and errors.
+     */
+    private ResultsRetention resultsRetention = ResultsRetention.ALL;
+
+    /**
+     * Number of result groups rendered with the results page; further pages are loaded from the results API.
+     */
+    private int resultsPageSize = 100;
+
+    /**
+     * Whether shared results are also written to disk, so that permalinks survive restarts.
+     */
+    private boolean resultsStoreEnabled = true;
+
+    /**
+     * Directory of the on-disk results store.
+     */
+    private String resultsStoreDirectory = "data/results";
+
+    /**
+     * Total size of the on-disk results store; the oldest results are deleted beyond it.
+     */
+    private DataSize resultsStoreMaxSize = DataSize.ofGigabytes(1);
+
+    /**
+     * How long shared results stay available on disk.
+     */
+    private Duration resultsStoreRetention = Duration.ofDays(7);
+
+    /**
+     * Retention modes of shared results.
+     */
+    public enum ResultsRetention {
+        /** Every result, including one "valid" result per pattern and engine. */
+        ALL,
+        /** Only warnings and errors; fully valid patterns are kept as groups without results. */
+        ISSUES
+    }
+
+}
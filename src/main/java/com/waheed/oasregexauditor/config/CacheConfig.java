@@ -1,6 +1,7 @@
 package com.waheed.oasregexauditor.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waheed.oasregexauditor.service.IndexedReport;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -17,22 +18,53 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    public static final String ANALYSIS_RESULTS_CACHE = "analysisResults";
+    public static final String REGEX_VERDICTS_CACHE = "regexVerdicts";
+    public static final String AUDITS_BY_CONTENT_CACHE = "auditsByContent";
+    public static final String RESULT_LINKS_CACHE = "resultLinks";
+
     /**
      * Configures the CacheManager bean for the application.
-     * This setup uses Caffeine and defines a cache named "analysisResults"
-     * with a time-to-live (TTL) of 1 hour and a maximum size of 500 entries.
+     * This setup uses Caffeine and defines a cache named "analysisResults", the in-memory tier of the
+     * shared results, with a time-to-live (TTL) of 1 hour and bounded by the estimated heap size of the
+     * reports ({@code app.audit.results-hot-cache-maximum-weight}), so that one huge audit counts as much
+     * as many small ones,
+     * a "regexVerdicts" cache holding engine verdicts shared across requests,
+     * an asynchronous "auditsByContent" cache memoizing whole audits by content hash,
+     * and a "resultLinks" cache mapping share IDs to the content key their report is cached under.
      *
+     * @param auditProperties The audit tuning properties.
      * @return A configured CaffeineCacheManager instance.
      */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("analysisResults");
+    public CacheManager cacheManager(AuditProperties auditProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ANALYSIS_RESULTS_CACHE);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 // Evict entries from the cache 1 hour after they were last written.
                 .expireAfterWrite(1, TimeUnit.HOURS)
-                // Limit the cache size to a maximum of 500 entries.
-                .maximumSize(500)
+                // Keep only recent results on heap; the results store serves older ones.
+                .maximumWeight(auditProperties.getResultsHotCacheMaximumWeight().toBytes())
+                .weigher((Object key, Object value) -> value instanceof IndexedReport report
+                        ? (int) Math.min(Integer.MAX_VALUE, report.estimateBytes())
+                        : 1)
+                // Hit, miss and eviction counts are published as cache metrics through Actuator.
+                .recordStats()
         );
+        // Verdicts never go stale (a regex is valid or not for a given engine), so only bound the size.
+        cacheManager.registerCustomCache(REGEX_VERDICTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(auditProperties.getVerdictCacheMaximumSize())
+                .recordStats()
+                .build());
+        // Holds futures so that concurrent identical uploads can wait on the audit already in flight.
+        cacheManager.registerCustomCache(AUDITS_BY_CONTENT_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .maximumSize(auditProperties.getAuditMemoMaximumSize())
+                .buildAsync());
+        // Identical audits share one cached report; each share ID only costs an entry here.
+        cacheManager.registerCustomCache(RESULT_LINKS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .maximumSize(auditProperties.getResultLinksMaximumSize())
+                .build());
         return cacheManager;
     }
 }
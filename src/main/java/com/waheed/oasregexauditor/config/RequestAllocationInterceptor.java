@@ -0,0 +1,44 @@
+package com.waheed.oasregexauditor.config;
+
+import com.waheed.oasregexauditor.service.AuditMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap allocated by the request thread while it handles an upload, reading the per-thread
+ * allocation counter of the JVM before and after the handler. Recorded as {@code audit.request.allocated}.
+ */
+public class RequestAllocationInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestAllocationInterceptor.class.getName() + ".start";
+
+    private final AuditMetrics auditMetrics;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public RequestAllocationInterceptor(AuditMetrics auditMetrics) {
+        this.auditMetrics = auditMetrics;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (threads != null) {
+            request.setAttribute(START_ATTRIBUTE, threads.getCurrentThreadAllocatedBytes());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (threads != null && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            auditMetrics.recordRequestAllocation(pattern != null ? pattern.toString() : request.getRequestURI(),
+                    threads.getCurrentThreadAllocatedBytes() - start);
+        }
+    }
+}
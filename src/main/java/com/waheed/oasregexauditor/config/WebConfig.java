@@ -0,0 +1,30 @@
+package com.waheed.oasregexauditor.config;
+
+import com.waheed.oasregexauditor.service.AuditMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for Spring MVC.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AuditMetrics auditMetrics;
+
+    @Autowired
+    public WebConfig(AuditMetrics auditMetrics) {
+        this.auditMetrics = auditMetrics;
+    }
+
+    /**
+     * Measures the memory of the endpoints that read uploaded specs.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestAllocationInterceptor(auditMetrics))
+                .addPathPatterns("/openapiauditor/upload", "/openapiauditor/r/*/reaudit", "/openapiauditor/api/jobs");
+    }
+}
@@ -0,0 +1,66 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.service.rules.MissingAnchorsRule;
+import com.waheed.oasregexauditor.service.rules.OperationIdRule;
+import com.waheed.oasregexauditor.service.rules.OperationSummaryRule;
+import com.waheed.oasregexauditor.service.rules.PathNamingRule;
+import com.waheed.oasregexauditor.service.rules.PermissivePatternRule;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.SchemaDescriptionRule;
+import com.waheed.oasregexauditor.service.rules.SchemaExampleRule;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The audit settings of the upload form, which the job and bulk APIs accept too: the engine, one checkbox per
+ * rule, and {@code rules}, a comma-separated list of further rule IDs or rule set names for API clients.
+ */
+@Data
+public class AuditForm {
+    private String engine = "java";
+    private String rules;
+    private boolean qualityCheckPermissive;
+    private boolean qualityCheckAnchors;
+    private boolean qualityCheckRedos;
+    private boolean confirmRedos;
+    private boolean checkNaming;
+    private boolean checkOperationId;
+    private boolean checkSummary;
+    private boolean checkSchemaDescription;
+    private boolean checkSchemaExample;
+
+    /**
+     * Resolves the selected rules.
+     *
+     * @throws com.waheed.oasregexauditor.service.rules.UnknownRuleException if {@code rules} names an unknown rule or rule set.
+     */
+    public AuditOptions toOptions(RuleRegistry ruleRegistry) {
+        List<String> names = new ArrayList<>();
+        addIf(names, qualityCheckPermissive, PermissivePatternRule.ID);
+        addIf(names, qualityCheckAnchors, MissingAnchorsRule.ID);
+        addIf(names, qualityCheckRedos, RedosRule.ID);
+        addIf(names, checkNaming, PathNamingRule.ID);
+        addIf(names, checkOperationId, OperationIdRule.ID);
+        addIf(names, checkSummary, OperationSummaryRule.ID);
+        addIf(names, checkSchemaDescription, SchemaDescriptionRule.ID);
+        addIf(names, checkSchemaExample, SchemaExampleRule.ID);
+        if (rules != null) {
+            names.addAll(Arrays.asList(rules.split(",")));
+        }
+        Set<String> ids = ruleRegistry.resolve(names);
+        String selectedEngine = engine == null || engine.isBlank() ? "java" : engine;
+        return new AuditOptions(selectedEngine, ids, confirmRedos && ids.contains(RedosRule.ID));
+    }
+
+    private static void addIf(List<String> names, boolean checked, String id) {
+        if (checked) {
+            names.add(id);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditJobStatus;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.service.AuditJob;
+import com.waheed.oasregexauditor.service.AuditJobService;
+import com.waheed.oasregexauditor.service.SpecUploadReader;
+import com.waheed.oasregexauditor.service.UploadTooLargeException;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.UnknownRuleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * REST API for asynchronous audits. Submitting returns a job ID at once; progress is streamed as
+ * Server-Sent Events, and the finished report is stored under a share link like a regular upload.
+ */
+@RestController
+@RequestMapping("/openapiauditor/api/jobs")
+public class AuditJobController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJobController.class);
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @Autowired
+    private AuditJobService auditJobService;
+
+    @Autowired
+    private AuditProperties auditProperties;
+
+    @Autowired
+    private SpecUploadReader specUploadReader;
+
+    @Autowired
+    private RuleRegistry ruleRegistry;
+
+    /**
+     * Queues an audit. Accepts the same form fields as {@code POST /openapiauditor/upload}.
+     *
+     * @return 202 with the job status, 400 if no spec was given or a rule is unknown, 413 if it exceeds {@code app.audit.upload-max-size},
+     *         or 429 if the job queue is full.
+     */
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestParam(value = "oasFile", required = false) MultipartFile file,
+                                    @RequestParam(value = "oasContent", required = false) String oasContent,
+                                    AuditForm form) throws IOException {
+        String content;
+        try {
+            content = UploadedContent.read(file, oasContent, specUploadReader);
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("message", e.getMessage()));
+        }
+        if (content == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Please either upload an OpenAPI file or paste its content."));
+        }
+        AuditOptions options;
+        try {
+            options = form.toOptions(ruleRegistry);
+        } catch (UnknownRuleException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        try {
+            AuditJob job = auditJobService.submit(content, options, UploadedContent.fileName(file, oasContent), baseUrl);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(job.getId()).toUri();
+            return ResponseEntity.accepted().location(location).body(job.snapshot());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(Map.of("message", "Too many audits are queued. Please retry shortly."));
+        }
+    }
+
+    /**
+     * Returns the current status of a job.
+     */
+    @GetMapping("/{id}")
+    public AuditJobStatus status(@PathVariable String id) {
+        return findJob(id).snapshot();
+    }
+
+    /**
+     * Streams the status of a job as Server-Sent Events: {@code progress} while it runs, then one of
+     * {@code succeeded}, {@code failed} or {@code cancelled}. If the last client streaming a running job
+     * disconnects, the job is cancelled.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String id) {
+        AuditJob job = findJob(id);
+        SseEmitter emitter = new SseEmitter(auditProperties.getJobEventsTimeout().toMillis());
+        Consumer<AuditJobStatus> subscriber = new Consumer<>() {
+            @Override
+            public void accept(AuditJobStatus status) {
+                try {
+                    String event = status.isFinished() ? status.state().toLowerCase() : "progress";
+                    emitter.send(SseEmitter.event().name(event).data(status, MediaType.APPLICATION_JSON));
+                    if (status.isFinished()) {
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away, or the stream was already completed by a concurrent final event.
+                    log.debug("Could not send event for job {}: {}", id, e.getMessage());
+                    job.unsubscribe(this);
+                }
+            }
+        };
+        // An expired stream is not a disconnect: the client is expected to reconnect, so the job keeps running.
+        emitter.onTimeout(() -> job.detach(subscriber));
+        emitter.onCompletion(() -> job.detach(subscriber));
+        emitter.onError(e -> job.unsubscribe(subscriber));
+        job.subscribe(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Cancels a queued or running job.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<AuditJobStatus> cancel(@PathVariable String id) {
+        AuditJob job = auditJobService.cancel(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job " + id));
+        return ResponseEntity.accepted().body(job.snapshot());
+    }
+
+    private AuditJob findJob(String id) {
+        return auditJobService.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job " + id));
+    }
+}
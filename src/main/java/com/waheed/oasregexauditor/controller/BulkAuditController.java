@@ -0,0 +1,123 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.service.ArchiveTooLargeException;
+import com.waheed.oasregexauditor.service.BulkAuditService;
+import com.waheed.oasregexauditor.service.SpecArchiveReader;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.UnknownRuleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * REST API for auditing a whole archive of specs in one request. The response is newline-delimited JSON
+ * ({@code application/x-ndjson}): one line per spec as soon as it is audited, then a summary line.
+ */
+@RestController
+@RequestMapping("/openapiauditor/api/bulk")
+public class BulkAuditController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAuditController.class);
+
+    @Autowired
+    private BulkAuditService bulkAuditService;
+
+    @Autowired
+    private AuditProperties auditProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RuleRegistry ruleRegistry;
+
+    /**
+     * Audits every {@code .yaml}, {@code .yml} and {@code .json} file of a zip, tar or tar.gz archive.
+     * Accepts the same check fields as {@code POST /openapiauditor/upload}.
+     *
+     * The archive is read once before the response starts, so that one exceeding {@code app.audit.bulk-max-entries} or
+     * {@code app.audit.bulk-max-total-size} is rejected with 413 rather than cut off in the middle of the stream.
+     *
+     * @return 200 with the NDJSON stream, 400 if no archive was given, it is corrupt, its format is not supported or a rule
+     *         is unknown, or 413 if it exceeds the archive limits.
+     */
+    @PostMapping
+    public ResponseEntity<?> audit(@RequestParam(value = "archive", required = false) MultipartFile archive,
+                                   AuditForm form) throws IOException {
+        if (archive == null || archive.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Please upload a .zip, .tar or .tar.gz archive of OpenAPI files."));
+        }
+        AuditOptions options;
+        try {
+            options = form.toOptions(ruleRegistry);
+        } catch (UnknownRuleException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+
+        try (InputStream check = archive.getInputStream()) {
+            bulkAuditService.open(check).checkLimits();
+        } catch (ArchiveTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "The archive could not be read: " + e.getMessage()));
+        }
+
+        InputStream in = archive.getInputStream();
+        SpecArchiveReader reader;
+        try {
+            reader = bulkAuditService.open(in);
+        } catch (IllegalArgumentException e) {
+            in.close();
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(auditProperties.getBulkTimeout().toMillis());
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        BulkAuditService.ResultSink sink = line -> {
+            if (closed.get()) {
+                throw new IOException("The response stream is closed");
+            }
+            emitter.send(objectMapper.writeValueAsString(line) + "\n", MediaType.APPLICATION_NDJSON);
+        };
+
+        String fileName = archive.getOriginalFilename();
+        Thread.ofVirtual().name("bulk-audit").start(() -> {
+            try (in) {
+                bulkAuditService.audit(reader, options, sink);
+                emitter.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream timed out; the remaining specs are abandoned.
+                log.info("Bulk audit of {} abandoned: {}", fileName, e.getMessage());
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.error("Bulk audit of {} failed", fileName, e);
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+}
@@ -0,0 +1,44 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.waheed.oasregexauditor.service.DiskResultsStore;
+import com.waheed.oasregexauditor.service.RegexVerdictCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controller exposing cache counters so the caches can be sized from real traffic.
+ */
+@RestController
+@RequestMapping("/openapiauditor/api/cache")
+public class CacheStatsController {
+
+    @Autowired
+    private RegexVerdictCache regexVerdictCache;
+
+    @Autowired
+    private DiskResultsStore diskResultsStore;
+
+    /**
+     * Returns the hit, miss and eviction counters of the regex verdict cache.
+     *
+     * @return The counters as a JSON object.
+     */
+    @GetMapping("/verdicts")
+    public Map<String, Object> verdictCacheStats() {
+        return regexVerdictCache.stats();
+    }
+
+    /**
+     * Returns the number and total size of the shared results stored on disk.
+     *
+     * @return The counters as a JSON object.
+     */
+    @GetMapping("/results")
+    public Map<String, Object> resultsStoreStats() {
+        return diskResultsStore.stats();
+    }
+}
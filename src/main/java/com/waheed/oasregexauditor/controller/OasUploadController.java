@@ -1,30 +1,42 @@
 package com.waheed.oasregexauditor.controller;
 
-import com.waheed.oasregexauditor.model.GroupedValidationResult;
-import com.waheed.oasregexauditor.model.Statistics;
-import com.waheed.oasregexauditor.service.OasValidationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.ResultsPage;
+import com.waheed.oasregexauditor.model.ResultsQuery;
+import com.waheed.oasregexauditor.service.IndexedReport;
+import com.waheed.oasregexauditor.service.OasAuditService;
+import com.waheed.oasregexauditor.service.OasParseException;
 import com.waheed.oasregexauditor.service.ResultsCacheService;
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.parser.OpenAPIV3Parser;
-import io.swagger.v3.parser.core.models.ParseOptions;
-import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import com.waheed.oasregexauditor.service.SpecUploadReader;
+import com.waheed.oasregexauditor.service.UploadTooLargeException;
+import com.waheed.oasregexauditor.service.report.AuditedSpec;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.UnknownRuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Controller
 @RequestMapping("/openapiauditor")
@@ -33,11 +45,23 @@ public class OasUploadController {
     private static final Logger log = LoggerFactory.getLogger(OasUploadController.class);
 
     @Autowired
-    private OasValidationService oasValidationService;
+    private OasAuditService oasAuditService;
 
     @Autowired
     private ResultsCacheService resultsCacheService;
 
+    @Autowired
+    private SpecUploadReader specUploadReader;
+
+    @Autowired
+    private AuditProperties auditProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RuleRegistry ruleRegistry;
+
     @GetMapping("")
     public String showUploadForm(Model model) {
         model.addAttribute("initialView", true);
@@ -47,63 +71,121 @@ public class OasUploadController {
     @PostMapping("/upload")
     public String handleFileUpload(@RequestParam(value = "oasFile", required = false) MultipartFile file,
                                    @RequestParam(value = "oasContent", required = false) String oasContent,
-                                   @RequestParam(value = "engine", defaultValue = "java") String engine,
-                                   @RequestParam(value = "qualityCheckPermissive", defaultValue = "false") boolean qualityCheckPermissive,
-                                   @RequestParam(value = "qualityCheckAnchors", defaultValue = "false") boolean qualityCheckAnchors,
-                                   @RequestParam(value = "qualityCheckRedos", defaultValue = "false") boolean qualityCheckRedos,
-                                   @RequestParam(value = "checkNaming", defaultValue = "false") boolean checkNaming,
-                                   @RequestParam(value = "checkOperationId", defaultValue = "false") boolean checkOperationId,
-                                   @RequestParam(value = "checkSummary", defaultValue = "false") boolean checkSummary,
-                                   @RequestParam(value = "checkSchemaDescription", defaultValue = "false") boolean checkSchemaDescription,
-                                   @RequestParam(value = "checkSchemaExample", defaultValue = "false") boolean checkSchemaExample,
+                                   AuditForm form,
                                    Model model) {
-        String content;
-        String fileName = "pasted-content.yaml";
-
         try {
-            if (oasContent != null && !oasContent.isBlank()) {
-                content = oasContent;
-            } else if (file != null && !file.isEmpty()) {
-                content = new String(file.getBytes(), StandardCharsets.UTF_8);
-                fileName = file.getOriginalFilename();
-            } else {
+            String content = UploadedContent.read(file, oasContent, specUploadReader);
+            if (content == null) {
                 model.addAttribute("message", "Error: Please either upload an OpenAPI file or paste its content.");
                 model.addAttribute("results", Collections.emptyList());
                 return "fragments/results :: results-content";
             }
+            String fileName = UploadedContent.fileName(file, oasContent);
 
-            ParseOptions options = new ParseOptions();
-            options.setResolve(true);
-            SwaggerParseResult parseResult = new OpenAPIV3Parser().readContents(content, null, options);
-            OpenAPI openAPI = parseResult.getOpenAPI();
-
-            if (openAPI == null) {
-                String errorMessage = "Failed to parse OpenAPI file. Errors: " + String.join(", ", parseResult.getMessages());
-                log.error(errorMessage);
-                model.addAttribute("message", "Error: " + errorMessage);
-                model.addAttribute("results", Collections.emptyList());
-                return "fragments/results :: results-content";
-            }
-
-            List<GroupedValidationResult> results = oasValidationService.validateOas(
-                    openAPI, content, engine,
-                    qualityCheckPermissive, qualityCheckAnchors, qualityCheckRedos,
-                    checkNaming, checkOperationId, checkSummary, checkSchemaDescription, checkSchemaExample);
+            AuditOptions options = form.toOptions(ruleRegistry);
+            AuditReport report = oasAuditService.audit(content, options);
+            showReport(report, "Analysis complete for " + fileName, model);
 
-            String resultsId = UUID.randomUUID().toString().substring(0, 8);
-            resultsCacheService.store(resultsId, results);
-            String shareableLink = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    .path("/openapiauditor/r/{id}")
-                    .buildAndExpand(resultsId)
-                    .toUriString();
+        } catch (OasParseException e) {
+            log.error(e.getMessage());
+            model.addAttribute("message", "Error: " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
+        } catch (UploadTooLargeException e) {
+            log.warn(e.getMessage());
+            model.addAttribute("message", "Error: " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
+        } catch (UnknownRuleException e) {
+            model.addAttribute("message", "Error: " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
+        } catch (IOException e) {
+            log.error("Error reading file.", e);
+            model.addAttribute("message", "Error: Could not read the uploaded file. " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
+        } catch (Exception e) {
+            log.error("An unexpected error occurred during processing.", e);
+            model.addAttribute("message", "An unexpected error occurred: " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
+        }
 
-            Statistics stats = Statistics.fromResults(results);
-            model.addAttribute("stats", stats);
+        model.addAttribute("initialView", false);
+        return "fragments/results :: results-content";
+    }
 
-            model.addAttribute("message", "Analysis complete for " + fileName);
-            model.addAttribute("results", results);
-            model.addAttribute("shareableLink", shareableLink);
+    /**
+     * Audits an upload like {@link #handleFileUpload} for clients asking for {@code application/json} or
+     * {@code application/sarif+json}, and streams the results in that format instead of rendering them. The results
+     * are shared like those of the form, and their permalink is returned as {@code Content-Location}.
+     *
+     * @return 200 with the report, 400 if no spec was given, it is not valid OpenAPI or a rule is unknown, or 413 if
+     *         it exceeds {@code app.audit.upload-max-size}.
+     */
+    @PostMapping(value = "/upload", produces = {ReportResponses.JSON, ReportResponses.SARIF})
+    public ResponseEntity<StreamingResponseBody> handleFileUploadAsReport(@RequestParam(value = "oasFile", required = false) MultipartFile file,
+                                                                          @RequestParam(value = "oasContent", required = false) String oasContent,
+                                                                          AuditForm form,
+                                                                          @RequestHeader(HttpHeaders.ACCEPT) String accept) throws IOException {
+        String content;
+        try {
+            content = UploadedContent.read(file, oasContent, specUploadReader);
+        } catch (UploadTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        }
+        if (content == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Please either upload an OpenAPI file or paste its content.");
+        }
+        AuditOptions options;
+        try {
+            options = form.toOptions(ruleRegistry);
+        } catch (UnknownRuleException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        AuditReport report;
+        try {
+            report = oasAuditService.audit(content, options);
+        } catch (OasParseException e) {
+            log.error(e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        String resultsId = ResultsCacheService.newResultsId();
+        IndexedReport stored = resultsCacheService.store(resultsId, report);
+        AuditedSpec spec = new AuditedSpec(UploadedContent.fileName(file, oasContent), report.getResults(), stored.statistics(), null);
+        return ReportResponses.stream(ReportResponses.negotiate(accept), spec, shareableLink(resultsId), objectMapper);
+    }
 
+    /**
+     * Re-audits a new revision of a previously shared result. Only patterns that were added or changed
+     * since that result are re-validated; the audit options of the previous result are reused.
+     *
+     * @param id The share ID of the previous result.
+     * @return The results fragment for the new revision, with a new share link.
+     */
+    @PostMapping("/r/{id}/reaudit")
+    public String handleReaudit(@PathVariable String id,
+                                @RequestParam(value = "oasFile", required = false) MultipartFile file,
+                                @RequestParam(value = "oasContent", required = false) String oasContent,
+                                Model model) {
+        try {
+            Optional<IndexedReport> previous = resultsCacheService.get(id);
+            String content = UploadedContent.read(file, oasContent, specUploadReader);
+            if (previous.isEmpty()) {
+                model.addAttribute("message", "Error: The previous analysis results were not found. The link may be invalid or the results may have expired.");
+                model.addAttribute("results", Collections.emptyList());
+            } else if (content == null) {
+                model.addAttribute("message", "Error: Please either upload an OpenAPI file or paste its content.");
+                model.addAttribute("results", Collections.emptyList());
+            } else {
+                OasAuditService.Reaudit reaudit = oasAuditService.reaudit(previous.get().report(), content);
+                model.addAttribute("reaudit", reaudit.summary());
+                showReport(reaudit.report(), "Re-analysis complete: " + reaudit.summary().describe(), model);
+            }
+        } catch (OasParseException e) {
+            log.error(e.getMessage());
+            model.addAttribute("message", "Error: " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
+        } catch (UploadTooLargeException e) {
+            log.warn(e.getMessage());
+            model.addAttribute("message", "Error: " + e.getMessage());
+            model.addAttribute("results", Collections.emptyList());
         } catch (IOException e) {
             log.error("Error reading file.", e);
             model.addAttribute("message", "Error: Could not read the uploaded file. " + e.getMessage());
@@ -117,4 +199,27 @@ public class OasUploadController {
         model.addAttribute("initialView", false);
         return "fragments/results :: results-content";
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores the report under a new share ID and adds its first page of results to the model. Identical uploads
+     * share the memoized report and its stored copy, but each gets its own share ID.
+     */
+    private void showReport(AuditReport report, String message, Model model) {
+        String resultsId = ResultsCacheService.newResultsId();
+        IndexedReport stored = resultsCacheService.store(resultsId, report);
+        String shareableLink = shareableLink(resultsId);
+
+        ResultsPage firstPage = stored.query(ResultsQuery.firstPage(auditProperties.getResultsPageSize()));
+        model.addAttribute("stats", stored.statistics());
+
+        model.addAttribute("message", message);
+        model.addAttribute("results", firstPage.getResults());
+        model.addAttribute("resultsPage", firstPage);
+        model.addAttribute("resultsId", resultsId);
+        model.addAttribute("shareableLink", shareableLink);
+    }
+
+    private static String shareableLink(String resultsId) {
+        return ResultsCacheService.shareableLink(ServletUriComponentsBuilder.fromCurrentContextPath().toUriString(), resultsId);
+    }
+}
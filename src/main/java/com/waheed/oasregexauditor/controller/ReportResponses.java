@@ -0,0 +1,68 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waheed.oasregexauditor.service.report.AuditedSpec;
+import com.waheed.oasregexauditor.service.report.ReportFormat;
+import com.waheed.oasregexauditor.service.report.ReportWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Serves audit results as a JSON or SARIF report to clients asking for one in their {@code Accept} header,
+ * instead of the HTML results fragment. The report is written by a {@link ReportWriter}, which serializes
+ * the results one by one straight to the response, so no document is built in memory first.
+ */
+final class ReportResponses {
+
+    /**
+     * The media types handlers serving reports must declare in {@code produces}, so that requests asking for
+     * HTML, or for any type, keep getting the HTML views.
+     */
+    static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+    static final String SARIF = "application/sarif+json";
+
+    private ReportResponses() {
+    }
+
+    /**
+     * Returns the report format the client prefers: the accepted report media type with the highest quality,
+     * the first listed on a tie.
+     */
+    static ReportFormat negotiate(String accept) {
+        ReportFormat best = ReportFormat.JSON;
+        double bestQuality = -1;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            for (ReportFormat format : ReportFormat.values()) {
+                if (type.equalsTypeAndSubtype(MediaType.parseMediaType(format.mediaType()))
+                        && type.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = type.getQualityValue();
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Streams a report of one spec.
+     *
+     * @param format        The report format.
+     * @param spec          The audited spec.
+     * @param shareableLink The permalink of the results, returned as {@code Content-Location}.
+     * @param mapper        The mapper used to serialize results.
+     */
+    static ResponseEntity<StreamingResponseBody> stream(ReportFormat format, AuditedSpec spec, String shareableLink, ObjectMapper mapper) {
+        StreamingResponseBody body = out -> {
+            try (ReportWriter writer = format.open(out, mapper)) {
+                writer.write(spec);
+            }
+            out.write('\n');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_LOCATION, shareableLink)
+                .body(body);
+    }
+}
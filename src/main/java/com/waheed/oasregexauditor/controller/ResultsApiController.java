@@ -0,0 +1,111 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.ResultsPage;
+import com.waheed.oasregexauditor.model.ResultsQuery;
+import com.waheed.oasregexauditor.model.Statistics;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.IndexedReport;
+import com.waheed.oasregexauditor.service.ResultsCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * REST API for browsing shared results page by page, as the results view does for large audits.
+ */
+@RestController
+@RequestMapping("/openapiauditor/api/results")
+public class ResultsApiController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private ResultsCacheService resultsCacheService;
+
+    @Autowired
+    private AuditProperties auditProperties;
+
+    /**
+     * Returns one page of the result groups of a shared audit.
+     *
+     * @param severity Comma-separated statuses to include: error, warning and/or valid (default: all).
+     * @param engine   Only groups with a result from this engine, e.g. {@code Java} or {@code Quality Check}.
+     * @param warningType Only groups with a warning of this type, e.g. {@code Missing Anchors}.
+     * @param location Only groups whose location starts with this prefix, e.g. {@code #/paths/~1users}.
+     * @param q        Only groups whose location, regex or messages contain this text, ignoring case.
+     * @param sort     report (default), line, location or severity.
+     * @param page     The zero-based page number.
+     * @param size     The page size, at most 1000 (default: {@code app.audit.results-page-size}).
+     * @return The page, with the total number of matching groups; 404 if the results do not exist.
+     */
+    @GetMapping("/{id}")
+    public ResultsPage page(@PathVariable String id,
+                            @RequestParam(value = "severity", required = false) String severity,
+                            @RequestParam(value = "engine", required = false) String engine,
+                            @RequestParam(value = "warningType", required = false) String warningType,
+                            @RequestParam(value = "location", required = false) String location,
+                            @RequestParam(value = "q", required = false) String q,
+                            @RequestParam(value = "sort", defaultValue = "report") String sort,
+                            @RequestParam(value = "page", defaultValue = "0") int page,
+                            @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = size == null ? auditProperties.getResultsPageSize() : size;
+        if (page < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        ResultsQuery query = new ResultsQuery(severities(severity), blankToNull(engine), blankToNull(warningType),
+                blankToNull(location), blankToNull(q), sortOrder(sort), page, pageSize);
+        return findReport(id).query(query);
+    }
+
+    /**
+     * Returns the statistics of a shared audit, as shown in its summary.
+     */
+    @GetMapping("/{id}/statistics")
+    public Statistics statistics(@PathVariable String id) {
+        return findReport(id).statistics();
+    }
+
+    private IndexedReport findReport(String id) {
+        return resultsCacheService.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown results " + id));
+    }
+
+    private static Set<ValidationResult.IssueType> severities(String severity) {
+        if (severity == null || severity.isBlank()) {
+            return null;
+        }
+        Set<ValidationResult.IssueType> severities = EnumSet.noneOf(ValidationResult.IssueType.class);
+        for (String name : severity.split(",")) {
+            severities.add(parse(ValidationResult.IssueType.class, name, "severity"));
+        }
+        return severities;
+    }
+
+    private static ResultsQuery.Sort sortOrder(String sort) {
+        return parse(ResultsQuery.Sort.class, sort, "sort");
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name, String parameter) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + parameter + " '" + name.trim()
+                    + "'; expected one of " + Arrays.toString(type.getEnumConstants()).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -1,17 +1,27 @@
 package com.waheed.oasregexauditor.controller;
 
-import com.waheed.oasregexauditor.model.GroupedValidationResult;
-import com.waheed.oasregexauditor.model.Statistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.ResultsPage;
+import com.waheed.oasregexauditor.model.ResultsQuery;
+import com.waheed.oasregexauditor.service.IndexedReport;
 import com.waheed.oasregexauditor.service.ResultsCacheService;
+import com.waheed.oasregexauditor.service.report.AuditedSpec;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +34,12 @@ public class ShareController {
     @Autowired
     private ResultsCacheService resultsCacheService;
 
+    @Autowired
+    private AuditProperties auditProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Handles GET requests for a shared result set.
      * @param id The unique ID of the cached result.
@@ -32,17 +48,17 @@ public class ShareController {
      */
     @GetMapping("/r/{id}")
     public String showSharedResults(@PathVariable String id, Model model) {
-        // This now correctly expects Optional<List<GroupedValidationResult>>
-        Optional<List<GroupedValidationResult>> resultsOptional = resultsCacheService.get(id);
+        Optional<IndexedReport> report = resultsCacheService.get(id);
 
-        if (resultsOptional.isPresent() && !resultsOptional.get().isEmpty()) {
-            List<GroupedValidationResult> results = resultsOptional.get();
-            // **FIX**: Generate statistics from the retrieved results
-            Statistics stats = Statistics.fromResults(results);
+        if (report.isPresent() && !report.get().report().getResults().isEmpty()) {
+            // Only the first page is rendered; the page loads the rest from the results API.
+            ResultsPage firstPage = report.get().query(ResultsQuery.firstPage(auditProperties.getResultsPageSize()));
 
-            model.addAttribute("results", results);
-            // **FIX**: Add the statistics object to the model
-            model.addAttribute("stats", stats);
+            model.addAttribute("results", firstPage.getResults());
+            model.addAttribute("resultsPage", firstPage);
+            model.addAttribute("resultsId", id);
+            // The statistics were computed when the report was stored.
+            model.addAttribute("stats", report.get().statistics());
             model.addAttribute("message", "Showing shared analysis results from a permalink.");
             // Also add the shareable link so it can be re-shared
             model.addAttribute("shareableLink", true); // A simple flag to show the share section
@@ -54,4 +70,48 @@ public class ShareController {
         // Render the dedicated results page.
         return "results-page";
     }
+
+    /**
+     * Streams a shared result set as a JSON or SARIF report, for clients asking for {@code application/json}
+     * or {@code application/sarif+json}.
+     * @param id The unique ID of the cached result.
+     * @return 200 with the report, or 404 if the results do not exist.
+     */
+    @GetMapping(value = "/r/{id}", produces = {ReportResponses.JSON, ReportResponses.SARIF})
+    public ResponseEntity<StreamingResponseBody> sharedResultsAsReport(@PathVariable String id,
+                                                                       @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        IndexedReport report = resultsCacheService.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown results " + id));
+        String shareableLink = ServletUriComponentsBuilder.fromCurrentRequestUri().toUriString();
+        // The permalink is the only name the spec has once shared.
+        AuditedSpec spec = new AuditedSpec(shareableLink, report.report().getResults(), report.statistics(), null);
+        return ReportResponses.stream(ReportResponses.negotiate(accept), spec, shareableLink, objectMapper);
+    }
+
+    /**
+     * Renders a shared result set as the results fragment of the upload page, e.g. once an asynchronous
+     * audit job has finished.
+     * @param id The unique ID of the cached result.
+     * @param model The Spring UI model.
+     * @return The results fragment.
+     */
+    @GetMapping("/r/{id}/fragment")
+    public String showSharedResultsFragment(@PathVariable String id, Model model) {
+        Optional<IndexedReport> report = resultsCacheService.get(id);
+        if (report.isPresent()) {
+            ResultsPage firstPage = report.get().query(ResultsQuery.firstPage(auditProperties.getResultsPageSize()));
+            model.addAttribute("results", firstPage.getResults());
+            model.addAttribute("resultsPage", firstPage);
+            model.addAttribute("resultsId", id);
+            model.addAttribute("stats", report.get().statistics());
+            model.addAttribute("message", "Analysis complete");
+            model.addAttribute("shareableLink",
+                    ResultsCacheService.shareableLink(ServletUriComponentsBuilder.fromCurrentContextPath().toUriString(), id));
+        } else {
+            model.addAttribute("results", Collections.emptyList());
+            model.addAttribute("message", "Error: The requested analysis results were not found. The link may be invalid or the results may have expired.");
+        }
+        model.addAttribute("initialView", false);
+        return "fragments/results :: results-content";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.waheed.oasregexauditor.service.SpecUploadReader;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the spec submitted with an upload form, which is either pasted text or an uploaded file.
+ */
+final class UploadedContent {
+
+    private UploadedContent() {
+    }
+
+    /**
+     * Returns the pasted content if present, otherwise the uploaded file's content, or null if neither was given.
+     * The file is streamed from the part rather than read with {@link MultipartFile#getBytes()}, see {@link SpecUploadReader}.
+     *
+     * @throws com.waheed.oasregexauditor.service.UploadTooLargeException if the spec exceeds {@code app.audit.upload-max-size}.
+     */
+    static String read(MultipartFile file, String oasContent, SpecUploadReader reader) throws IOException {
+        if (oasContent != null && !oasContent.isBlank()) {
+            return reader.checkPasted(oasContent);
+        }
+        if (file != null && !file.isEmpty()) {
+            try (InputStream in = file.getInputStream()) {
+                return reader.read(in);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name shown for the submitted spec.
+     */
+    static String fileName(MultipartFile file, String oasContent) {
+        return oasContent != null && !oasContent.isBlank() ? "pasted-content.yaml" : file.getOriginalFilename();
+    }
+}
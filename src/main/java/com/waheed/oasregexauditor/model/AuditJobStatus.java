@@ -0,0 +1,31 @@
+package com.waheed.oasregexauditor.model;
+
+/**
+ * A point-in-time view of an asynchronous audit job, as returned by the job API and streamed as progress events.
+ *
+ * @param jobId         The job ID.
+ * @param fileName      The name of the audited spec.
+ * @param state         QUEUED, RUNNING, SUCCEEDED, FAILED or CANCELLED.
+ * @param stage         The stage the audit is in, e.g. "Validating patterns".
+ * @param done          Units of pattern validation completed (patterns times engine passes).
+ * @param total         Units of pattern validation in total, or 0 while unknown.
+ * @param resultsId     The share ID of the result once the job has succeeded, otherwise null.
+ * @param shareableLink The permalink of the result once the job has succeeded, otherwise null.
+ * @param statistics    The statistics of the result once the job has succeeded, otherwise null.
+ * @param message       The error message if the job failed, otherwise null.
+ */
+public record AuditJobStatus(String jobId,
+                             String fileName,
+                             String state,
+                             String stage,
+                             int done,
+                             int total,
+                             String resultsId,
+                             String shareableLink,
+                             Statistics statistics,
+                             String message) {
+
+    public boolean isFinished() {
+        return !"QUEUED".equals(state) && !"RUNNING".equals(state);
+    }
+}
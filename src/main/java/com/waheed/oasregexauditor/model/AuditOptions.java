@@ -0,0 +1,23 @@
+package com.waheed.oasregexauditor.model;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The engine selection and rules of an audit request.
+ * Two audits of the same content with equal options always produce the same results, apart from the
+ * timings measured when {@code confirmRedos} is set.
+ *
+ * @param engine       The engines to run, see {@code OasValidationService}.
+ * @param rules        The IDs of the rules to run besides the engines, as resolved by the {@code RuleRegistry}.
+ * @param confirmRedos Whether ReDoS warnings are confirmed by timing attack strings.
+ */
+public record AuditOptions(String engine, Set<String> rules, boolean confirmRedos) {
+
+    public AuditOptions {
+        // Engine names are matched case-insensitively, so normalise them to keep equal requests equal.
+        engine = engine == null ? "" : engine.trim().toLowerCase();
+        rules = rules == null ? Set.of() : Collections.unmodifiableSet(new TreeSet<>(rules));
+    }
+}
@@ -0,0 +1,32 @@
+package com.waheed.oasregexauditor.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The outcome of an audit together with what is needed to re-audit a later revision of the same spec:
+ * the options it ran with and every pattern it found.
+ */
+@Data
+public class AuditReport {
+    private final List<GroupedValidationResult> results;
+    private final AuditOptions options;
+    private final List<PatternLocation> patterns;
+    /**
+     * Identifies the content and options the report was audited from, so that identical reports are shared once;
+     * null when the report was not produced by a memoized audit.
+     */
+    private final String contentKey;
+
+    public AuditReport(List<GroupedValidationResult> results, AuditOptions options, List<PatternLocation> patterns) {
+        this(results, options, patterns, null);
+    }
+
+    public AuditReport(List<GroupedValidationResult> results, AuditOptions options, List<PatternLocation> patterns, String contentKey) {
+        this.results = results;
+        this.options = options;
+        this.patterns = patterns;
+        this.contentKey = contentKey;
+    }
+}
@@ -0,0 +1,37 @@
+package com.waheed.oasregexauditor.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * One line of a bulk audit stream: the outcome of a single spec of the archive.
+ *
+ * @param file       The path of the spec inside the archive.
+ * @param statistics The statistics of the spec, or null if it could not be audited.
+ * @param issues     The errors and warnings of the spec; valid results are left out to keep lines small.
+ * @param error      Why the spec could not be audited (e.g. it is not valid OpenAPI), otherwise null.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder("type")
+public record BulkSpecResult(String file, Statistics statistics, List<ValidationResult> issues, String error) {
+
+    @JsonProperty("type")
+    public String type() {
+        return "spec";
+    }
+
+    public static BulkSpecResult of(String file, AuditReport report) {
+        List<ValidationResult> issues = report.getResults().stream()
+                .flatMap(g -> g.getResults().stream())
+                .filter(r -> r.getIssueType() != ValidationResult.IssueType.VALID)
+                .toList();
+        return new BulkSpecResult(file, Statistics.fromReport(report), issues, null);
+    }
+
+    public static BulkSpecResult failed(String file, String error) {
+        return new BulkSpecResult(file, null, null, error);
+    }
+}
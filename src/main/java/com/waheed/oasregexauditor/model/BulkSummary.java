@@ -0,0 +1,56 @@
+package com.waheed.oasregexauditor.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The last line of a bulk audit stream: totals across every spec of the archive.
+ * Specs are added one at a time as they finish, so the summary never needs the individual results.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder("type")
+public class BulkSummary {
+
+    private int totalFiles;
+    private int failedFiles;
+    private long totalPatterns;
+    private long totalErrors;
+    private long totalWarnings;
+    private long totalValid;
+    private Map<String, Long> errorsByEngine = new TreeMap<>();
+    private Map<String, Long> warningsByType = new TreeMap<>();
+    private long elapsedMillis;
+    /**
+     * Set when the archive could not be read to the end; the totals then cover only the specs before the failure.
+     */
+    private String error;
+
+    @JsonProperty("type")
+    public String getType() {
+        return "summary";
+    }
+
+    /**
+     * Adds the outcome of one spec to the totals.
+     */
+    public void add(BulkSpecResult spec) {
+        totalFiles++;
+        Statistics stats = spec.statistics();
+        if (stats == null) {
+            failedFiles++;
+            return;
+        }
+        totalPatterns += stats.getTotalPatterns();
+        totalErrors += stats.getTotalErrors();
+        totalWarnings += stats.getTotalWarnings();
+        totalValid += stats.getTotalValid();
+        stats.getErrorsByEngine().forEach((engine, count) -> errorsByEngine.merge(engine, count, Long::sum));
+        stats.getWarningsByType().forEach((type, count) -> warningsByType.merge(type, count, Long::sum));
+    }
+}
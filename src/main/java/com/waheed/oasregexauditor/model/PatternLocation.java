@@ -0,0 +1,10 @@
+package com.waheed.oasregexauditor.model;
+
+/**
+ * A regex pattern found in an OpenAPI document, ready to be validated.
+ *
+ * @param location   The JSON Pointer path to the pattern within the OpenAPI specification.
+ * @param lineNumber The line number where the pattern is located in the source file.
+ * @param regex      The regex pattern string.
+ */
+public record PatternLocation(String location, int lineNumber, String regex) {}
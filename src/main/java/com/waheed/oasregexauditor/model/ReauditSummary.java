@@ -0,0 +1,24 @@
+package com.waheed.oasregexauditor.model;
+
+import java.util.List;
+
+/**
+ * Describes what an incremental re-audit reused from the previous result and what it recomputed.
+ *
+ * @param reusedPatterns       Number of patterns whose results were carried forward unchanged.
+ * @param recomputedLocations  Locations of patterns that were re-validated: added or changed ones, and unchanged ones
+ *                             whose previous results were incomplete (an engine failed, or only issues were kept).
+ * @param removedLocations     Locations of patterns that no longer exist in the new revision.
+ * @param bestPracticesRerun   Whether the best-practice checks were re-run on the new revision.
+ */
+public record ReauditSummary(int reusedPatterns,
+                             List<String> recomputedLocations,
+                             List<String> removedLocations,
+                             boolean bestPracticesRerun) {
+
+    public String describe() {
+        return String.format("%d pattern(s) reused, %d new, changed or incomplete pattern(s) re-validated, %d removed%s.",
+                reusedPatterns, recomputedLocations.size(), removedLocations.size(),
+                bestPracticesRerun ? ", best-practice checks re-run" : "");
+    }
+}
@@ -0,0 +1,32 @@
+package com.waheed.oasregexauditor.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the result groups of a shared audit that match a {@link ResultsQuery}.
+ */
+@Data
+public class ResultsPage {
+    private final int page;
+    private final int size;
+    /**
+     * Number of groups matching the query across all pages.
+     */
+    private final long total;
+    private final List<GroupedValidationResult> results;
+
+    public ResultsPage(int page, int size, long total, List<GroupedValidationResult> results) {
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.results = results;
+    }
+
+    @JsonProperty("hasMore")
+    public boolean hasMore() {
+        return (long) (page + 1) * size < total;
+    }
+}
@@ -0,0 +1,43 @@
+package com.waheed.oasregexauditor.model;
+
+import java.util.Set;
+
+/**
+ * A page of shared results to look up, with the filters it must match. Filters left null match everything.
+ *
+ * @param severities     Statuses of the groups to include: ERROR if any check failed, WARNING if any warned, VALID otherwise.
+ * @param engine         Only groups with a result from this engine, e.g. {@code Go (RE2J)} or {@code Quality Check}.
+ * @param warningType    Only groups with a warning of this type, i.e. its message, e.g. {@code Missing Anchors}.
+ * @param locationPrefix Only groups whose location starts with this JSON Pointer prefix, e.g. {@code #/components/schemas/}.
+ * @param text           Only groups whose location, regex or a result message contains this text, ignoring case.
+ * @param sort           The order of the groups.
+ * @param page           The zero-based page number.
+ * @param size           The page size.
+ */
+public record ResultsQuery(Set<ValidationResult.IssueType> severities,
+                           String engine,
+                           String warningType,
+                           String locationPrefix,
+                           String text,
+                           Sort sort,
+                           int page,
+                           int size) {
+
+    public enum Sort {
+        /** The order of the audit: patterns in document order, then best-practice findings. */
+        REPORT,
+        /** By line number in the source. */
+        LINE,
+        /** By location, i.e. by JSON Pointer. */
+        LOCATION,
+        /** Errors first, then warnings, then valid groups; in report order within each. */
+        SEVERITY
+    }
+
+    /**
+     * The first page in report order, without filters.
+     */
+    public static ResultsQuery firstPage(int size) {
+        return new ResultsQuery(null, null, null, null, null, Sort.REPORT, 0, size);
+    }
+}
@@ -1,9 +1,9 @@
 package com.waheed.oasregexauditor.model;
 
 import lombok.Data;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * A data class to hold detailed statistics about the validation results.
@@ -16,9 +16,35 @@ public class Statistics {
     private long totalWarnings;
     private long totalValid;
 
+    /**
+     * Number of distinct regexes among the scanned patterns, each of which was validated once.
+     * Only set by {@link #fromReport}, since the results alone do not tell patterns from best-practice findings.
+     */
+    private long uniqueRegexes;
+
+    /**
+     * Distinct regexes divided by scanned patterns; 1 when no regex repeats (or there are no patterns).
+     */
+    private double uniqueRegexRatio = 1.0;
+
     private Map<String, Long> errorsByEngine;
     private Map<String, Long> warningsByType;
 
+    /**
+     * Same as {@link #fromResults}, adding how many of the report's scanned patterns are distinct regexes.
+     * @param report The audit report.
+     * @return A populated Statistics object.
+     */
+    public static Statistics fromReport(AuditReport report) {
+        Statistics stats = fromResults(report.getResults());
+        List<PatternLocation> patterns = report.getPatterns();
+        if (patterns != null && !patterns.isEmpty()) {
+            stats.uniqueRegexes = patterns.stream().map(PatternLocation::regex).distinct().count();
+            stats.uniqueRegexRatio = (double) stats.uniqueRegexes / patterns.size();
+        }
+        return stats;
+    }
+
     /**
      * Factory method to create and populate a Statistics object from a list of results.
      * @param results The list of GroupedValidationResult from the analysis.
@@ -27,27 +53,31 @@ public class Statistics {
     public static Statistics fromResults(List<GroupedValidationResult> results) {
         Statistics stats = new Statistics();
         stats.totalPatterns = results.size();
-        stats.totalValid = results.stream().filter(GroupedValidationResult::isValid).count();
-
-        List<GroupedValidationResult> resultsWithIssues = results.stream()
-                .filter(r -> !r.isValid())
-                .collect(Collectors.toList());
-
-        stats.totalErrors = results.stream().filter(GroupedValidationResult::hasError).count();
-        stats.totalWarnings = results.stream().filter(r -> r.hasWarning() && !r.hasError()).count();
-
-        // Calculate errors by engine
-        stats.errorsByEngine = results.stream()
-                .flatMap(g -> g.getResults().stream())
-                .filter(r -> r.getIssueType() == ValidationResult.IssueType.ERROR)
-                .collect(Collectors.groupingBy(ValidationResult::getEngine, Collectors.counting()));
-
-        // Calculate warnings by type (message)
-        stats.warningsByType = results.stream()
-                .flatMap(g -> g.getResults().stream())
-                .filter(r -> r.getIssueType() == ValidationResult.IssueType.WARNING)
-                .collect(Collectors.groupingBy(ValidationResult::getMessage, Collectors.counting()));
-
+        stats.errorsByEngine = new HashMap<>();
+        stats.warningsByType = new HashMap<>();
+        // One pass over the results, since permalinks of large audits may hold tens of thousands of them.
+        for (GroupedValidationResult group : results) {
+            boolean error = false;
+            boolean warning = false;
+            for (ValidationResult r : group.getResults()) {
+                if (r.getIssueType() == ValidationResult.IssueType.ERROR) {
+                    error = true;
+                    // Calculate errors by engine
+                    stats.errorsByEngine.merge(r.getEngine(), 1L, Long::sum);
+                } else if (r.getIssueType() == ValidationResult.IssueType.WARNING) {
+                    warning = true;
+                    // Calculate warnings by type (message)
+                    stats.warningsByType.merge(r.getMessage(), 1L, Long::sum);
+                }
+            }
+            if (error) {
+                stats.totalErrors++;
+            } else if (warning) {
+                stats.totalWarnings++;
+            } else {
+                stats.totalValid++;
+            }
+        }
         return stats;
     }
 }
@@ -1,20 +1,45 @@
 package com.waheed.oasregexauditor.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ValidationResult {
 
+    // One message instance per engine rather than one per valid result.
+    private static final Map<String, String> VALID_MESSAGES = new ConcurrentHashMap<>();
+
+    private static final String ENGINE_TIMED_OUT = "Engine Timed Out";
+    private static final String ENGINE_FAILURE_SUGGESTION =
+            "The engine failed before it could judge the pattern; the result is not cached, so auditing again may succeed.";
+
     public enum IssueType {
         VALID,
         WARNING,
         ERROR
     }
 
+    /**
+     * Why an engine produced no verdict on the pattern.
+     */
+    public enum FailureKind {
+        /**
+         * The engine or its environment failed, e.g. a script context could not be borrowed.
+         */
+        ENGINE_FAILED,
+        /**
+         * The engine missed its deadline.
+         */
+        ENGINE_TIMED_OUT
+    }
+
     private String location;
     private int lineNumber;
     private String regexPattern;
@@ -24,17 +49,61 @@ public class ValidationResult {
     private String message;
     private String suggestion;
     private String suggestedRegex;
+    /**
+     * Measured evidence backing the result, e.g. match-time growth curves for a ReDoS warning; usually null.
+     */
+    private String evidence;
+    /**
+     * Set when the result is not a verdict on the pattern but a failure of the engine; null otherwise.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private FailureKind failureKind;
+
+    /**
+     * A verdict on the pattern, or a finding of a rule.
+     */
+    public ValidationResult(String location, int lineNumber, String regexPattern, String engine, boolean isValid, IssueType issueType,
+                            String message, String suggestion, String suggestedRegex, String evidence) {
+        this(location, lineNumber, regexPattern, engine, isValid, issueType, message, suggestion, suggestedRegex, evidence, null);
+    }
 
     public static ValidationResult success(String location, int lineNumber, String regexPattern, String engine) {
-        return new ValidationResult(location, lineNumber, regexPattern, engine, true, IssueType.VALID, "Pattern is valid for the " + engine + " engine.", null, null);
+        String message = VALID_MESSAGES.computeIfAbsent(engine, e -> "Pattern is valid for the " + e + " engine.");
+        return new ValidationResult(location, lineNumber, regexPattern, engine, true, IssueType.VALID, message, null, null, null);
     }
 
     public static ValidationResult error(String location, int lineNumber, String regexPattern, String engine, String message, String suggestion, String suggestedRegex) {
-        return new ValidationResult(location, lineNumber, regexPattern, engine, false, IssueType.ERROR, message, suggestion, suggestedRegex);
+        return new ValidationResult(location, lineNumber, regexPattern, engine, false, IssueType.ERROR, message, suggestion, suggestedRegex, null);
+    }
+
+    /**
+     * An error that says nothing about the pattern, e.g. the engine's environment failed or was overloaded.
+     * Such results are recognized by {@link #isEngineFailure} and never cached or reused.
+     */
+    public static ValidationResult engineFailure(String location, int lineNumber, String regexPattern, String engine, String message) {
+        return new ValidationResult(location, lineNumber, regexPattern, engine, false, IssueType.ERROR, message, ENGINE_FAILURE_SUGGESTION,
+                null, null, FailureKind.ENGINE_FAILED);
+    }
+
+    /**
+     * A warning that the engine missed its deadline, so the pattern was not judged. Like {@link #engineFailure},
+     * it is recognized by {@link #isEngineFailure}.
+     */
+    public static ValidationResult engineTimedOut(String location, int lineNumber, String regexPattern, String engine, String suggestion) {
+        return new ValidationResult(location, lineNumber, regexPattern, engine, true, IssueType.WARNING, ENGINE_TIMED_OUT, suggestion,
+                null, null, FailureKind.ENGINE_TIMED_OUT);
+    }
+
+    /**
+     * Whether the result reports a failure or timeout of the engine rather than a verdict on the pattern, i.e. has a
+     * {@link FailureKind}. Static, so that it is not serialized as a property.
+     */
+    public static boolean isEngineFailure(ValidationResult result) {
+        return result.getFailureKind() != null;
     }
 
     public static ValidationResult warning(String location, int lineNumber, String regexPattern, String engine, String message, String suggestion, String suggestedRegex) {
         // **FIXED**: Correctly pass the 'engine' parameter to the constructor.
-        return new ValidationResult(location, lineNumber, regexPattern, engine, true, IssueType.WARNING, message, suggestion, suggestedRegex);
+        return new ValidationResult(location, lineNumber, regexPattern, engine, true, IssueType.WARNING, message, suggestion, suggestedRegex, null);
     }
 }
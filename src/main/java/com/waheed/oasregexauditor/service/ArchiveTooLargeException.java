@@ -0,0 +1,14 @@
+package com.waheed.oasregexauditor.service;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a bulk archive has more entries or decompresses to more bytes than {@code app.audit.bulk-max-entries}
+ * and {@code app.audit.bulk-max-total-size} allow.
+ */
+public class ArchiveTooLargeException extends IOException {
+
+    public ArchiveTooLargeException(String message) {
+        super(message);
+    }
+}
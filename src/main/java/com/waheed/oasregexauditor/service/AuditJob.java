@@ -0,0 +1,210 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.model.AuditJobStatus;
+import com.waheed.oasregexauditor.model.Statistics;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An audit running in the background. The job is the audit's {@link AuditProgress} listener: it records
+ * the stage and the number of patterns done, publishes snapshots to its subscribers, and carries the
+ * cancellation flag polled by the pipeline.
+ */
+public class AuditJob implements AuditProgress {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    // Batches complete far more often than a browser needs to repaint a progress bar.
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String id;
+    private final String fileName;
+    private final String shareLinkBase;
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicLong lastPublished = new AtomicLong(System.nanoTime());
+    private final List<Consumer<AuditJobStatus>> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile String stage = "Queued";
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+    private volatile String resultsId;
+    private volatile Statistics statistics;
+    private volatile String message;
+    private volatile Instant finishedAt;
+    private volatile boolean everSubscribed;
+
+    AuditJob(String id, String fileName, String shareLinkBase) {
+        this.id = id;
+        this.fileName = fileName;
+        this.shareLinkBase = shareLinkBase;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the current status of the job.
+     */
+    public AuditJobStatus snapshot() {
+        String link = resultsId == null ? null : ResultsCacheService.shareableLink(shareLinkBase, resultsId);
+        return new AuditJobStatus(id, fileName, state.name(), stage, done.get(), total.get(), resultsId, link, statistics, message);
+    }
+
+    /**
+     * Registers a listener for status updates and immediately sends it the current status. Listeners are
+     * called from the audit's worker threads and must not block.
+     *
+     * @param subscriber The listener.
+     */
+    public void subscribe(Consumer<AuditJobStatus> subscriber) {
+        everSubscribed = true;
+        subscribers.add(subscriber);
+        subscriber.accept(snapshot());
+        if (isFinished()) {
+            // The final status may also have been published to it by a concurrent finish.
+            subscribers.remove(subscriber);
+        }
+    }
+
+    /**
+     * Removes a listener. When the last listener of a job that is still running goes away, e.g. because the
+     * client disconnected, nobody is waiting for the result any more and the job is cancelled.
+     *
+     * @param subscriber The listener.
+     */
+    public void unsubscribe(Consumer<AuditJobStatus> subscriber) {
+        if (subscribers.remove(subscriber) && subscribers.isEmpty() && everSubscribed && !isFinished()) {
+            cancel();
+        }
+    }
+
+    /**
+     * Removes a listener without cancelling the job, e.g. when an event stream expires and the client is
+     * expected to reconnect.
+     *
+     * @param subscriber The listener.
+     */
+    public void detach(Consumer<AuditJobStatus> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Requests cancellation. A queued job is cancelled at once; a running one stops at its next batch.
+     */
+    public synchronized void cancel() {
+        if (isFinished()) {
+            return;
+        }
+        cancelRequested = true;
+        if (future != null) {
+            future.cancel(true);
+        }
+        if (state == State.QUEUED) {
+            finish(State.CANCELLED);
+        }
+    }
+
+    public boolean isFinished() {
+        return state != State.QUEUED && state != State.RUNNING;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Moves a queued job to running; returns false if it was cancelled while queued.
+     */
+    synchronized boolean start() {
+        if (state != State.QUEUED || cancelRequested) {
+            return false;
+        }
+        state = State.RUNNING;
+        stage = "Starting";
+        publish();
+        return true;
+    }
+
+    synchronized void succeed(String resultsId, Statistics statistics) {
+        this.resultsId = resultsId;
+        this.statistics = statistics;
+        this.stage = "Done";
+        finish(State.SUCCEEDED);
+    }
+
+    synchronized void fail(String message) {
+        this.message = message;
+        finish(State.FAILED);
+    }
+
+    synchronized void cancelled() {
+        finish(State.CANCELLED);
+    }
+
+    private void finish(State finalState) {
+        if (isFinished()) {
+            return;
+        }
+        state = finalState;
+        finishedAt = Instant.now();
+        publish();
+        subscribers.clear();
+    }
+
+    @Override
+    public void stage(String stage) {
+        this.stage = stage;
+        publish();
+    }
+
+    @Override
+    public void total(int units) {
+        total.set(units);
+        done.set(0);
+        publish();
+    }
+
+    @Override
+    public void advance(int units) {
+        done.addAndGet(units);
+        long now = System.nanoTime();
+        long last = lastPublished.get();
+        if (now - last >= PUBLISH_INTERVAL_NANOS && lastPublished.compareAndSet(last, now)) {
+            publish();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    private void publish() {
+        AuditJobStatus status = snapshot();
+        subscribers.forEach(subscriber -> subscriber.accept(status));
+    }
+}
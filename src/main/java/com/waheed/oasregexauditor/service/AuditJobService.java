@@ -0,0 +1,115 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs audits as background jobs so that a slow audit does not hold a servlet thread.
+ * Jobs run on the bounded {@code auditJobExecutor}; when its queue is full, new jobs are rejected
+ * rather than queued indefinitely. A successful job stores its report in the {@link ResultsCacheService}
+ * under a new share ID, exactly like a synchronous upload.
+ */
+@Service
+public class AuditJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJobService.class);
+
+    private final OasAuditService oasAuditService;
+    private final ResultsCacheService resultsCacheService;
+    private final ThreadPoolExecutor auditJobExecutor;
+    private final AuditProperties auditProperties;
+    private final Map<String, AuditJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AuditJobService(OasAuditService oasAuditService, ResultsCacheService resultsCacheService,
+                           @Qualifier("auditJobExecutor") ThreadPoolExecutor auditJobExecutor,
+                           AuditProperties auditProperties) {
+        this.oasAuditService = oasAuditService;
+        this.resultsCacheService = resultsCacheService;
+        this.auditJobExecutor = auditJobExecutor;
+        this.auditProperties = auditProperties;
+    }
+
+    /**
+     * Queues an audit.
+     *
+     * @param content       The raw OpenAPI document (YAML or JSON).
+     * @param options       The engine selection and check flags.
+     * @param fileName      The name of the spec, shown in the job status.
+     * @param shareLinkBase The base URL of the application, used to build the permalink of the result.
+     * @return The queued job.
+     * @throws RejectedExecutionException if the job queue is full.
+     */
+    public AuditJob submit(String content, AuditOptions options, String fileName, String shareLinkBase) {
+        purgeFinishedJobs();
+        AuditJob job = new AuditJob(ResultsCacheService.newResultsId(), fileName, shareLinkBase);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(auditJobExecutor.submit(() -> run(job, content, options)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<AuditJob> get(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Cancels a job if it exists.
+     *
+     * @param jobId The job ID.
+     * @return The job, if it exists.
+     */
+    public Optional<AuditJob> cancel(String jobId) {
+        Optional<AuditJob> job = get(jobId);
+        job.ifPresent(AuditJob::cancel);
+        return job;
+    }
+
+    private void run(AuditJob job, String content, AuditOptions options) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            AuditReport report = oasAuditService.audit(content, options, job);
+            String resultsId = ResultsCacheService.newResultsId();
+            resultsCacheService.store(resultsId, report);
+            job.succeed(resultsId, Statistics.fromReport(report));
+        } catch (CancellationException e) {
+            job.cancelled();
+        } catch (OasParseException e) {
+            job.fail(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Audit job {} failed.", job.getId(), e);
+            job.fail("An unexpected error occurred: " + e.getMessage());
+        } catch (Error e) {
+            // The job must still finish, or clients would poll it forever and it would never be purged.
+            log.error("Audit job {} failed.", job.getId(), e);
+            job.fail("The audit could not be completed.");
+            throw e;
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(auditProperties.getJobRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,164 @@
+package com.waheed.oasregexauditor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the audit pipeline, published through Actuator (e.g. {@code /actuator/prometheus}).
+ * <ul>
+ *   <li>{@code audit.stage} times the pipeline stages, tagged {@code stage}: parse, scan, validate, group and redos-timing.</li>
+ *   <li>{@code audit.engine} times each batch of patterns handed to a regex engine, tagged {@code engine}.</li>
+ *   <li>{@code audit.regex.verdicts} counts the verdicts of each engine, tagged {@code engine} and {@code source}:
+ *       {@code static} if decided from the compatibility analysis, {@code engine} if the engine compiled the pattern.</li>
+ *   <li>{@code audit.quality.check} times one quality check of one pattern, tagged {@code check}.</li>
+ *   <li>{@code audit.spec.size} and {@code audit.spec.patterns} record the size and pattern count of audited specs.</li>
+ *   <li>{@code audit.upload.size} records the decompressed size of uploaded files, tagged {@code encoding}.</li>
+ *   <li>{@code audit.request.allocated} records the heap allocated by the request thread while handling an
+ *       upload, tagged {@code uri}. Its maximum bounds the transient heap one upload needs, for sizing the heap
+ *       for a number of concurrent uploads; work handed to the audit pool is not included.</li>
+ * </ul>
+ * Timers and summaries publish percentile histograms, so that quantiles can be aggregated across instances.
+ * Without a {@link MeterRegistry} bean, as in the command-line auditor, meters are registered with the empty
+ * global registry and recording is a no-op.
+ */
+@Component
+public class AuditMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> engineTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> checkTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> verdictCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> uploadSizes = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> requestAllocations = new ConcurrentHashMap<>();
+    private final DistributionSummary specSize;
+    private final DistributionSummary specPatterns;
+
+    @Autowired
+    public AuditMetrics(ObjectProvider<MeterRegistry> registry) {
+        this(registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public AuditMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.specSize = DistributionSummary.builder("audit.spec.size")
+                .description("Size of the audited specs")
+                .baseUnit("characters")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.specPatterns = DistributionSummary.builder("audit.spec.patterns")
+                .description("Number of patterns found in the audited specs")
+                .baseUnit("patterns")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Runs one stage of the pipeline and records its duration, also when it fails.
+     *
+     * @param stage The stage name, used as the {@code stage} tag.
+     * @param work  The stage.
+     * @return The result of the stage.
+     */
+    public <T> T timeStage(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            stageTimer(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records the time one engine took to validate a batch of patterns.
+     */
+    public void recordEngine(String engine, long nanos) {
+        engineTimers.computeIfAbsent(engine, name -> Timer.builder("audit.engine")
+                        .description("Time a regex engine takes to validate a batch of patterns")
+                        .tag("engine", name)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how many verdicts of a batch were decided statically and how many by the engine itself.
+     */
+    public void recordVerdicts(String engine, int decidedStatically, int compiled) {
+        verdictCounter(engine, "static").increment(decidedStatically);
+        verdictCounter(engine, "engine").increment(compiled);
+    }
+
+    private Counter verdictCounter(String engine, String source) {
+        return verdictCounters.computeIfAbsent(engine + "/" + source, key -> Counter.builder("audit.regex.verdicts")
+                .description("Regex verdicts by how they were decided")
+                .tag("engine", engine)
+                .tag("source", source)
+                .register(registry));
+    }
+
+    /**
+     * Records the time one quality check took for one pattern.
+     */
+    public void recordQualityCheck(String check, long nanos) {
+        checkTimers.computeIfAbsent(check, name -> Timer.builder("audit.quality.check")
+                        .description("Time a pattern quality check takes for one pattern")
+                        .tag("check", name)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the size and pattern count of an audited spec.
+     */
+    public void recordSpec(int characters, int patterns) {
+        specSize.record(characters);
+        specPatterns.record(patterns);
+    }
+
+    /**
+     * Records the decompressed size of an uploaded file.
+     */
+    public void recordUpload(long bytes, boolean gzip) {
+        uploadSizes.computeIfAbsent(gzip ? "gzip" : "identity", encoding -> DistributionSummary.builder("audit.upload.size")
+                        .description("Decompressed size of uploaded specs")
+                        .baseUnit("bytes")
+                        .tag("encoding", encoding)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(bytes);
+    }
+
+    /**
+     * Records the heap allocated by a request thread while it handled one request.
+     */
+    public void recordRequestAllocation(String uri, long bytes) {
+        requestAllocations.computeIfAbsent(uri, name -> DistributionSummary.builder("audit.request.allocated")
+                        .description("Heap allocated by the request thread while handling an upload")
+                        .baseUnit("bytes")
+                        .tag("uri", name)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(bytes);
+    }
+
+    private Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, name -> Timer.builder("audit.stage")
+                .description("Time spent in one stage of the audit pipeline")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
@@ -0,0 +1,41 @@
+package com.waheed.oasregexauditor.service;
+
+/**
+ * Receives progress from a running audit and tells it whether to stop early.
+ * Pattern validation reports in units of one pattern checked by one engine pass, so {@link #total(int)}
+ * is the number of patterns times the number of passes. Callbacks may arrive from several worker threads.
+ */
+public interface AuditProgress {
+
+    /**
+     * A listener that ignores progress and never cancels, for synchronous audits.
+     */
+    AuditProgress NONE = new AuditProgress() {
+    };
+
+    /**
+     * Called when the audit enters a new stage, e.g. parsing or validating patterns.
+     */
+    default void stage(String stage) {
+    }
+
+    /**
+     * Called once the amount of pattern validation work is known.
+     */
+    default void total(int units) {
+    }
+
+    /**
+     * Called whenever a batch of validation work completes.
+     */
+    default void advance(int units) {
+    }
+
+    /**
+     * Polled between batches; once it returns {@code true}, remaining work is skipped and the audit
+     * ends with a {@link java.util.concurrent.CancellationException}.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
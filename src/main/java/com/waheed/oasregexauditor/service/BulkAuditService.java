@@ -0,0 +1,154 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.BulkSpecResult;
+import com.waheed.oasregexauditor.model.BulkSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Audits every spec of an archive, several at a time, and hands each result to a sink as soon as it is done.
+ * At most {@code app.audit.bulk-concurrency} specs are read and audited at once: the archive is read on the
+ * calling thread, which waits for a free slot before reading the next entry, so neither the archive nor the
+ * results are ever held in memory as a whole.
+ * <p>
+ * Bulk audits bypass the audit memo of {@link OasAuditService}: a batch of a thousand distinct specs would
+ * only evict the entries that interactive users are likely to hit again.
+ */
+@Service
+public class BulkAuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAuditService.class);
+
+    private final OasAuditService oasAuditService;
+    private final AuditProperties auditProperties;
+
+    @Autowired
+    public BulkAuditService(OasAuditService oasAuditService, AuditProperties auditProperties) {
+        this.oasAuditService = oasAuditService;
+        this.auditProperties = auditProperties;
+    }
+
+    /**
+     * Opens an archive of specs, applying the configured per-spec size, entry count and decompressed size limits.
+     *
+     * @throws IllegalArgumentException if the stream is not a zip, tar or tar.gz archive.
+     */
+    public SpecArchiveReader open(InputStream archive) throws IOException {
+        return SpecArchiveReader.open(archive, auditProperties.getBulkMaxEntrySize().toBytes(), auditProperties.getBulkMaxEntries(),
+                auditProperties.getBulkMaxTotalSize().toBytes());
+    }
+
+    /**
+     * Audits every spec of the archive. Results are sent in completion order, not archive order; the summary
+     * is sent last. If the archive turns out to be corrupt, the specs read so far are still finished and the
+     * summary carries the error.
+     *
+     * @param archive The archive to audit.
+     * @param options The engine selection and check flags applied to every spec.
+     * @param sink    Receives one {@link BulkSpecResult} per spec and then the {@link BulkSummary}.
+     * @return The summary.
+     * @throws IOException          if the sink failed, e.g. because the client disconnected; the audit is abandoned.
+     * @throws InterruptedException if the calling thread was interrupted.
+     */
+    public BulkSummary audit(SpecArchiveReader archive, AuditOptions options, ResultSink sink) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        BulkSummary summary = new BulkSummary();
+        Publisher publisher = new Publisher(summary, sink);
+        Semaphore slots = new Semaphore(Math.max(1, auditProperties.getBulkConcurrency()));
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                archive.forEachSpec(entry -> {
+                    publisher.throwIfFailed();
+                    slots.acquire();
+                    workers.execute(() -> {
+                        try {
+                            publisher.publish(auditEntry(entry, options));
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                });
+            } catch (IOException e) {
+                if (publisher.failure != null) {
+                    throw publisher.failure;
+                }
+                log.warn("Bulk audit stopped reading the archive: {}", e.getMessage());
+                summary.setError("The archive could not be read to the end: " + e.getMessage());
+            }
+        }
+        publisher.throwIfFailed();
+        summary.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        sink.send(summary);
+        return summary;
+    }
+
+    private BulkSpecResult auditEntry(SpecArchiveReader.SpecEntry entry, AuditOptions options) {
+        if (entry.error() != null) {
+            return BulkSpecResult.failed(entry.name(), entry.error());
+        }
+        try {
+            return BulkSpecResult.of(entry.name(), oasAuditService.parseAndValidate(entry.content(), options));
+        } catch (OasParseException e) {
+            return BulkSpecResult.failed(entry.name(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Bulk audit of {} failed", entry.name(), e);
+            return BulkSpecResult.failed(entry.name(), "An unexpected error occurred: " + e.getMessage());
+        } catch (Error e) {
+            // E.g. a StackOverflowError on a pathological spec: the entry fails, the rest of the archive is still audited.
+            log.error("Bulk audit of {} failed", entry.name(), e);
+            return BulkSpecResult.failed(entry.name(), "The spec could not be audited.");
+        }
+    }
+
+    /**
+     * Receives the lines of a bulk audit. Calls are serialized by the caller.
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+        void send(Object line) throws IOException;
+    }
+
+    /**
+     * Serializes the workers' writes to the sink and remembers the first sink failure, after which
+     * results are dropped and no further entries are read.
+     */
+    private static final class Publisher {
+        private final BulkSummary summary;
+        private final ResultSink sink;
+        private volatile IOException failure;
+
+        Publisher(BulkSummary summary, ResultSink sink) {
+            this.summary = summary;
+            this.sink = sink;
+        }
+
+        synchronized void publish(BulkSpecResult result) {
+            if (failure != null) {
+                return;
+            }
+            summary.add(result);
+            try {
+                sink.send(result);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        void throwIfFailed() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
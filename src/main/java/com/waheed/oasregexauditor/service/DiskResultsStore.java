@@ -0,0 +1,292 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The on-disk tier of the shared results, behind the in-memory {@code analysisResults} cache. Each report is
+ * written as one file in the compact {@link ResultsCodec} encoding and read back through a memory-mapped
+ * buffer, so a permalink keeps working across restarts without its results occupying the heap until it is
+ * opened. Reports are stored under their content key, and each share ID as a small link file naming the key,
+ * so identical audits shared many times are stored once. Files are evicted oldest first once the store exceeds
+ * its size budget or their retention period.
+ * <p>
+ * The index of stored files is rebuilt from the directory on start-up. If the directory cannot be created,
+ * the store disables itself and permalinks only live as long as the in-memory cache.
+ */
+@Service
+public class DiskResultsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskResultsStore.class);
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final String SUFFIX = ".bin";
+    private static final String LINK_SUFFIX = ".link";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long retentionMillis;
+    private final boolean enabled;
+
+    // By file name, ordered by write time, oldest first, so that eviction always removes the head.
+    private final LinkedHashMap<String, StoredFile> index = new LinkedHashMap<>();
+    private long totalBytes;
+
+    @Autowired
+    public DiskResultsStore(AuditProperties auditProperties) {
+        this.directory = Path.of(auditProperties.getResultsStoreDirectory());
+        this.maxBytes = auditProperties.getResultsStoreMaxSize().toBytes();
+        this.retentionMillis = auditProperties.getResultsStoreRetention().toMillis();
+        this.enabled = auditProperties.isResultsStoreEnabled() && loadIndex();
+    }
+
+    /**
+     * Writes a report, replacing any report stored under the same key. Failures are logged rather than thrown,
+     * since the report is still served from memory.
+     *
+     * @param key    The content key of the report, or the share ID of a report without one.
+     * @param report The report to store.
+     */
+    public void put(String key, AuditReport report) {
+        if (!enabled || !VALID_ID.matcher(key).matches()) {
+            return;
+        }
+        try {
+            write(key + SUFFIX, ResultsCodec.encode(report), null);
+        } catch (IOException e) {
+            log.warn("Could not store results {} on disk: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Records that a share ID shows the report stored under a key. Failures are logged rather than thrown.
+     *
+     * @param id  The share ID.
+     * @param key The key the report is stored under.
+     */
+    public void putLink(String id, String key) {
+        if (!enabled || !VALID_ID.matcher(id).matches() || !VALID_ID.matcher(key).matches()) {
+            return;
+        }
+        try {
+            write(id + LINK_SUFFIX, key.getBytes(StandardCharsets.US_ASCII), key);
+        } catch (IOException e) {
+            log.warn("Could not store the link {} on disk: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the key a share ID was linked to by {@link #putLink}.
+     *
+     * @param id The share ID.
+     * @return The key, or an empty Optional if the ID was never linked or the link has been evicted.
+     */
+    public Optional<String> getLink(String id) {
+        if (!enabled || !VALID_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+        synchronized (index) {
+            StoredFile stored = current(id + LINK_SUFFIX);
+            return stored == null ? Optional.empty() : Optional.of(stored.target());
+        }
+    }
+
+    /**
+     * Reads a stored report.
+     *
+     * @param key The key the report was stored under.
+     * @return The report, or an empty Optional if it was never stored, has been evicted or cannot be read.
+     */
+    public Optional<AuditReport> get(String key) {
+        if (!enabled || !VALID_ID.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        String name = key + SUFFIX;
+        synchronized (index) {
+            if (current(name) == null) {
+                return Optional.empty();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file(name), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Optional.of(ResultsCodec.decode(buffer));
+        } catch (NoSuchFileException e) {
+            // Evicted between the index lookup and the read.
+            return Optional.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Discarding unreadable results {}: {}", key, e.getMessage());
+            synchronized (index) {
+                remove(name);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the number of stored reports and their total size, for sizing the store.
+     *
+     * @return A map of counter name to value.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (index) {
+            long links = index.values().stream().filter(stored -> stored.target() != null).count();
+            result.put("enabled", enabled);
+            result.put("count", index.size() - links);
+            result.put("links", links);
+            result.put("totalBytes", totalBytes);
+            result.put("maxBytes", maxBytes);
+        }
+        return result;
+    }
+
+    private boolean loadIndex() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.toList();
+            }
+            List<Path> records = files.stream()
+                    .filter(p -> p.getFileName().toString().endsWith(SUFFIX) || p.getFileName().toString().endsWith(LINK_SUFFIX))
+                    .sorted(Comparator.comparingLong(DiskResultsStore::lastModified))
+                    .toList();
+            synchronized (index) {
+                for (Path p : records) {
+                    String name = p.getFileName().toString();
+                    String target = name.endsWith(LINK_SUFFIX) ? Files.readString(p, StandardCharsets.US_ASCII).trim() : null;
+                    if (target != null && !VALID_ID.matcher(target).matches()) {
+                        Files.deleteIfExists(p);
+                        continue;
+                    }
+                    long size = Files.size(p);
+                    index.put(name, new StoredFile(size, lastModified(p), target));
+                    totalBytes += size;
+                }
+                evict();
+            }
+            // Left behind by writes that were interrupted by a crash.
+            for (Path p : files) {
+                if (p.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(p);
+                }
+            }
+            log.info("Results store at {} holds {} files ({} bytes).", directory.toAbsolutePath(), index.size(), totalBytes);
+            return true;
+        } catch (IOException e) {
+            log.warn("Results store at {} is unavailable, shared results will not survive a restart: {}",
+                    directory.toAbsolutePath(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes a file atomically and indexes it, replacing any file of the same name.
+     *
+     * @param target The key a link file names, or null for a report.
+     */
+    private void write(String name, byte[] record, String target) throws IOException {
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        Files.write(temp, record);
+        // Readers see either the previous file or the complete new one, never a partial write.
+        Files.move(temp, file(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (index) {
+            StoredFile previous = index.remove(name);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            index.put(name, new StoredFile(record.length, System.currentTimeMillis(), target));
+            totalBytes += record.length;
+            evict();
+        }
+    }
+
+    /**
+     * Returns the indexed file of a name, or null if there is none or it is past retention, in which case it is
+     * removed. Called with the index locked.
+     */
+    private StoredFile current(String name) {
+        StoredFile stored = index.get(name);
+        if (stored != null && isExpired(stored, System.currentTimeMillis())) {
+            remove(name);
+            return null;
+        }
+        return stored;
+    }
+
+    /**
+     * Removes the oldest files while the store is over budget or they are past retention. Called with the index locked.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, StoredFile>> oldestFirst = index.entrySet().iterator();
+        while (oldestFirst.hasNext()) {
+            Map.Entry<String, StoredFile> oldest = oldestFirst.next();
+            if (totalBytes <= maxBytes && !isExpired(oldest.getValue(), now)) {
+                return;
+            }
+            oldestFirst.remove();
+            totalBytes -= oldest.getValue().size();
+            delete(oldest.getKey());
+        }
+    }
+
+    private void remove(String name) {
+        StoredFile stored = index.remove(name);
+        if (stored != null) {
+            totalBytes -= stored.size();
+            delete(name);
+        }
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(file(name));
+        } catch (IOException e) {
+            log.warn("Could not delete results {}: {}", name, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(StoredFile stored, long now) {
+        return now - stored.writtenAt() > retentionMillis;
+    }
+
+    private Path file(String name) {
+        return directory.resolve(name);
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param target The key a link file names, or null for a report.
+     */
+    private record StoredFile(long size, long writtenAt, String target) {}
+}
@@ -0,0 +1,255 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.ResultsPage;
+import com.waheed.oasregexauditor.model.ResultsQuery;
+import com.waheed.oasregexauditor.model.Statistics;
+import com.waheed.oasregexauditor.model.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * A shared audit report together with its statistics and an index of its result groups, both built once when
+ * the report is stored or read back from the {@link DiskResultsStore}, so that viewing a page of a large audit
+ * costs the page rather than the audit.
+ * <p>
+ * Groups are identified by their position in the report. For each severity, engine and warning type the index
+ * holds the set of groups having it; groups are also pre-sorted by location, which turns a location prefix
+ * into a range, and by line number and severity for the other sort orders.
+ */
+public final class IndexedReport {
+
+    private static final BitSet NONE = new BitSet();
+
+    private final AuditReport report;
+    private final Statistics statistics;
+    private final Map<ValidationResult.IssueType, BitSet> bySeverity = new EnumMap<>(ValidationResult.IssueType.class);
+    private final Map<String, BitSet> byEngine = new HashMap<>();
+    private final Map<String, BitSet> byWarningType = new HashMap<>();
+    private final int[] locationOrder;
+    private final int[] lineOrder;
+    private final int[] severityOrder;
+    private final long estimatedBytes;
+
+    private IndexedReport(AuditReport report) {
+        this.report = report;
+        this.statistics = Statistics.fromReport(report);
+        List<GroupedValidationResult> groups = report.getResults();
+        ValidationResult.IssueType[] severities = new ValidationResult.IssueType[groups.size()];
+        for (ValidationResult.IssueType type : ValidationResult.IssueType.values()) {
+            bySeverity.put(type, new BitSet(groups.size()));
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            ValidationResult.IssueType severity = ValidationResult.IssueType.VALID;
+            for (ValidationResult r : groups.get(i).getResults()) {
+                byEngine.computeIfAbsent(key(r.getEngine()), k -> new BitSet()).set(i);
+                if (r.getIssueType() == ValidationResult.IssueType.ERROR) {
+                    severity = ValidationResult.IssueType.ERROR;
+                } else if (r.getIssueType() == ValidationResult.IssueType.WARNING) {
+                    byWarningType.computeIfAbsent(key(r.getMessage()), k -> new BitSet()).set(i);
+                    if (severity != ValidationResult.IssueType.ERROR) {
+                        severity = ValidationResult.IssueType.WARNING;
+                    }
+                }
+            }
+            severities[i] = severity;
+            bySeverity.get(severity).set(i);
+        }
+        this.locationOrder = order(groups.size(), Comparator.comparing(i -> groups.get(i).getLocation()));
+        this.lineOrder = order(groups.size(), Comparator.comparingInt(i -> groups.get(i).getLineNumber()));
+        // Errors first: ERROR has the highest ordinal.
+        this.severityOrder = order(groups.size(), Comparator.comparingInt(i -> -severities[i].ordinal()));
+        long bitSets = (long) (bySeverity.size() + byEngine.size() + byWarningType.size()) * (groups.size() / 8 + 32);
+        this.estimatedBytes = ReportCompactor.estimateBytes(report) + bitSets + 3L * 4 * groups.size();
+    }
+
+    /**
+     * Indexes a report.
+     *
+     * @param report The report, which is not copied and must not be modified afterwards.
+     * @return The indexed report.
+     */
+    public static IndexedReport of(AuditReport report) {
+        return new IndexedReport(report);
+    }
+
+    public AuditReport report() {
+        return report;
+    }
+
+    /**
+     * Returns the statistics of the report, computed when it was indexed.
+     */
+    public Statistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * Estimates the heap retained by the report and its index, for the byte-weighted {@code analysisResults} cache.
+     */
+    public long estimateBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Looks up a page of result groups. Without filters, in report order, this only touches the page; the
+     * severity, engine and warning type filters cost one pass over a bit set per filter value, a location prefix
+     * two binary searches plus one step per matching group, and only the text filter visits the groups it tests.
+     *
+     * @param query The filters, order and page.
+     * @return The page, with the total number of matching groups.
+     */
+    public ResultsPage query(ResultsQuery query) {
+        List<GroupedValidationResult> groups = report.getResults();
+        long from = (long) query.page() * query.size();
+        BitSet matches = filter(query);
+        if (matches == null && query.sort() == ResultsQuery.Sort.REPORT) {
+            List<GroupedValidationResult> page = from >= groups.size()
+                    ? List.of()
+                    : groups.subList((int) from, (int) Math.min(groups.size(), from + query.size()));
+            return new ResultsPage(query.page(), query.size(), groups.size(), List.copyOf(page));
+        }
+        List<GroupedValidationResult> page = new ArrayList<>(query.size());
+        long skipped = 0;
+        if (query.sort() == ResultsQuery.Sort.REPORT) {
+            for (int i = matches.nextSetBit(0); i >= 0 && page.size() < query.size(); i = matches.nextSetBit(i + 1)) {
+                if (skipped++ >= from) {
+                    page.add(groups.get(i));
+                }
+            }
+        } else {
+            for (int i : switch (query.sort()) {
+                case LINE -> lineOrder;
+                case LOCATION -> locationOrder;
+                default -> severityOrder;
+            }) {
+                if (page.size() == query.size()) {
+                    break;
+                }
+                if ((matches == null || matches.get(i)) && skipped++ >= from) {
+                    page.add(groups.get(i));
+                }
+            }
+        }
+        return new ResultsPage(query.page(), query.size(), matches == null ? groups.size() : matches.cardinality(), page);
+    }
+
+    /**
+     * Returns the groups matching the filters of a query, or null if it has none.
+     */
+    private BitSet filter(ResultsQuery query) {
+        BitSet matches = null;
+        if (query.severities() != null) {
+            BitSet any = new BitSet();
+            query.severities().forEach(severity -> any.or(bySeverity.get(severity)));
+            matches = any;
+        }
+        if (query.engine() != null) {
+            matches = and(matches, byEngine.getOrDefault(key(query.engine()), NONE));
+        }
+        if (query.warningType() != null) {
+            matches = and(matches, byWarningType.getOrDefault(key(query.warningType()), NONE));
+        }
+        if (query.locationPrefix() != null) {
+            matches = and(matches, locationRange(query.locationPrefix()));
+        }
+        if (query.text() != null) {
+            BitSet text = new BitSet();
+            List<GroupedValidationResult> groups = report.getResults();
+            if (matches == null) {
+                for (int i = 0; i < groups.size(); i++) {
+                    text.set(i, containsText(groups.get(i), query.text()));
+                }
+            } else {
+                for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                    text.set(i, containsText(groups.get(i), query.text()));
+                }
+            }
+            matches = text;
+        }
+        return matches;
+    }
+
+    /**
+     * Groups whose location starts with the prefix. They are contiguous in location order, so the range is
+     * bounded by a binary search for its first member and one for the first location past it.
+     */
+    private BitSet locationRange(String prefix) {
+        List<GroupedValidationResult> groups = report.getResults();
+        int lo = 0;
+        int hi = locationOrder.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (groups.get(locationOrder[mid]).getLocation().compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int start = lo;
+        hi = locationOrder.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (groups.get(locationOrder[mid]).getLocation().startsWith(prefix)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        BitSet range = new BitSet(groups.size());
+        for (int i = start; i < lo; i++) {
+            range.set(locationOrder[i]);
+        }
+        return range;
+    }
+
+    private static BitSet and(BitSet matches, BitSet index) {
+        BitSet result = (BitSet) (matches == null ? index : matches).clone();
+        if (matches != null) {
+            result.and(index);
+        }
+        return result;
+    }
+
+    private static boolean containsText(GroupedValidationResult group, String text) {
+        if (containsIgnoreCase(group.getLocation(), text) || containsIgnoreCase(group.getRegexPattern(), text)) {
+            return true;
+        }
+        for (ValidationResult r : group.getResults()) {
+            if (containsIgnoreCase(r.getMessage(), text) || containsIgnoreCase(r.getEngine(), text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(String s, String text) {
+        if (s == null) {
+            return false;
+        }
+        for (int i = 0; i + text.length() <= s.length(); i++) {
+            if (s.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] order(int size, Comparator<Integer> comparator) {
+        // Sorting boxed indexes is stable, so equal keys keep report order.
+        return IntStream.range(0, size).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
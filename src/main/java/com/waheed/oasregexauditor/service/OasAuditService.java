@@ -0,0 +1,288 @@
+package com.waheed.oasregexauditor.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ReauditSummary;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.RuleSet;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Service that turns raw OpenAPI content into audit results.
+ * Audits are memoized by a hash of the content together with the audit options, and concurrent requests
+ * for the same key share a single in-flight computation instead of each parsing and validating the spec.
+ * Reports in which an engine failed or timed out are shared with the requests already waiting for them,
+ * but neither memoized nor reused by a re-audit, so that a momentary overload does not stick.
+ */
+@Service
+public class OasAuditService {
+
+    private final OasValidationService oasValidationService;
+    private final AsyncCache<Object, Object> auditsByContent;
+    private final AuditMetrics auditMetrics;
+    private final RuleRegistry ruleRegistry;
+
+    @Autowired
+    public OasAuditService(OasValidationService oasValidationService, CacheManager cacheManager,
+                           AuditMetrics auditMetrics, RuleRegistry ruleRegistry) {
+        this.oasValidationService = oasValidationService;
+        this.auditMetrics = auditMetrics;
+        this.ruleRegistry = ruleRegistry;
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.AUDITS_BY_CONTENT_CACHE);
+        this.auditsByContent = cache.getAsyncCache();
+    }
+
+    /**
+     * Audits the given content, reusing a finished or in-flight audit of identical content and options.
+     *
+     * @param content The raw OpenAPI document (YAML or JSON).
+     * @param options The engine selection and rules.
+     * @return The audit report. It is shared between identical audits and must not be modified.
+     * @throws OasParseException if the content is not a valid OpenAPI document.
+     */
+    public AuditReport audit(String content, AuditOptions options) {
+        return audit(content, options, AuditProgress.NONE);
+    }
+
+    /**
+     * Same as {@link #audit(String, AuditOptions)}, reporting progress and stopping early once the
+     * listener is cancelled.
+     *
+     * @throws CancellationException if the audit was cancelled through {@code progress}.
+     */
+    public AuditReport audit(String content, AuditOptions options, AuditProgress progress) {
+        AuditKey key = new AuditKey(sha256(content), options);
+        while (true) {
+            CompletableFuture<Object> computation = new CompletableFuture<>();
+            CompletableFuture<Object> inFlight = auditsByContent.asMap().putIfAbsent(key, computation);
+
+            if (inFlight == null) {
+                // This request owns the computation and runs it on its own thread. A failed future is evicted,
+                // so a parse error is not memoized; errors such as a StackOverflowError must fail it too, or
+                // every identical request would wait for it forever.
+                AuditReport report;
+                try {
+                    report = parseAndValidate(content, options, progress, key.digest());
+                    computation.complete(report);
+                } catch (RuntimeException | Error e) {
+                    computation.completeExceptionally(e);
+                    auditsByContent.asMap().remove(key, computation);
+                    throw e;
+                }
+                if (hasEngineFailures(report.getResults())) {
+                    auditsByContent.asMap().remove(key, computation);
+                }
+                return report;
+            }
+            progress.stage("Waiting for an identical audit");
+            try {
+                return (AuditReport) await(inFlight);
+            } catch (CancellationException e) {
+                // The owner of the shared computation was cancelled, not this request: compute it here instead.
+                if (progress.isCancelled() || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                auditsByContent.asMap().remove(key, inFlight);
+            }
+        }
+    }
+
+    /**
+     * Parses the content and validates it without consulting the memo.
+     *
+     * @param content The raw OpenAPI document (YAML or JSON).
+     * @param options The engine selection and rules.
+     * @return The audit report.
+     * @throws OasParseException if the content is not a valid OpenAPI document.
+     */
+    public AuditReport parseAndValidate(String content, AuditOptions options) {
+        return parseAndValidate(content, options, AuditProgress.NONE, null);
+    }
+
+    private AuditReport parseAndValidate(String content, AuditOptions options, AuditProgress progress, String contentKey) {
+        progress.stage("Parsing");
+        RuleSet rules = ruleRegistry.ruleSet(options.rules());
+        OpenAPI openAPI = parse(content);
+        // One walk extracts the patterns and runs the rules on every other node.
+        OasValidationService.Inspection inspection = oasValidationService.inspect(openAPI, content, rules);
+        auditMetrics.recordSpec(content.length(), inspection.patterns().size());
+        List<GroupedValidationResult> results = new ArrayList<>(validatePatterns(inspection.patterns(), options, rules, progress));
+        checkCancelled(progress);
+        results.addAll(inspection.findings());
+        return new AuditReport(results, options, inspection.patterns(), contentKey);
+    }
+
+    /**
+     * Audits a new revision of a previously audited spec, re-validating only the patterns that were added
+     * or changed. Results of untouched patterns are carried forward with their line numbers updated.
+     * Rules on other nodes than patterns, if enabled, are cheap compared to pattern validation and are re-run in full.
+     *
+     * @param previous The report of the previous revision.
+     * @param content  The raw content of the new revision.
+     * @return The new report and a summary of what was reused and recomputed.
+     * @throws OasParseException if the content is not a valid OpenAPI document.
+     */
+    public Reaudit reaudit(AuditReport previous, String content) {
+        AuditOptions options = previous.getOptions();
+        RuleSet rules = ruleRegistry.ruleSet(options.rules());
+        OasValidationService.Inspection inspection = oasValidationService.inspect(parse(content), content, rules);
+        List<PatternLocation> patterns = inspection.patterns();
+
+        Map<String, String> previousRegexByLocation = new HashMap<>();
+        previous.getPatterns().forEach(p -> previousRegexByLocation.put(p.location(), p.regex()));
+        Map<PatternKey, List<GroupedValidationResult>> previousGroups = new HashMap<>();
+        previous.getResults().forEach(g -> previousGroups
+                .computeIfAbsent(new PatternKey(g.getLocation(), g.getRegexPattern()), k -> new ArrayList<>()).add(g));
+
+        List<String> engines = oasValidationService.engineNames(options.engine());
+        List<PatternLocation> changed = new ArrayList<>();
+        Map<PatternKey, Integer> unchangedLines = new LinkedHashMap<>();
+        for (PatternLocation p : patterns) {
+            PatternKey key = new PatternKey(p.location(), p.regex());
+            // Results an engine failed to produce, or that were dropped when only issues were retained, are
+            // recomputed rather than carried forward.
+            List<GroupedValidationResult> previousResults = previousGroups.getOrDefault(key, List.of());
+            if (p.regex().equals(previousRegexByLocation.get(p.location()))
+                    && !hasEngineFailures(previousResults) && hasVerdictsOf(engines, previousResults)) {
+                unchangedLines.put(key, p.lineNumber());
+            } else {
+                changed.add(p);
+            }
+        }
+        Set<String> currentLocations = new HashSet<>();
+        patterns.forEach(p -> currentLocations.add(p.location()));
+        List<String> removed = previous.getPatterns().stream()
+                .map(PatternLocation::location)
+                .filter(location -> !currentLocations.contains(location))
+                .toList();
+
+        List<GroupedValidationResult> results = new ArrayList<>();
+        unchangedLines.forEach((key, lineNumber) ->
+                previousGroups.getOrDefault(key, List.of()).forEach(g -> results.add(withLineNumber(g, lineNumber))));
+        results.addAll(validatePatterns(changed, options, rules, AuditProgress.NONE));
+        results.addAll(inspection.findings());
+
+        AuditKey key = new AuditKey(sha256(content), options);
+        AuditReport report = new AuditReport(results, options, patterns, key.digest());
+        if (!hasEngineFailures(results)) {
+            auditsByContent.put(key, CompletableFuture.completedFuture(report));
+        }
+        ReauditSummary summary = new ReauditSummary(unchangedLines.size(),
+                changed.stream().map(PatternLocation::location).toList(), removed, rules.requiresDocumentModel());
+        return new Reaudit(report, summary);
+    }
+
+    private OpenAPI parse(String content) {
+        ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setResolve(true);
+        SwaggerParseResult parseResult = auditMetrics.timeStage("parse",
+                () -> new OpenAPIV3Parser().readContents(content, null, parseOptions));
+        OpenAPI openAPI = parseResult.getOpenAPI();
+        if (openAPI == null) {
+            throw new OasParseException("Failed to parse OpenAPI file. Errors: " + String.join(", ", parseResult.getMessages()));
+        }
+        return openAPI;
+    }
+
+    private List<GroupedValidationResult> validatePatterns(List<PatternLocation> patterns, AuditOptions options, RuleSet rules,
+                                                          AuditProgress progress) {
+        progress.stage("Validating patterns");
+        return oasValidationService.validatePatterns(patterns, options.engine(), rules, options.confirmRedos(), progress);
+    }
+
+    private static void checkCancelled(AuditProgress progress) {
+        if (progress.isCancelled()) {
+            throw new CancellationException("The audit was cancelled.");
+        }
+    }
+
+    static boolean hasEngineFailures(List<GroupedValidationResult> groups) {
+        return groups.stream().anyMatch(g -> g.getResults().stream().anyMatch(ValidationResult::isEngineFailure));
+    }
+
+    private static boolean hasVerdictsOf(List<String> engines, List<GroupedValidationResult> groups) {
+        Set<String> found = new HashSet<>();
+        groups.forEach(g -> g.getResults().forEach(r -> found.add(r.getEngine())));
+        return found.containsAll(engines);
+    }
+
+    // Copies instead of mutating, since the previous report may still be served from the cache.
+    private static GroupedValidationResult withLineNumber(GroupedValidationResult group, int lineNumber) {
+        if (group.getLineNumber() == lineNumber) {
+            return group;
+        }
+        List<ValidationResult> results = group.getResults().stream()
+                .map(r -> new ValidationResult(r.getLocation(), lineNumber, r.getRegexPattern(), r.getEngine(), r.isValid(),
+                        r.getIssueType(), r.getMessage(), r.getSuggestion(), r.getSuggestedRegex(), r.getEvidence(), r.getFailureKind()))
+                .toList();
+        return new GroupedValidationResult(group.getLocation(), lineNumber, group.getRegexPattern(), results);
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an identical audit to finish.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("The identical audit failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record AuditKey(String contentHash, AuditOptions options) {
+
+        /**
+         * Returns the key as one hex string, used as {@link AuditReport#getContentKey()}. The rules of the options
+         * are sorted, so equal keys have equal digests.
+         */
+        String digest() {
+            return sha256(contentHash + "\n" + options);
+        }
+    }
+
+    private record PatternKey(String location, String regex) {}
+
+    /**
+     * The outcome of {@link #reaudit}.
+     */
+    public record Reaudit(AuditReport report, ReauditSummary summary) {}
+}
@@ -0,0 +1,11 @@
+package com.waheed.oasregexauditor.service;
+
+/**
+ * Thrown when the submitted content cannot be parsed as an OpenAPI document.
+ */
+public class OasParseException extends RuntimeException {
+
+    public OasParseException(String message) {
+        super(message);
+    }
+}
@@ -1,75 +1,270 @@
 package com.waheed.oasregexauditor.service;
 
+import com.waheed.oasregexauditor.config.AuditProperties;
 import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
 import com.waheed.oasregexauditor.model.ValidationResult;
-import com.waheed.oasregexauditor.service.validators.PatternQualityValidator;
+import com.waheed.oasregexauditor.service.redos.RedosProber;
+import com.waheed.oasregexauditor.service.regex.Dialect;
+import com.waheed.oasregexauditor.service.regex.ParsedRegex.FeatureUse;
+import com.waheed.oasregexauditor.service.regex.RegexCompatibility;
+import com.waheed.oasregexauditor.service.regex.RegexFeature.Support;
+import com.waheed.oasregexauditor.service.rules.AuditRule;
+import com.waheed.oasregexauditor.service.rules.NodeKind;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import com.waheed.oasregexauditor.service.rules.RuleSet;
 import com.waheed.oasregexauditor.service.validators.RegexValidator;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.function.Consumer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OasValidationService {
 
+    private static final Logger log = LoggerFactory.getLogger(OasValidationService.class);
+    private static final String ALL_ENGINES = "all";
+
+    // Patterns are split into roughly this many batches per worker so that slow batches can be balanced by work stealing.
+    private static final int BATCHES_PER_WORKER = 4;
+    private static final int MIN_BATCH_SIZE = 32;
+    // Engines compile this many patterns between checks for cancellation, so an abandoned engine stops promptly.
+    private static final int ENGINE_CHUNK_SIZE = 16;
+
     private final List<RegexValidator> validators;
-    private final PatternQualityValidator qualityValidator;
+    private final RegexVerdictCache verdictCache;
+    private final ForkJoinPool auditForkJoinPool;
+    private final AuditProperties auditProperties;
+    private final RedosProber redosProber;
+    private final AuditMetrics auditMetrics;
 
     @Autowired
-    public OasValidationService(List<RegexValidator> validators, PatternQualityValidator qualityValidator) {
+    public OasValidationService(List<RegexValidator> validators, RegexVerdictCache verdictCache, ForkJoinPool auditForkJoinPool,
+                                AuditProperties auditProperties, RedosProber redosProber, AuditMetrics auditMetrics) {
         this.validators = validators;
-        this.qualityValidator = qualityValidator;
-    }
-
-    public List<GroupedValidationResult> validateOas(OpenAPI openAPI, String oasContent, String engine,
-                                                     boolean qualityCheckPermissive, boolean qualityCheckAnchors, boolean qualityCheckRedos,
-                                                     boolean checkNaming, boolean checkOperationId, boolean checkSummary,
-                                                     boolean checkSchemaDescription, boolean checkSchemaExample) {
-        List<ValidationResult> flatResults = new ArrayList<>();
-        Optional<RegexValidator> activeValidator = getActiveValidator(engine);
-
-        // 1. Validate Regex patterns
-        Consumer<PatternLocation> patternProcessor = loc -> {
-            int lineNumber = findLineNumber(oasContent, loc.pattern());
-            activeValidator.ifPresent(validator -> flatResults.add(validator.validate(loc.path(), lineNumber, loc.pattern())));
-            flatResults.addAll(qualityValidator.validateRegex(loc.path(), lineNumber, loc.pattern(), qualityCheckPermissive, qualityCheckAnchors, qualityCheckRedos));
-        };
-        scanForPatterns(openAPI, patternProcessor);
-
-        // 2. Validate Best Practices
-        if (openAPI.getPaths() != null) {
-            openAPI.getPaths().forEach((path, pathItem) -> {
-                String pathLocation = "#/paths/" + escapePath(path);
-                flatResults.addAll(qualityValidator.validatePath(pathLocation, path, checkNaming));
-                if (pathItem.readOperations() != null) {
-                    pathItem.readOperations().forEach(operation -> {
-                        String opLocation = pathLocation + "/" + pathItem.readOperationsMap().entrySet().stream()
-                                .filter(e -> e.getValue().equals(operation)).findFirst().get().getKey();
-                        flatResults.addAll(qualityValidator.validateOperation(opLocation, operation, checkOperationId, checkSummary));
-                    });
+        this.verdictCache = verdictCache;
+        this.auditForkJoinPool = auditForkJoinPool;
+        this.auditProperties = auditProperties;
+        this.redosProber = redosProber;
+        this.auditMetrics = auditMetrics;
+    }
+
+    /**
+     * Audits a parsed document: its patterns with the engines and pattern rules, its other nodes with the other rules.
+     *
+     * @param openAPI    The parsed document.
+     * @param oasContent The raw content the document was parsed from.
+     * @param engine     The engine selection: {@code all}, or a comma-separated list of engine name prefixes (e.g. {@code java,go}).
+     * @param rules      The rules to run.
+     * @return The grouped validation results: the patterns, then the findings on other nodes.
+     */
+    public List<GroupedValidationResult> validateOas(OpenAPI openAPI, String oasContent, String engine, RuleSet rules) {
+        Inspection inspection = inspect(openAPI, oasContent, rules);
+        List<GroupedValidationResult> results = new ArrayList<>(validatePatterns(inspection.patterns(), engine, rules, false));
+        results.addAll(inspection.findings());
+        return results;
+    }
+
+    /**
+     * Extracts the patterns of a parsed document, with line numbers resolved against its raw content.
+     *
+     * @param openAPI    The parsed document.
+     * @param oasContent The raw content the document was parsed from.
+     * @return The patterns in traversal order.
+     */
+    public List<PatternLocation> scanPatterns(OpenAPI openAPI, String oasContent) {
+        return inspect(openAPI, oasContent, RuleSet.NONE).patterns();
+    }
+
+    /**
+     * Walks a parsed document once, extracting its patterns and running the rules on its paths, operations,
+     * parameters and component schemas. Only the rules declaring a node kind are called for nodes of that kind,
+     * so enabling more rules adds their own cost but no further walks. Pattern rules are not run here but by
+     * {@link #validatePatterns}, once per distinct regex.
+     *
+     * @param openAPI    The parsed document.
+     * @param oasContent The raw content the document was parsed from.
+     * @param rules      The rules to run.
+     * @return The patterns in traversal order, with line numbers resolved against the raw content, and the grouped
+     *         findings on paths, operations and parameters under {@code paths}, followed by those under {@code components}.
+     */
+    public Inspection inspect(OpenAPI openAPI, String oasContent, RuleSet rules) {
+        return auditMetrics.timeStage("scan", () -> {
+            SourcePositionIndex positions = SourcePositionIndex.build(oasContent);
+            List<PatternLocation> patterns = new ArrayList<>();
+            List<ValidationResult> pathFindings = new ArrayList<>();
+            List<ValidationResult> componentFindings = new ArrayList<>();
+            List<AuditRule> pathRules = rules.rules(NodeKind.PATH);
+            List<AuditRule> operationRules = rules.rules(NodeKind.OPERATION);
+            List<AuditRule> parameterRules = rules.rules(NodeKind.PARAMETER);
+            List<AuditRule> schemaRules = rules.rules(NodeKind.SCHEMA);
+            OpenApiTraversal.traverse(openAPI, new OpenApiTraversal.Visitor() {
+                @Override
+                public void path(String location, String path, PathItem pathItem) {
+                    for (AuditRule rule : pathRules) {
+                        rule.checkPath(location, path, pathItem, pathFindings);
+                    }
+                }
+
+                @Override
+                public void operation(String location, PathItem.HttpMethod method, Operation operation) {
+                    for (AuditRule rule : operationRules) {
+                        rule.checkOperation(location, method, operation, pathFindings);
+                    }
+                }
+
+                @Override
+                public void parameter(String location, Parameter parameter) {
+                    List<ValidationResult> findings = location.startsWith("#/components/") ? componentFindings : pathFindings;
+                    for (AuditRule rule : parameterRules) {
+                        rule.checkParameter(location, parameter, findings);
+                    }
+                }
+
+                @Override
+                public void componentSchema(String location, String name, Schema<?> schema) {
+                    for (AuditRule rule : schemaRules) {
+                        rule.checkSchema(location, name, schema, componentFindings);
+                    }
+                }
+
+                @Override
+                public void pattern(String location, String sourcePointer, String regex) {
+                    patterns.add(new PatternLocation(location, positions.lineOf(sourcePointer, regex), regex));
                 }
             });
-        }
-        if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
-            openAPI.getComponents().getSchemas().forEach((schemaName, schema) -> {
-                String schemaLocation = "#/components/schemas/" + schemaName;
-                flatResults.addAll(qualityValidator.validateSchema(schemaLocation, schema, checkSchemaDescription, checkSchemaExample));
+            // Findings under paths are listed ahead of the components.
+            pathFindings.addAll(componentFindings);
+            return new Inspection(patterns, pathFindings.isEmpty() ? List.of() : group(pathFindings));
+        });
+    }
+
+    /**
+     * Validates patterns already extracted from a document, e.g. the ones of a re-audit that changed.
+     * Only the engines and pattern rules apply, since the other rules need the parsed document.
+     *
+     * @param patterns The patterns to validate, with their line numbers already resolved.
+     * @param engine   The engine selection, as accepted by {@link #validateOas}.
+     * @param rules    The rules to run; only those inspecting patterns are called.
+     * @param confirmRedos Whether warnings of the {@code redos} rule are confirmed by timing attack strings, see {@link RedosProber}.
+     * @return The grouped validation results.
+     */
+    public List<GroupedValidationResult> validatePatterns(List<PatternLocation> patterns, String engine, RuleSet rules, boolean confirmRedos) {
+        return validatePatterns(patterns, engine, rules, confirmRedos, AuditProgress.NONE);
+    }
+
+    /**
+     * Same as {@link #validatePatterns(List, String, RuleSet, boolean)}, reporting progress
+     * per batch of patterns. Once {@code progress} is cancelled, remaining batches are skipped and the
+     * returned results are incomplete; the caller is expected to discard them.
+     */
+    public List<GroupedValidationResult> validatePatterns(List<PatternLocation> patterns, String engine, RuleSet rules,
+                                                          boolean confirmRedos, AuditProgress progress) {
+        List<ValidationResult> results = validateRegexes(patterns, engine, rules.rules(NodeKind.PATTERN), progress);
+        if (rules.ids().contains(RedosRule.ID) && confirmRedos && !progress.isCancelled()) {
+            progress.stage("Measuring ReDoS timings");
+            auditMetrics.timeStage("redos-timing", () -> {
+                redosProber.confirm(results);
+                return null;
             });
         }
+        return group(results);
+    }
+
+    private List<ValidationResult> validateRegexes(List<PatternLocation> patterns, String engine, List<AuditRule> patternRules,
+                                                   AuditProgress progress) {
+        return auditMetrics.timeStage("validate", () -> {
+            // A regex shared by many schemas (e.g. an inlined $ref) is validated once and its verdicts fanned out.
+            List<PatternLocation> unique = uniqueRegexes(patterns);
+            List<ValidationResult> results = runEngines(unique, engine, patternRules, progress);
+            return unique.size() == patterns.size() ? results : fanOut(patterns, results);
+        });
+    }
+
+    /**
+     * The first occurrence of every distinct regex, in document order.
+     */
+    private static List<PatternLocation> uniqueRegexes(List<PatternLocation> patterns) {
+        Map<String, PatternLocation> firstByRegex = new LinkedHashMap<>();
+        for (PatternLocation p : patterns) {
+            firstByRegex.putIfAbsent(p.regex(), p);
+        }
+        return new ArrayList<>(firstByRegex.values());
+    }
+
+    /**
+     * Copies the results of each distinct regex to every occurrence, with the location and line of the occurrence.
+     * Results are ordered by occurrence, and per occurrence in the order they were produced.
+     */
+    private static List<ValidationResult> fanOut(List<PatternLocation> patterns, List<ValidationResult> uniqueResults) {
+        Map<String, List<ValidationResult>> resultsByRegex = new HashMap<>();
+        for (ValidationResult r : uniqueResults) {
+            resultsByRegex.computeIfAbsent(r.getRegexPattern(), k -> new ArrayList<>()).add(r);
+        }
+        List<ValidationResult> results = new ArrayList<>();
+        for (PatternLocation p : patterns) {
+            for (ValidationResult r : resultsByRegex.getOrDefault(p.regex(), List.of())) {
+                boolean sameOccurrence = r.getLocation().equals(p.location()) && r.getLineNumber() == p.lineNumber();
+                results.add(sameOccurrence ? r : new ValidationResult(p.location(), p.lineNumber(), r.getRegexPattern(), r.getEngine(),
+                        r.isValid(), r.getIssueType(), r.getMessage(), r.getSuggestion(), r.getSuggestedRegex(), r.getEvidence(),
+                        r.getFailureKind()));
+            }
+        }
+        return results;
+    }
+
+    private List<ValidationResult> runEngines(List<PatternLocation> patterns, String engine, List<AuditRule> patternRules,
+                                              AuditProgress progress) {
+        List<RegexValidator> activeValidators = getActiveValidators(engine);
+        // Each regex is analyzed for all dialects at once, by whichever engine run reaches it first.
+        Map<String, RegexCompatibility> compatibility = new ConcurrentHashMap<>();
+        if (activeValidators.size() > 1) {
+            // One pass per engine plus one for the pattern rules.
+            progress.total(patterns.size() * (activeValidators.size() + 1));
+            return validatePatternsWithEngines(patterns, activeValidators, patternRules, compatibility, progress);
+        }
+        progress.total(patterns.size());
+        RegexValidator validator = activeValidators.isEmpty() ? null : activeValidators.get(0);
+        return runOnPool(patterns, validator, patternRules, compatibility, progress, progress::isCancelled);
+    }
+
+    private List<GroupedValidationResult> group(List<ValidationResult> flatResults) {
+        return auditMetrics.timeStage("group", () -> groupByLocationAndPattern(flatResults));
+    }
 
+    private List<GroupedValidationResult> groupByLocationAndPattern(List<ValidationResult> flatResults) {
         // Group results by location and then by the specific regex pattern
         Map<String, Map<String, List<ValidationResult>>> groupedByLocationAndPattern = flatResults.stream()
                 .collect(Collectors.groupingBy(
                         ValidationResult::getLocation,
-                        Collectors.groupingBy(res -> res.getRegexPattern() != null ? res.getRegexPattern() : "N/A")
+                        LinkedHashMap::new,
+                        Collectors.groupingBy(res -> res.getRegexPattern() != null ? res.getRegexPattern() : "N/A", LinkedHashMap::new, Collectors.toList())
                 ));
 
         List<GroupedValidationResult> finalResults = new ArrayList<>();
@@ -90,73 +285,269 @@ public class OasValidationService {
         return finalResults;
     }
 
-    private void scanForPatterns(OpenAPI openAPI, Consumer<PatternLocation> processor) {
-        if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
-            openAPI.getComponents().getSchemas().forEach((schemaName, schema) ->
-                    scanSchemaForPatterns(schema, "#/components/schemas/" + schemaName, processor)
-            );
-        }
-
-        if (openAPI.getPaths() != null) {
-            openAPI.getPaths().forEach((path, pathItem) -> {
-                if (pathItem.readOperations() != null) {
-                    pathItem.readOperations().forEach(operation -> {
-                        if (operation.getParameters() != null) {
-                            for (int i = 0; i < operation.getParameters().size(); i++) {
-                                Parameter param = operation.getParameters().get(i);
-                                if (param.getSchema() != null && param.getSchema().getPattern() != null) {
-                                    String location = String.format("#/paths/%s/%s/parameters/%d",
-                                            escapePath(path),
-                                            pathItem.readOperationsMap().entrySet().stream().filter(e -> e.getValue().equals(operation)).findFirst().get().getKey(),
-                                            i);
-                                    processor.accept(new PatternLocation(location, param.getSchema().getPattern()));
-                                }
-                            }
-                        }
-                    });
-                }
-            });
+    /**
+     * Validates the patterns on the audit fork-join pool with at most one engine plus the given pattern rules.
+     */
+    private List<ValidationResult> runOnPool(List<PatternLocation> patterns, RegexValidator validator, List<AuditRule> patternRules,
+                                             Map<String, RegexCompatibility> compatibility, AuditProgress progress, BooleanSupplier cancelled) {
+        int leafSize = Math.max(MIN_BATCH_SIZE, patterns.size() / (auditForkJoinPool.getParallelism() * BATCHES_PER_WORKER));
+        return auditForkJoinPool.invoke(new PatternBatchTask(patterns, leafSize, validator, patternRules, compatibility, progress, cancelled));
+    }
+
+    /**
+     * Validates a batch of patterns for one engine. The verdict is decided statically from the engine's dialect where
+     * possible; only the patterns it leaves undecided are compiled by the engine, unless
+     * {@link AuditProperties#isConfirmWithEngines()} has every pattern compiled. An engine accepting a construct it
+     * reads differently than other dialects gets a warning either way. Once {@code cancelled} holds, the remaining
+     * patterns are skipped and the batch yields no results, which the caller discards anyway.
+     */
+    private List<ValidationResult> validateWithEngine(RegexValidator validator, List<PatternLocation> patterns,
+                                                      Map<String, RegexCompatibility> compatibility, BooleanSupplier cancelled) {
+        String engineName = validator.getEngineName();
+        Dialect dialect = validator.getDialect();
+        boolean confirm = auditProperties.isConfirmWithEngines();
+        RegexCompatibility.Verdict[] verdicts = new RegexCompatibility.Verdict[patterns.size()];
+        List<PatternLocation> undecided = new ArrayList<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            verdicts[i] = compatibility.computeIfAbsent(patterns.get(i).regex(), RegexCompatibility::analyze).verdict(dialect);
+            if (confirm || !verdicts[i].isDecided()) {
+                undecided.add(patterns.get(i));
+            }
+        }
+        auditMetrics.recordVerdicts(engineName, patterns.size() - undecided.size(), undecided.size());
+
+        List<ValidationResult> engineResults = new ArrayList<>(undecided.size());
+        for (int from = 0; from < undecided.size(); from += ENGINE_CHUNK_SIZE) {
+            if (cancelled.getAsBoolean()) {
+                return List.of();
+            }
+            engineResults.addAll(verdictCache.validateAll(validator, undecided.subList(from, Math.min(from + ENGINE_CHUNK_SIZE, undecided.size()))));
         }
+        List<ValidationResult> results = new ArrayList<>(patterns.size());
+        int next = 0;
+        for (int i = 0; i < patterns.size(); i++) {
+            PatternLocation p = patterns.get(i);
+            RegexCompatibility.Verdict verdict = verdicts[i];
+            if (confirm || !verdict.isDecided()) {
+                ValidationResult engineResult = engineResults.get(next++);
+                boolean differs = engineResult.isValid() && verdict.support() == Support.DIFFERENT;
+                results.add(differs ? staticResult(p, engineName, dialect, verdict, compatibility.get(p.regex())) : engineResult);
+            } else {
+                results.add(staticResult(p, engineName, dialect, verdict, compatibility.get(p.regex())));
+            }
+        }
+        return results;
     }
 
-    private void scanSchemaForPatterns(Schema<?> schema, String currentLocation, Consumer<PatternLocation> processor) {
-        if (schema == null) return;
-        if (schema.getPattern() != null) {
-            processor.accept(new PatternLocation(currentLocation, schema.getPattern()));
+    private static ValidationResult staticResult(PatternLocation p, String engineName, Dialect dialect,
+                                                 RegexCompatibility.Verdict verdict, RegexCompatibility compatibility) {
+        FeatureUse construct = verdict.construct();
+        if (verdict.support() == Support.SUPPORTED) {
+            return ValidationResult.success(p.location(), p.lineNumber(), p.regex(), engineName);
+        }
+        String text = p.regex().substring(construct.start(), construct.end());
+        String supporters = Stream.of(Dialect.values())
+                .filter(d -> d != dialect && compatibility.verdict(d).support() == Support.SUPPORTED)
+                .map(Dialect::displayName)
+                .collect(Collectors.joining(", "));
+        if (verdict.support() == Support.DIFFERENT) {
+            String message = String.format("The %s engine accepts the %s '%s' at index %d but reads it differently%s, "
+                            + "so the pattern matches other strings there.", engineName, construct.feature().description(), text,
+                    construct.start(), supporters.isEmpty() ? "" : " than " + supporters);
+            return ValidationResult.warning(p.location(), p.lineNumber(), p.regex(), engineName, "Different Meaning", message, null);
         }
-        if (schema.getProperties() != null) {
-            schema.getProperties().forEach((propName, propSchema) ->
-                    scanSchemaForPatterns(propSchema, currentLocation + "/properties/" + propName, processor)
-            );
+        String message = String.format("Invalid %s regex: the %s '%s' at index %d is not supported", engineName,
+                construct.feature().description(), text, construct.start());
+        String suggestion = supporters.isEmpty() ? "No other audited dialect supports the pattern as written."
+                : "The pattern is supported by " + supporters + ".";
+        return ValidationResult.error(p.location(), p.lineNumber(), p.regex(), engineName, message, suggestion, verdict.suggestedRegex());
+    }
+
+    /**
+     * Runs the pattern rules on a batch of patterns, timing each rule per pattern.
+     */
+    private List<ValidationResult> checkPatterns(List<PatternLocation> patterns, List<AuditRule> patternRules) {
+        List<ValidationResult> results = new ArrayList<>();
+        if (patternRules.isEmpty()) {
+            return results;
         }
-        if (schema.getItems() != null) {
-            scanSchemaForPatterns(schema.getItems(), currentLocation + "/items", processor);
+        for (PatternLocation p : patterns) {
+            for (AuditRule rule : patternRules) {
+                long start = System.nanoTime();
+                rule.checkPattern(p, results);
+                auditMetrics.recordQualityCheck(rule.id(), System.nanoTime() - start);
+            }
         }
+        return results;
     }
 
-    private int findLineNumber(String content, String pattern) {
-        String[] lines = content.split("\r\n|\n");
-        // Create more robust search strings, ignoring potential extra spaces
-        String searchString1 = "pattern: '" + pattern + "'";
-        String searchString2 = "pattern: \"" + pattern + "\"";
-        for (int i = 0; i < lines.length; i++) {
-            String trimmedLine = lines[i].trim().replaceAll("\\s+", " ");
-            if (trimmedLine.contains(searchString1) || trimmedLine.contains(searchString2)) {
-                return i + 1;
+    /**
+     * Runs every engine, and the pattern rules, as its own virtual-thread task so that the audit costs
+     * roughly as much as the slowest engine. All tasks are scoped to this call: the executor is closed,
+     * and therefore joined, before returning. An engine that misses its deadline is abandoned and its
+     * patterns are reported as unverified instead of failing the whole audit; its batches check the deadline
+     * themselves between chunks of patterns, so closing the executor waits for one chunk at most.
+     */
+    private List<ValidationResult> validatePatternsWithEngines(List<PatternLocation> patterns, List<RegexValidator> engines,
+                                                               List<AuditRule> patternRules, Map<String, RegexCompatibility> compatibility,
+                                                               AuditProgress progress) {
+        long deadline = System.nanoTime() + auditProperties.getEngineTimeout().toNanos();
+        List<ValidationResult> results = new ArrayList<>();
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<EngineRun> runs = new ArrayList<>();
+            for (RegexValidator engine : engines) {
+                AtomicBoolean abandoned = new AtomicBoolean();
+                AtomicBoolean skipped = new AtomicBoolean();
+                runs.add(new EngineRun(engine, abandoned, scope.submit(() -> {
+                    List<ValidationResult> engineResults = runOnPool(patterns, engine, List.of(), compatibility, progress, () -> {
+                        if (progress.isCancelled()) {
+                            return true;
+                        }
+                        if (abandoned.get() || System.nanoTime() - deadline > 0) {
+                            skipped.set(true);
+                            return true;
+                        }
+                        return false;
+                    });
+                    if (skipped.get()) {
+                        // Batches past the deadline were skipped, so the results are incomplete; a run that finished
+                        // every batch is kept even if it returned after the deadline.
+                        throw new TimeoutException();
+                    }
+                    return engineResults;
+                })));
             }
+            Future<List<ValidationResult>> quality = scope.submit(
+                    () -> runOnPool(patterns, null, patternRules, compatibility, progress, progress::isCancelled));
+
+            for (EngineRun run : runs) {
+                results.addAll(awaitEngine(run, patterns, deadline));
+            }
+            results.addAll(quality.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The audit was interrupted.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Quality checks failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+
+    private List<ValidationResult> awaitEngine(EngineRun run, List<PatternLocation> patterns, long deadline) throws InterruptedException {
+        String engineName = run.engine().getEngineName();
+        try {
+            return run.future().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            run.abandoned().set(true);
+            run.future().cancel(true);
+            return timedOut(engineName, patterns);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return timedOut(engineName, patterns);
+            }
+            log.error("The {} engine failed.", engineName, e.getCause());
+            String message = "An unexpected error occurred during " + engineName + " validation: " + e.getCause().getMessage();
+            return patterns.stream()
+                    .map(p -> ValidationResult.engineFailure(p.location(), p.lineNumber(), p.regex(), engineName, message))
+                    .toList();
         }
-        return 0;
     }
 
-    private Optional<RegexValidator> getActiveValidator(String engine) {
-        return validators.stream()
-                .filter(v -> v.getEngineName().toLowerCase().startsWith(engine.toLowerCase()))
-                .findFirst();
+    private List<ValidationResult> timedOut(String engineName, List<PatternLocation> patterns) {
+        log.warn("The {} engine did not finish within {}, its results are omitted.", engineName, auditProperties.getEngineTimeout());
+        String message = "The " + engineName + " engine did not finish within " + auditProperties.getEngineTimeout().toSeconds() + " seconds.";
+        return patterns.stream()
+                .map(p -> ValidationResult.engineTimedOut(p.location(), p.lineNumber(), p.regex(), engineName, message))
+                .toList();
     }
 
-    private String escapePath(String path) {
-        return path.replace("~", "~0").replace("/", "~1");
+    /**
+     * The names of the engines an audit with the given engine selection runs.
+     *
+     * @param engine {@code all}, or a comma-separated list of engine name prefixes.
+     * @return The engine names, in registration order for {@code all} and in selection order otherwise.
+     */
+    public List<String> engineNames(String engine) {
+        return getActiveValidators(engine).stream().map(RegexValidator::getEngineName).toList();
     }
 
-    private record PatternLocation(String path, String pattern) {}
+    /**
+     * Resolves the engines to run. {@code all} selects every registered engine; otherwise the value is a
+     * comma-separated list of engine name prefixes (e.g. {@code java,go}).
+     */
+    private List<RegexValidator> getActiveValidators(String engine) {
+        if (ALL_ENGINES.equalsIgnoreCase(engine.trim())) {
+            return validators;
+        }
+        return Arrays.stream(engine.split(","))
+                .map(name -> name.trim().toLowerCase())
+                .flatMap(name -> validators.stream()
+                        .filter(v -> v.getEngineName().toLowerCase().startsWith(name))
+                        .findFirst()
+                        .stream())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Validates a slice of the audit's patterns, splitting it in halves until it is small enough to be
+     * handled as one batch. Results are concatenated left to right, so their order is independent of
+     * how the work was scheduled.
+     */
+    private final class PatternBatchTask extends RecursiveTask<List<ValidationResult>> {
+
+        private final List<PatternLocation> patterns;
+        private final int leafSize;
+        private final RegexValidator validator;
+        private final List<AuditRule> patternRules;
+        private final Map<String, RegexCompatibility> compatibility;
+        private final AuditProgress progress;
+        private final BooleanSupplier cancelled;
+
+        PatternBatchTask(List<PatternLocation> patterns, int leafSize, RegexValidator validator, List<AuditRule> patternRules,
+                         Map<String, RegexCompatibility> compatibility, AuditProgress progress, BooleanSupplier cancelled) {
+            this.patterns = patterns;
+            this.leafSize = leafSize;
+            this.validator = validator;
+            this.patternRules = patternRules;
+            this.compatibility = compatibility;
+            this.progress = progress;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected List<ValidationResult> compute() {
+            if (cancelled.getAsBoolean()) {
+                return new ArrayList<>();
+            }
+            if (patterns.size() <= leafSize) {
+                List<ValidationResult> results = new ArrayList<>();
+                if (validator != null) {
+                    long start = System.nanoTime();
+                    results.addAll(validateWithEngine(validator, patterns, compatibility, cancelled));
+                    auditMetrics.recordEngine(validator.getEngineName(), System.nanoTime() - start);
+                }
+                results.addAll(checkPatterns(patterns, patternRules));
+                progress.advance(patterns.size());
+                return results;
+            }
+            int middle = patterns.size() / 2;
+            PatternBatchTask left = new PatternBatchTask(patterns.subList(0, middle), leafSize, validator, patternRules,
+                    compatibility, progress, cancelled);
+            PatternBatchTask right = new PatternBatchTask(patterns.subList(middle, patterns.size()), leafSize, validator, patternRules,
+                    compatibility, progress, cancelled);
+            left.fork();
+            List<ValidationResult> rightResults = right.compute();
+            List<ValidationResult> results = new ArrayList<>(left.join());
+            results.addAll(rightResults);
+            return results;
+        }
+    }
+
+    /**
+     * The outcome of {@link #inspect}.
+     */
+    public record Inspection(List<PatternLocation> patterns, List<GroupedValidationResult> findings) {}
+
+    private record EngineRun(RegexValidator engine, AtomicBoolean abandoned, Future<List<ValidationResult>> future) {}
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.waheed.oasregexauditor.service;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single walk over a parsed document that reports its paths, operations, parameters, component schemas and
+ * every {@code pattern} keyword reachable through schemas, to a {@link Visitor}.
+ * <p>
+ * Patterns are collected from component schemas, parameters, headers, request bodies and responses, both under
+ * {@code components} and inline in the paths, and within schemas through {@code properties},
+ * {@code patternProperties}, {@code additionalProperties}, {@code items}, {@code prefixItems},
+ * {@code allOf}/{@code anyOf}/{@code oneOf} and {@code not}. Unresolved {@code $ref}s are not followed, since
+ * their targets are walked where they are defined.
+ * <p>
+ * The parser resolves references by sharing model instances, so one schema may be reachable from many places,
+ * and from itself. Each distinct schema instance is walked once: the patterns below it are memoized relative to
+ * the schema and re-reported under every pointer that reaches it, while a schema reached again while it is
+ * still being walked contributes nothing, which ends cycles. The walk is therefore linear in the size of the
+ * unresolved document, plus one report per pointer a pattern is reachable through.
+ */
+public final class OpenApiTraversal {
+
+    /**
+     * Receives the nodes of a document in traversal order: {@code components} first, then the paths. Locations
+     * are JSON Pointers into the source document, with lower-case method keys as they appear in it.
+     */
+    public interface Visitor {
+
+        /**
+         * Called for each path, before its operations.
+         */
+        default void path(String location, String path, PathItem pathItem) {
+        }
+
+        /**
+         * Called for each operation of a path, in the order of {@link PathItem.HttpMethod}.
+         */
+        default void operation(String location, PathItem.HttpMethod method, Operation operation) {
+        }
+
+        /**
+         * Called for each parameter, under {@code components/parameters}, a path or an operation, before its patterns.
+         */
+        default void parameter(String location, Parameter parameter) {
+        }
+
+        /**
+         * Called for each schema defined under {@code components/schemas}.
+         */
+        default void componentSchema(String location, String name, Schema<?> schema) {
+        }
+
+        /**
+         * Called for each pointer through which a {@code pattern} keyword is reachable.
+         *
+         * @param location      The pointer reported to the user: the schema owning the pattern, or the parameter
+         *                      when the pattern belongs to the parameter's own schema.
+         * @param sourcePointer The pointer of the {@code pattern} keyword where it is written in the source, which
+         *                      differs from {@code location} when the pattern is reached through a resolved reference.
+         * @param regex         The regex text.
+         */
+        default void pattern(String location, String sourcePointer, String regex) {
+        }
+    }
+
+    private final Visitor visitor;
+    private final Map<Schema<?>, List<RelativePattern>> schemaPatterns = new IdentityHashMap<>();
+    private final Set<Schema<?>> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private OpenApiTraversal(Visitor visitor) {
+        this.visitor = visitor;
+    }
+
+    /**
+     * Walks a document.
+     *
+     * @param openAPI The parsed document.
+     * @param visitor The visitor to report to.
+     */
+    public static void traverse(OpenAPI openAPI, Visitor visitor) {
+        OpenApiTraversal traversal = new OpenApiTraversal(visitor);
+        if (openAPI.getComponents() != null) {
+            traversal.components(openAPI.getComponents());
+        }
+        if (openAPI.getPaths() != null) {
+            openAPI.getPaths().forEach(traversal::pathItem);
+        }
+    }
+
+    /**
+     * Escapes a JSON Pointer reference token.
+     */
+    public static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private void components(Components components) {
+        if (components.getSchemas() != null) {
+            components.getSchemas().forEach((name, schema) -> {
+                String location = "#/components/schemas/" + escape(name);
+                visitor.componentSchema(location, name, schema);
+                schemaRoot(location, schema);
+            });
+        }
+        if (components.getParameters() != null) {
+            components.getParameters().forEach((name, parameter) ->
+                    parameter("#/components/parameters/" + escape(name), parameter));
+        }
+        if (components.getHeaders() != null) {
+            components.getHeaders().forEach((name, header) -> header("#/components/headers/" + escape(name), header));
+        }
+        if (components.getRequestBodies() != null) {
+            components.getRequestBodies().forEach((name, requestBody) ->
+                    requestBody("#/components/requestBodies/" + escape(name), requestBody));
+        }
+        if (components.getResponses() != null) {
+            components.getResponses().forEach((name, response) ->
+                    response("#/components/responses/" + escape(name), response));
+        }
+    }
+
+    private void pathItem(String path, PathItem pathItem) {
+        String location = "#/paths/" + escape(path);
+        visitor.path(location, path, pathItem);
+        parameters(location, pathItem.getParameters());
+        // The map is built on each call, so it is read once per path rather than once per operation.
+        pathItem.readOperationsMap().forEach((method, operation) -> {
+            String opLocation = location + "/" + method.name().toLowerCase(Locale.ROOT);
+            visitor.operation(opLocation, method, operation);
+            parameters(opLocation, operation.getParameters());
+            if (operation.getRequestBody() != null) {
+                requestBody(opLocation + "/requestBody", operation.getRequestBody());
+            }
+            if (operation.getResponses() != null) {
+                operation.getResponses().forEach((status, response) ->
+                        response(opLocation + "/responses/" + escape(status), response));
+            }
+        });
+    }
+
+    private void parameters(String owner, List<Parameter> parameters) {
+        if (parameters != null) {
+            for (int i = 0; i < parameters.size(); i++) {
+                parameter(owner + "/parameters/" + i, parameters.get(i));
+            }
+        }
+    }
+
+    private void parameter(String location, Parameter parameter) {
+        visitor.parameter(location, parameter);
+        if (parameter.getSchema() != null) {
+            for (RelativePattern p : walk(parameter.getSchema(), location + "/schema")) {
+                // A parameter's own pattern is reported at the parameter, as it reads as a constraint on it.
+                visitor.pattern(p.suffix().isEmpty() ? location : location + "/schema" + p.suffix(), p.sourcePointer(), p.regex());
+            }
+        }
+        content(location, parameter.getContent());
+    }
+
+    private void header(String location, Header header) {
+        if (header.getSchema() != null) {
+            schemaRoot(location + "/schema", header.getSchema());
+        }
+        content(location, header.getContent());
+    }
+
+    private void requestBody(String location, RequestBody requestBody) {
+        content(location, requestBody.getContent());
+    }
+
+    private void response(String location, ApiResponse response) {
+        if (response.getHeaders() != null) {
+            response.getHeaders().forEach((name, header) -> header(location + "/headers/" + escape(name), header));
+        }
+        content(location, response.getContent());
+    }
+
+    private void content(String owner, Content content) {
+        if (content != null) {
+            for (Map.Entry<String, MediaType> entry : content.entrySet()) {
+                if (entry.getValue() != null && entry.getValue().getSchema() != null) {
+                    schemaRoot(owner + "/content/" + escape(entry.getKey()) + "/schema", entry.getValue().getSchema());
+                }
+            }
+        }
+    }
+
+    private void schemaRoot(String location, Schema<?> schema) {
+        for (RelativePattern p : walk(schema, location)) {
+            visitor.pattern(location + p.suffix(), p.sourcePointer(), p.regex());
+        }
+    }
+
+    /**
+     * Returns the patterns below a schema, relative to it. The source pointers are fixed by the first walk of a
+     * schema, so that a schema reached through several pointers resolves to one position in the source.
+     *
+     * @param schema  The schema.
+     * @param pointer The pointer the schema is reached through.
+     */
+    private List<RelativePattern> walk(Schema<?> schema, String pointer) {
+        List<RelativePattern> known = schemaPatterns.get(schema);
+        if (known != null) {
+            return known;
+        }
+        if (!inProgress.add(schema)) {
+            return List.of();
+        }
+        List<RelativePattern> patterns = new ArrayList<>();
+        if (schema.getPattern() != null) {
+            patterns.add(new RelativePattern("", pointer + "/pattern", schema.getPattern()));
+        }
+        if (schema.getProperties() != null) {
+            schema.getProperties().forEach((name, child) -> nested(patterns, pointer, "/properties/" + escape(name), child));
+        }
+        if (schema.getPatternProperties() != null) {
+            schema.getPatternProperties().forEach((name, child) ->
+                    nested(patterns, pointer, "/patternProperties/" + escape(name), child));
+        }
+        if (schema.getAdditionalProperties() instanceof Schema<?> child) {
+            nested(patterns, pointer, "/additionalProperties", child);
+        }
+        nested(patterns, pointer, "/items", schema.getItems());
+        nested(patterns, pointer, "/prefixItems", schema.getPrefixItems());
+        nested(patterns, pointer, "/allOf", schema.getAllOf());
+        nested(patterns, pointer, "/anyOf", schema.getAnyOf());
+        nested(patterns, pointer, "/oneOf", schema.getOneOf());
+        nested(patterns, pointer, "/not", schema.getNot());
+        inProgress.remove(schema);
+        schemaPatterns.put(schema, patterns);
+        return patterns;
+    }
+
+    private void nested(List<RelativePattern> patterns, String pointer, String keyword, List<Schema> children) {
+        if (children != null) {
+            for (int i = 0; i < children.size(); i++) {
+                nested(patterns, pointer, keyword + "/" + i, children.get(i));
+            }
+        }
+    }
+
+    private void nested(List<RelativePattern> patterns, String pointer, String suffix, Schema<?> child) {
+        if (child != null) {
+            for (RelativePattern p : walk(child, pointer + suffix)) {
+                patterns.add(new RelativePattern(suffix + p.suffix(), p.sourcePointer(), p.regex()));
+            }
+        }
+    }
+
+    /**
+     * A pattern below a schema.
+     *
+     * @param suffix        The pointer of the schema owning the pattern, relative to the walked schema.
+     * @param sourcePointer The pointer of the {@code pattern} keyword where the schema was first reached.
+     * @param regex         The regex text.
+     */
+    private record RelativePattern(String suffix, String sourcePointer, String regex) {}
+}
@@ -0,0 +1,114 @@
+package com.waheed.oasregexauditor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.validators.RegexValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that remembers the outcome of compiling a regex with a given engine across requests.
+ * The verdict of an engine only depends on the regex text, so it is cached without its location
+ * and line number, which are re-attached for every occurrence served from the cache. Engine failures, e.g. a
+ * GraalJS context that could not be borrowed in time, are not verdicts and are never cached.
+ */
+@Service
+public class RegexVerdictCache {
+
+    private final Cache<Object, Object> verdicts;
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public RegexVerdictCache(CacheManager cacheManager) {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.REGEX_VERDICTS_CACHE);
+        this.verdicts = cache.getNativeCache();
+    }
+
+    /**
+     * Validates a batch of patterns with the given engine. Cached verdicts are served directly and all
+     * remaining distinct regexes are handed to the engine in a single {@link RegexValidator#validateAll} call.
+     *
+     * @param validator The engine to validate with.
+     * @param patterns  The patterns to validate.
+     * @return One {@link ValidationResult} per pattern, in the same order as the input.
+     */
+    public List<ValidationResult> validateAll(RegexValidator validator, List<PatternLocation> patterns) {
+        String engine = validator.getEngineName();
+        Verdict[] resolved = new Verdict[patterns.size()];
+        Map<String, PatternLocation> misses = new LinkedHashMap<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            PatternLocation p = patterns.get(i);
+            resolved[i] = (Verdict) verdicts.getIfPresent(new VerdictKey(engine, p.regex()));
+            if (resolved[i] == null) {
+                misses.putIfAbsent(p.regex(), p);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, Verdict> computed = new LinkedHashMap<>();
+            for (ValidationResult result : validator.validateAll(new ArrayList<>(misses.values()))) {
+                Verdict verdict = Verdict.of(result);
+                computed.put(result.getRegexPattern(), verdict);
+                if (!ValidationResult.isEngineFailure(result)) {
+                    verdicts.put(new VerdictKey(engine, result.getRegexPattern()), verdict);
+                }
+            }
+            for (int i = 0; i < resolved.length; i++) {
+                if (resolved[i] == null) {
+                    resolved[i] = computed.get(patterns.get(i).regex());
+                }
+            }
+        }
+
+        List<ValidationResult> results = new ArrayList<>(patterns.size());
+        for (int i = 0; i < resolved.length; i++) {
+            PatternLocation p = patterns.get(i);
+            results.add(resolved[i].toResult(p.location(), p.lineNumber(), p.regex(), engine));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the verdict cache, for sizing it.
+     *
+     * @return A map of counter name to value.
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = verdicts.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", verdicts.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private record VerdictKey(String engine, String regex) {}
+
+    /**
+     * The location-independent part of a {@link ValidationResult}.
+     */
+    private record Verdict(boolean valid, ValidationResult.IssueType issueType, String message,
+                           String suggestion, String suggestedRegex, ValidationResult.FailureKind failureKind) {
+
+        static Verdict of(ValidationResult result) {
+            return new Verdict(result.isValid(), result.getIssueType(), result.getMessage(),
+                    result.getSuggestion(), result.getSuggestedRegex(), result.getFailureKind());
+        }
+
+        ValidationResult toResult(String location, int lineNumber, String regex, String engine) {
+            return new ValidationResult(location, lineNumber, regex, engine, valid, issueType, message, suggestion, suggestedRegex, null, failureKind);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shrinks audit reports before they are retained as shared results, and estimates their heap footprint for the
+ * byte-weighted {@code analysisResults} cache.
+ */
+public final class ReportCompactor {
+
+    // Shallow sizes with compressed oops, rounded up to 8 bytes.
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_LIST = 24 + 16;
+    private static final int GROUP = 32;
+    private static final int RESULT = 56;
+    private static final int PATTERN = 24;
+    private static final int STRING = 24 + 16;
+
+    private ReportCompactor() {
+    }
+
+    /**
+     * Copies a report with equal strings shared between its results, so that a location, regex or message
+     * repeated across results is held once. With {@code issuesOnly}, the results of valid checks are dropped:
+     * every group is kept, so that the statistics of the report do not change, but only its warnings and
+     * errors are listed.
+     *
+     * @param report     The report; it is not modified, since it may still be memoized.
+     * @param issuesOnly Whether to drop the results of valid checks.
+     * @return The compacted copy.
+     */
+    public static AuditReport compact(AuditReport report, boolean issuesOnly) {
+        Map<String, String> strings = new HashMap<>();
+        List<GroupedValidationResult> groups = new ArrayList<>(report.getResults().size());
+        for (GroupedValidationResult group : report.getResults()) {
+            List<ValidationResult> results = new ArrayList<>();
+            for (ValidationResult r : group.getResults()) {
+                if (issuesOnly && r.getIssueType() == ValidationResult.IssueType.VALID) {
+                    continue;
+                }
+                results.add(new ValidationResult(intern(strings, r.getLocation()), r.getLineNumber(),
+                        intern(strings, r.getRegexPattern()), intern(strings, r.getEngine()), r.isValid(), r.getIssueType(),
+                        intern(strings, r.getMessage()), intern(strings, r.getSuggestion()),
+                        intern(strings, r.getSuggestedRegex()), r.getEvidence(), r.getFailureKind()));
+            }
+            groups.add(new GroupedValidationResult(intern(strings, group.getLocation()), group.getLineNumber(),
+                    intern(strings, group.getRegexPattern()), results));
+        }
+        List<PatternLocation> patterns = report.getPatterns() == null ? null : report.getPatterns().stream()
+                .map(p -> new PatternLocation(intern(strings, p.location()), p.lineNumber(), intern(strings, p.regex())))
+                .toList();
+        return new AuditReport(groups, report.getOptions(), patterns, report.getContentKey());
+    }
+
+    /**
+     * Estimates the heap retained by a report: its objects plus every distinct string instance it references.
+     * Strings are assumed to be Latin-1, as locations and most regexes are.
+     *
+     * @param report The report.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateBytes(AuditReport report) {
+        IdentityHashMap<String, Boolean> seen = new IdentityHashMap<>();
+        long bytes = OBJECT_HEADER + 3L * REFERENCE + list(report.getResults().size());
+        for (GroupedValidationResult group : report.getResults()) {
+            bytes += GROUP + list(group.getResults().size())
+                    + string(seen, group.getLocation()) + string(seen, group.getRegexPattern());
+            for (ValidationResult r : group.getResults()) {
+                bytes += RESULT + string(seen, r.getLocation()) + string(seen, r.getRegexPattern())
+                        + string(seen, r.getEngine()) + string(seen, r.getMessage()) + string(seen, r.getSuggestion())
+                        + string(seen, r.getSuggestedRegex()) + string(seen, r.getEvidence());
+            }
+        }
+        if (report.getPatterns() != null) {
+            bytes += list(report.getPatterns().size());
+            for (PatternLocation p : report.getPatterns()) {
+                bytes += PATTERN + string(seen, p.location()) + string(seen, p.regex());
+            }
+        }
+        return bytes;
+    }
+
+    private static String intern(Map<String, String> strings, String s) {
+        return s == null ? null : strings.computeIfAbsent(s, k -> k);
+    }
+
+    private static long list(int size) {
+        return ARRAY_LIST + align((long) size * REFERENCE);
+    }
+
+    private static long string(IdentityHashMap<String, Boolean> seen, String s) {
+        if (s == null || seen.put(s, Boolean.TRUE) != null) {
+            return 0;
+        }
+        return STRING + align(s.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
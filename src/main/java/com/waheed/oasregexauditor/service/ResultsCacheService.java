@@ -1,49 +1,119 @@
 package com.waheed.oasregexauditor.service;
 
-import com.waheed.oasregexauditor.model.GroupedValidationResult;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.AuditReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service to cache and retrieve analysis results.
- * Uses Spring's caching abstraction with Caffeine.
+ * Uses Caffeine as a small in-memory tier in front of the {@link DiskResultsStore}, which keeps shared results
+ * across restarts. Cached reports are held as {@link IndexedReport}s, so their statistics and filter index are
+ * built once per tier rather than per view.
+ * <p>
+ * Every share gets its own ID, but reports are stored under their {@link AuditReport#getContentKey() content key},
+ * with each share ID linked to that key: identical uploads, which share one memoized report, also share one
+ * compacted copy in memory and one file on disk.
  */
 @Service
 public class ResultsCacheService {
 
+    private final DiskResultsStore diskResultsStore;
+    private final AuditProperties auditProperties;
+    private final Cache reports;
+    private final Cache links;
+
+    @Autowired
+    public ResultsCacheService(DiskResultsStore diskResultsStore, AuditProperties auditProperties, CacheManager cacheManager) {
+        this.diskResultsStore = diskResultsStore;
+        this.auditProperties = auditProperties;
+        this.reports = cacheManager.getCache(CacheConfig.ANALYSIS_RESULTS_CACHE);
+        this.links = cacheManager.getCache(CacheConfig.RESULT_LINKS_CACHE);
+    }
+
+    /**
+     * Generates a new short ID for a shared result, as used in {@code /openapiauditor/r/{id}} links.
+     *
+     * @return An 8-character random ID.
+     */
+    public static String newResultsId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Builds the permalink of a shared result.
+     *
+     * @param baseUrl   The base URL of the application, including its context path.
+     * @param resultsId The share ID.
+     * @return The {@code /openapiauditor/r/{id}} link under the base URL.
+     */
+    public static String shareableLink(String baseUrl, String resultsId) {
+        return UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/openapiauditor/r/{id}")
+                .buildAndExpand(resultsId)
+                .toUriString();
+    }
+
     /**
-     * Stores the analysis results in the "analysisResults" cache.
-     * The method will always be executed and its result placed into the cache.
+     * Stores the analysis results under a share ID, in the "analysisResults" cache and in the disk store.
+     * The report is stored as a compacted copy, see {@link ReportCompactor#compact}, which drops the results
+     * of valid checks if {@code app.audit.results-retention} is {@code issues}. A report with a content key is
+     * stored once per key: while a copy without engine failures is cached, later shares of the key reuse it.
+     * A report without a content key is stored under the share ID itself.
      *
-     * @param id      The unique ID (key) for the cache entry.
-     * @param results The list of results to store.
-     * @return The stored list of results.
+     * @param id     The share ID.
+     * @param report The audit report to store.
+     * @return The stored, compacted report with its index.
      */
-    @CachePut(value = "analysisResults", key = "#id")
-    public List<GroupedValidationResult> store(String id, List<GroupedValidationResult> results) {
-        // With @CachePut, this method's return value updates the cache.
-        // The actual method body can be minimal if no other logic is needed.
-        return results;
+    public IndexedReport store(String id, AuditReport report) {
+        String key = report.getContentKey() != null ? report.getContentKey() : id;
+        IndexedReport stored = reports.get(key, IndexedReport.class);
+        // A copy with engine failures is replaced, so that a later complete audit of the same content is shown.
+        if (stored == null || OasAuditService.hasEngineFailures(stored.report().getResults())) {
+            AuditReport compacted = ReportCompactor.compact(report,
+                    auditProperties.getResultsRetention() == AuditProperties.ResultsRetention.ISSUES);
+            diskResultsStore.put(key, compacted);
+            stored = IndexedReport.of(compacted);
+            reports.put(key, stored);
+        }
+        if (!key.equals(id)) {
+            diskResultsStore.putLink(id, key);
+            links.put(id, key);
+        }
+        return stored;
     }
 
     /**
-     * Retrieves analysis results from the "analysisResults" cache.
-     * If the results for the given ID are found in the cache, they are returned directly.
-     * If not, the method returns an empty Optional, as there's no backing store to fetch from.
+     * Retrieves the analysis results of a share ID. The ID is resolved to the key of its report, then the report is
+     * looked up in the "analysisResults" cache, or read from the disk store, indexed and cached again; misses are
+     * not cached, so results stored later under the same ID are found.
      *
-     * @param id The unique ID of the cached result.
-     * @return An Optional containing the list of results if found, otherwise an empty Optional.
+     * @param id The share ID.
+     * @return An Optional containing the indexed audit report if found, otherwise an empty Optional.
      */
-    @Cacheable(value = "analysisResults", key = "#id")
-    public Optional<List<GroupedValidationResult>> get(String id) {
-        // With @Cacheable, Spring handles the cache lookup.
-        // This method body will only be executed if the item is not in the cache.
-        // Since we don't have a "source of truth" to build the cache from here,
-        // we return Optional.empty(). The cache should be populated via the store() method.
-        return Optional.empty();
+    public Optional<IndexedReport> get(String id) {
+        String key = links.get(id, String.class);
+        if (key == null) {
+            // Reports without a content key, and those shared before share IDs were linked to keys, are stored under the ID.
+            key = diskResultsStore.getLink(id).orElse(id);
+            if (!key.equals(id)) {
+                links.put(id, key);
+            }
+        }
+        IndexedReport cached = reports.get(key, IndexedReport.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<IndexedReport> loaded = diskResultsStore.get(key).map(IndexedReport::of);
+        String reportKey = key;
+        loaded.ifPresent(report -> reports.put(reportKey, report));
+        return loaded;
     }
 }
@@ -0,0 +1,318 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.rules.MissingAnchorsRule;
+import com.waheed.oasregexauditor.service.rules.OperationIdRule;
+import com.waheed.oasregexauditor.service.rules.OperationSummaryRule;
+import com.waheed.oasregexauditor.service.rules.PathNamingRule;
+import com.waheed.oasregexauditor.service.rules.PermissivePatternRule;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import com.waheed.oasregexauditor.service.rules.SchemaDescriptionRule;
+import com.waheed.oasregexauditor.service.rules.SchemaExampleRule;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compact binary encoding of an {@link AuditReport}, as kept by the {@link DiskResultsStore}.
+ * <p>
+ * Every string is written once into a table at the start of the record and referenced by index afterwards,
+ * which collapses the locations, engine names and messages repeated across thousands of results.
+ * Integers are written as variable-length (LEB128) numbers. Layout:
+ * <pre>
+ * magic "OASR", version
+ * string count, then per string: UTF-8 length, UTF-8 bytes      (index 0 is null, strings start at 1)
+ * options: present flag, engine, confirm-ReDoS flag, rule count, then per rule: ID
+ * pattern count + 1 (0 for none), then per pattern: location, line, regex
+ * group count, then per group: location, line, regex, result count, then per result:
+ *     location, line, regex, engine, flags (valid, issue type, failure kind), message, suggestion, suggested regex, evidence
+ * </pre>
+ * The flags hold the valid bit, the issue type in the next two bits and the failure kind, plus one, above them;
+ * records before version 3 have no failure kinds.
+ */
+final class ResultsCodec {
+
+    private static final int MAGIC = 0x4F415352; // "OASR"
+    private static final byte VERSION = 3;
+    /**
+     * Version 1 stored the checks of an audit as flags rather than rule IDs: these, in order of their bits, with
+     * the confirm-ReDoS flag at bit 3.
+     */
+    private static final String[] VERSION_1_RULES = {PermissivePatternRule.ID, MissingAnchorsRule.ID, RedosRule.ID, null,
+            PathNamingRule.ID, OperationIdRule.ID, OperationSummaryRule.ID, SchemaDescriptionRule.ID, SchemaExampleRule.ID};
+    private static final int NO_ISSUE_TYPE = 3;
+
+    private ResultsCodec() {
+    }
+
+    /**
+     * Encodes a report.
+     *
+     * @param report The report to encode.
+     * @return The encoded record.
+     */
+    static byte[] encode(AuditReport report) {
+        Writer body = new Writer();
+        AuditOptions options = report.getOptions();
+        body.writeVarInt(options == null ? 0 : 1);
+        if (options != null) {
+            body.writeString(options.engine());
+            body.writeVarInt(options.confirmRedos() ? 1 : 0);
+            body.writeVarInt(options.rules().size());
+            for (String rule : options.rules()) {
+                body.writeString(rule);
+            }
+        }
+
+        List<PatternLocation> patterns = report.getPatterns();
+        body.writeVarInt(patterns == null ? 0 : patterns.size() + 1);
+        if (patterns != null) {
+            for (PatternLocation p : patterns) {
+                body.writeString(p.location());
+                body.writeSignedVarInt(p.lineNumber());
+                body.writeString(p.regex());
+            }
+        }
+
+        List<GroupedValidationResult> groups = report.getResults();
+        body.writeVarInt(groups.size());
+        for (GroupedValidationResult group : groups) {
+            body.writeString(group.getLocation());
+            body.writeSignedVarInt(group.getLineNumber());
+            body.writeString(group.getRegexPattern());
+            body.writeVarInt(group.getResults().size());
+            for (ValidationResult r : group.getResults()) {
+                body.writeString(r.getLocation());
+                body.writeSignedVarInt(r.getLineNumber());
+                body.writeString(r.getRegexPattern());
+                body.writeString(r.getEngine());
+                int issueType = r.getIssueType() == null ? NO_ISSUE_TYPE : r.getIssueType().ordinal();
+                int failureKind = r.getFailureKind() == null ? 0 : r.getFailureKind().ordinal() + 1;
+                body.writeVarInt((r.isValid() ? 1 : 0) | issueType << 1 | failureKind << 3);
+                body.writeString(r.getMessage());
+                body.writeString(r.getSuggestion());
+                body.writeString(r.getSuggestedRegex());
+                body.writeString(r.getEvidence());
+            }
+        }
+
+        Writer record = new Writer();
+        record.writeInt(MAGIC);
+        record.writeByte(VERSION);
+        record.writeVarInt(body.strings.size());
+        for (String s : body.strings) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            record.writeVarInt(utf8.length);
+            record.writeBytes(utf8, utf8.length);
+        }
+        record.writeBytes(body.buffer, body.size);
+        return Arrays.copyOf(record.buffer, record.size);
+    }
+
+    /**
+     * Decodes a record written by {@link #encode}.
+     *
+     * @param in The record, e.g. a memory-mapped file; read from its position to its limit.
+     * @return The decoded report.
+     * @throws IllegalArgumentException if the record is corrupt or was written by an unknown version.
+     */
+    static AuditReport decode(ByteBuffer in) {
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a results record");
+            }
+            byte version = in.get();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Not a results record of version 1 to " + VERSION);
+            }
+            String[] strings = new String[readCount(in) + 1];
+            byte[] scratch = new byte[256];
+            for (int i = 1; i < strings.length; i++) {
+                int length = readCount(in);
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                in.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+            Reader reader = new Reader(in, strings);
+
+            AuditOptions options = null;
+            if (readVarInt(in) == 1) {
+                String engine = reader.string();
+                Set<String> rules = new TreeSet<>();
+                boolean confirmRedos;
+                if (version == 1) {
+                    int f = readVarInt(in);
+                    for (int i = 0; i < VERSION_1_RULES.length; i++) {
+                        if (VERSION_1_RULES[i] != null && bit(f, i)) {
+                            rules.add(VERSION_1_RULES[i]);
+                        }
+                    }
+                    confirmRedos = bit(f, 3);
+                } else {
+                    confirmRedos = readVarInt(in) == 1;
+                    int ruleCount = readCount(in);
+                    for (int i = 0; i < ruleCount; i++) {
+                        String rule = reader.string();
+                        if (rule == null) {
+                            throw new IllegalArgumentException("Corrupt results record: missing rule ID");
+                        }
+                        rules.add(rule);
+                    }
+                }
+                options = new AuditOptions(engine, rules, confirmRedos);
+            }
+
+            int patternCount = readCount(in) - 1;
+            List<PatternLocation> patterns = null;
+            if (patternCount >= 0) {
+                patterns = new ArrayList<>(patternCount);
+                for (int i = 0; i < patternCount; i++) {
+                    patterns.add(new PatternLocation(reader.string(), readSignedVarInt(in), reader.string()));
+                }
+            }
+
+            int groupCount = readCount(in);
+            List<GroupedValidationResult> groups = new ArrayList<>(groupCount);
+            for (int g = 0; g < groupCount; g++) {
+                String location = reader.string();
+                int lineNumber = readSignedVarInt(in);
+                String regex = reader.string();
+                int resultCount = readCount(in);
+                List<ValidationResult> results = new ArrayList<>(resultCount);
+                for (int i = 0; i < resultCount; i++) {
+                    String resultLocation = reader.string();
+                    int resultLine = readSignedVarInt(in);
+                    String resultRegex = reader.string();
+                    String engine = reader.string();
+                    int flags = readVarInt(in);
+                    int issueType = flags >>> 1 & 3;
+                    int failureKind = flags >>> 3;
+                    results.add(new ValidationResult(resultLocation, resultLine, resultRegex, engine, bit(flags, 0),
+                            issueType == NO_ISSUE_TYPE ? null : ValidationResult.IssueType.values()[issueType],
+                            reader.string(), reader.string(), reader.string(), reader.string(),
+                            failureKind == 0 ? null : ValidationResult.FailureKind.values()[failureKind - 1]));
+                }
+                groups.add(new GroupedValidationResult(location, lineNumber, regex, results));
+            }
+            return new AuditReport(groups, options, patterns);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or corrupt results record", e);
+        }
+    }
+
+    private static boolean bit(int flags, int index) {
+        return (flags & 1 << index) != 0;
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+    /**
+     * Reads a count or length, checked against the bytes left before anything is allocated for it: every item
+     * takes at least one byte, so a larger value can only come from a corrupt record.
+     */
+    private static int readCount(ByteBuffer in) {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("Corrupt results record: count " + Integer.toUnsignedString(count)
+                    + " exceeds the " + in.remaining() + " bytes left");
+        }
+        return count;
+    }
+
+    private static int readSignedVarInt(ByteBuffer in) {
+        int zigzag = readVarInt(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * A growable byte buffer that also collects the string table of the record.
+     */
+    private static final class Writer {
+        private byte[] buffer = new byte[4096];
+        private int size;
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        void writeString(String s) {
+            if (s == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer i = index.get(s);
+            if (i == null) {
+                strings.add(s);
+                i = strings.size();
+                index.put(s, i);
+            }
+            writeVarInt(i);
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeByte(byte value) {
+            ensure(1);
+            buffer[size++] = value;
+        }
+
+        void writeBytes(byte[] bytes, int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + extra, buffer.length * 2));
+            }
+        }
+    }
+
+    private record Reader(ByteBuffer in, String[] strings) {
+        String string() {
+            return strings[readVarInt(in)];
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.waheed.oasregexauditor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the JSON Pointer of every {@code pattern} keyword in an OpenAPI document to its source position.
+ * The index is built with a single {@link StreamingPatternScanner} pass over the raw content, so looking up a pattern's line
+ * is a constant-time operation regardless of how many patterns the document contains.
+ */
+public final class SourcePositionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SourcePositionIndex.class);
+    private static final SourcePositionIndex EMPTY = new SourcePositionIndex(Map.of(), Map.of());
+
+    private final Map<String, SourcePosition> positionsByPointer;
+    private final Map<String, SourcePosition> firstPositionByPattern;
+
+    private SourcePositionIndex(Map<String, SourcePosition> positionsByPointer, Map<String, SourcePosition> firstPositionByPattern) {
+        this.positionsByPointer = positionsByPointer;
+        this.firstPositionByPattern = firstPositionByPattern;
+    }
+
+    /**
+     * Builds the index for the given YAML or JSON content.
+     * If the content cannot be tokenized, an empty index is returned and every lookup reports line 0.
+     *
+     * @param content The raw OpenAPI document.
+     * @return The populated index.
+     */
+    public static SourcePositionIndex build(String content) {
+        if (content == null || content.isBlank()) {
+            return EMPTY;
+        }
+        Map<String, SourcePosition> byPointer = new HashMap<>();
+        Map<String, SourcePosition> byPattern = new HashMap<>();
+        try {
+            StreamingPatternScanner.scan(content, scanned -> {
+                SourcePosition position = new SourcePosition(scanned.line(), scanned.column());
+                byPointer.put(scanned.pointer(), position);
+                byPattern.putIfAbsent(scanned.regex(), position);
+            });
+        } catch (IOException e) {
+            log.warn("Could not index source positions, line numbers will be unavailable: {}", e.getMessage());
+            return EMPTY;
+        }
+        return new SourcePositionIndex(byPointer, byPattern);
+    }
+
+    /**
+     * Resolves the line number of a pattern.
+     * The JSON Pointer is authoritative; the regex text is only used as a fallback for patterns whose
+     * pointer does not exist in the raw document (for example, schemas inlined by reference resolution).
+     *
+     * @param patternPointer The JSON Pointer of the {@code pattern} keyword itself.
+     * @param pattern        The regex text of the pattern.
+     * @return The 1-based line number, or 0 if the pattern could not be located.
+     */
+    public int lineOf(String patternPointer, String pattern) {
+        SourcePosition position = positionOf(patternPointer, pattern);
+        return position != null ? position.line() : 0;
+    }
+
+    /**
+     * Resolves the full source position of a pattern, using the same lookup rules as {@link #lineOf}.
+     *
+     * @param patternPointer The JSON Pointer of the {@code pattern} keyword itself.
+     * @param pattern        The regex text of the pattern.
+     * @return The position, or {@code null} if the pattern could not be located.
+     */
+    public SourcePosition positionOf(String patternPointer, String pattern) {
+        SourcePosition position = positionsByPointer.get(patternPointer);
+        return position != null ? position : firstPositionByPattern.get(pattern);
+    }
+
+    /**
+     * A 1-based line and column in the source document.
+     */
+    public record SourcePosition(int line, int column) {}
+}
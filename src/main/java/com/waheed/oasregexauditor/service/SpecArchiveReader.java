@@ -0,0 +1,366 @@
+package com.waheed.oasregexauditor.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the OpenAPI specs contained in a zip, tar or tar.gz archive one entry at a time, so that only the
+ * entry being read is held in memory. Entries that are not {@code .yaml}, {@code .yml} or {@code .json}
+ * files, and hidden or resource-fork files, are skipped.
+ * <p>
+ * Besides the size of each spec, the reader bounds the whole archive: the number of entries of any kind and
+ * the number of bytes decompressed, including those of skipped entries, so that an archive bomb is rejected
+ * with an {@link ArchiveTooLargeException} instead of being decompressed to the end.
+ * <p>
+ * The tar reader understands the ustar, GNU long-name and pax path extensions; that is all spec archives
+ * need, and it avoids a dependency on a general-purpose archive library.
+ */
+public final class SpecArchiveReader {
+
+    private static final int TAR_BLOCK = 512;
+
+    private final InputStream in;
+    private final Format format;
+    private final long maxEntryBytes;
+    private final int maxEntries;
+    private final long maxTotalBytes;
+    private long totalBytes;
+
+    private enum Format {
+        ZIP,
+        TAR,
+        TAR_GZ
+    }
+
+    private SpecArchiveReader(InputStream in, Format format, long maxEntryBytes, int maxEntries, long maxTotalBytes) {
+        this.in = in;
+        this.format = format;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxEntries = maxEntries;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    /**
+     * Detects the archive format from its first bytes.
+     *
+     * @param archive       The archive stream; it is not closed by the reader.
+     * @param maxEntryBytes Specs larger than this are reported as errors instead of being read.
+     * @param maxEntries    Reading stops with an {@link ArchiveTooLargeException} after this many entries of any kind.
+     * @param maxTotalBytes Reading stops with an {@link ArchiveTooLargeException} after decompressing this many bytes.
+     * @return A reader positioned at the first entry.
+     * @throws IllegalArgumentException if the stream is not a zip, tar or tar.gz archive.
+     * @throws IOException              if the stream cannot be read.
+     */
+    public static SpecArchiveReader open(InputStream archive, long maxEntryBytes, int maxEntries, long maxTotalBytes) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(archive, 64 * 1024);
+        in.mark(TAR_BLOCK);
+        byte[] head = in.readNBytes(TAR_BLOCK);
+        in.reset();
+        Format format;
+        if (head.length >= 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4) {
+            format = Format.ZIP;
+        } else if (head.length >= 2 && (head[0] & 0xFF) == 0x1F && (head[1] & 0xFF) == 0x8B) {
+            format = Format.TAR_GZ;
+        } else if (head.length == TAR_BLOCK && "ustar".equals(new String(head, 257, 5, StandardCharsets.US_ASCII))) {
+            format = Format.TAR;
+        } else {
+            throw new IllegalArgumentException("Unsupported archive format; expected a .zip, .tar or .tar.gz file.");
+        }
+        return new SpecArchiveReader(in, format, maxEntryBytes, maxEntries, maxTotalBytes);
+    }
+
+    /**
+     * Passes every spec in the archive to the handler, in archive order.
+     *
+     * @param handler Receives each spec; it may block to apply back-pressure.
+     * @throws ArchiveTooLargeException if the archive has too many entries or decompresses to too many bytes.
+     * @throws IOException              if the archive is corrupt or cannot be read.
+     */
+    public void forEachSpec(SpecHandler handler) throws IOException, InterruptedException {
+        read(handler, true);
+    }
+
+    /**
+     * Reads the whole archive without keeping any spec, to reject it before auditing starts if it exceeds a limit.
+     *
+     * @throws ArchiveTooLargeException if the archive has too many entries or decompresses to too many bytes.
+     * @throws IOException              if the archive is corrupt or cannot be read.
+     */
+    public void checkLimits() throws IOException {
+        try {
+            read(entry -> {}, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the archive", e);
+        }
+    }
+
+    private void read(SpecHandler handler, boolean keepContent) throws IOException, InterruptedException {
+        switch (format) {
+            case ZIP -> readZip(handler, keepContent);
+            case TAR -> readTar(new CountingInputStream(in), handler, keepContent);
+            case TAR_GZ -> readTar(new CountingInputStream(new GZIPInputStream(in, 64 * 1024)), handler, keepContent);
+        }
+    }
+
+    private void readZip(SpecHandler handler, boolean keepContent) throws IOException, InterruptedException {
+        // Skipped entries are decompressed through read() as well, so every decompressed byte is counted.
+        ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                count(n);
+                return n;
+            }
+        };
+        int count = 0;
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            checkCount(++count);
+            if (!entry.isDirectory() && isSpec(entry.getName())) {
+                handler.accept(readEntry(entry.getName(), zip, entry.getSize(), keepContent));
+            }
+        }
+    }
+
+    private void readTar(InputStream tar, SpecHandler handler, boolean keepContent) throws IOException, InterruptedException {
+        byte[] header = new byte[TAR_BLOCK];
+        String longName = null;
+        int count = 0;
+        while (true) {
+            int read = tar.readNBytes(header, 0, TAR_BLOCK);
+            if (read == 0 || isZeroBlock(header)) {
+                return;
+            }
+            if (read < TAR_BLOCK) {
+                throw new EOFException("Truncated tar header");
+            }
+            char type = (char) header[156];
+            long size = parseSize(header);
+            long padding = (TAR_BLOCK - size % TAR_BLOCK) % TAR_BLOCK;
+            if (type == 'L' || type == 'x') {
+                // GNU long name, or pax extended header: both carry the name of the next entry.
+                byte[] data = readFully(tar, size);
+                longName = type == 'L' ? cString(data, 0, data.length) : paxPath(data, longName);
+                skipFully(tar, padding);
+                continue;
+            }
+            String name = longName != null ? longName : ustarName(header);
+            longName = null;
+            checkCount(++count);
+            boolean regularFile = type == '0' || type == '\0' || type == '7';
+            if (regularFile && isSpec(name)) {
+                handler.accept(readEntry(name, new BoundedInputStream(tar, size), size, keepContent));
+                skipFully(tar, padding);
+            } else {
+                skipFully(tar, size + padding);
+            }
+        }
+    }
+
+    /**
+     * Reads one entry, or describes why it was skipped. The stream is always consumed to the end of the entry.
+     */
+    private SpecEntry readEntry(String name, InputStream entry, long declaredSize, boolean keepContent) throws IOException {
+        if (declaredSize > maxEntryBytes || !keepContent) {
+            entry.transferTo(OutputStream.nullOutputStream());
+            return new SpecEntry(name, null, "The file is larger than the limit of " + maxEntryBytes + " bytes.");
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(declaredSize > 0 ? (int) declaredSize : 8192);
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = entry.read(chunk)) > 0) {
+            if (buffer.size() + n > maxEntryBytes) {
+                entry.transferTo(OutputStream.nullOutputStream());
+                return new SpecEntry(name, null, "The file is larger than the limit of " + maxEntryBytes + " bytes.");
+            }
+            buffer.write(chunk, 0, n);
+        }
+        return new SpecEntry(name, buffer.toString(StandardCharsets.UTF_8), null);
+    }
+
+    private void checkCount(int count) throws ArchiveTooLargeException {
+        if (count > maxEntries) {
+            throw new ArchiveTooLargeException("The archive contains more than " + maxEntries + " entries.");
+        }
+    }
+
+    private void count(long bytes) throws ArchiveTooLargeException {
+        if (bytes > 0) {
+            totalBytes += bytes;
+            if (totalBytes > maxTotalBytes) {
+                throw new ArchiveTooLargeException("The archive decompresses to more than " + maxTotalBytes + " bytes.");
+            }
+        }
+    }
+
+    private static boolean isSpec(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        String baseName = lower.substring(lower.lastIndexOf('/') + 1);
+        return !lower.startsWith("__macosx/") && !baseName.startsWith(".")
+                && (lower.endsWith(".yaml") || lower.endsWith(".yml") || lower.endsWith(".json"));
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseSize(byte[] header) throws IOException {
+        if ((header[124] & 0x80) != 0) {
+            // GNU base-256 encoding for sizes of 8 GiB and more.
+            long size = 0;
+            for (int i = 125; i < 136; i++) {
+                size = (size << 8) | (header[i] & 0xFF);
+            }
+            return size;
+        }
+        String octal = cString(header, 124, 12).trim();
+        try {
+            return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupt tar header: invalid size '" + octal + "'");
+        }
+    }
+
+    private static String ustarName(byte[] header) {
+        String name = cString(header, 0, 100);
+        String prefix = "ustar".equals(new String(header, 257, 5, StandardCharsets.US_ASCII)) ? cString(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    private static String paxPath(byte[] data, String fallback) {
+        // Records have the form "<length> <key>=<value>\n".
+        String records = new String(data, StandardCharsets.UTF_8);
+        for (String record : records.split("\n")) {
+            int space = record.indexOf(' ');
+            if (space > 0 && record.startsWith("path=", space + 1)) {
+                return record.substring(space + 1 + "path=".length());
+            }
+        }
+        return fallback;
+    }
+
+    private static String cString(byte[] bytes, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readFully(InputStream in, long size) throws IOException {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("Corrupt tar header: extended header of " + size + " bytes");
+        }
+        byte[] data = in.readNBytes((int) size);
+        if (data.length < size) {
+            throw new EOFException("Truncated tar entry");
+        }
+        return data;
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        in.skipNBytes(bytes);
+    }
+
+    /**
+     * Receives the specs of an archive.
+     */
+    @FunctionalInterface
+    public interface SpecHandler {
+        void accept(SpecEntry entry) throws IOException, InterruptedException;
+    }
+
+    /**
+     * One spec of an archive: its path inside the archive and either its content or the reason it was not read.
+     */
+    public record SpecEntry(String name, String content, String error) {}
+
+    /**
+     * Counts the bytes read or skipped from a decompressed tar stream against the archive limit.
+     */
+    private final class CountingInputStream extends InputStream {
+        private final InputStream in;
+
+        CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            count(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes are decompressed all the same; bound them before asking for more than the limit.
+            long skipped = in.skip(Math.min(n, maxTotalBytes - totalBytes + 1));
+            count(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * Exposes the data of one tar entry without letting the reader run into the next header.
+     */
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long size) {
+            this.in = in;
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated tar entry");
+            }
+            remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n < 0) {
+                throw new EOFException("Truncated tar entry");
+            }
+            remaining -= n;
+            return n;
+        }
+    }
+}
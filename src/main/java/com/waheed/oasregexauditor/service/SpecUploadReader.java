@@ -0,0 +1,141 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnmappableCharacterException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads uploaded specs without buffering them as byte arrays. The upload is streamed to a temporary file,
+ * through a gzip decoder when it is compressed, and the size limit is enforced on the decompressed bytes as
+ * they are written, so an oversized or highly compressed upload is rejected before it reaches the heap.
+ * The file is then read through a channel of its exact size; for valid UTF-8 the JDK turns those bytes into
+ * the content string without another copy when the spec is ASCII, as most are, so the spec is held on the heap
+ * once rather than as a byte array plus a string.
+ */
+@Service
+public class SpecUploadReader {
+
+    private static final int CHUNK = 64 * 1024;
+    // Above this the content no longer fits one string.
+    private static final long MAX_CONTENT_BYTES = Integer.MAX_VALUE - 8;
+
+    private final long maxBytes;
+    private final AuditMetrics auditMetrics;
+
+    @Autowired
+    public SpecUploadReader(AuditProperties auditProperties, AuditMetrics auditMetrics) {
+        this.maxBytes = Math.min(auditProperties.getUploadMaxSize().toBytes(), MAX_CONTENT_BYTES);
+        this.auditMetrics = auditMetrics;
+    }
+
+    /**
+     * Reads an uploaded spec as UTF-8, decompressing it if it starts with the gzip magic number.
+     *
+     * @param upload The uploaded bytes; not closed.
+     * @return The content of the spec.
+     * @throws UploadTooLargeException if the (decompressed) spec is larger than {@code app.audit.upload-max-size}.
+     * @throws IOException             if the upload cannot be read or is corrupt.
+     */
+    public String read(InputStream upload) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(upload, CHUNK);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1F && in.read() == 0x8B;
+        in.reset();
+        Path spool = Files.createTempFile("oas-upload-", ".spec");
+        try {
+            long size;
+            try (InputStream content = gzip ? new GZIPInputStream(in, CHUNK) : in;
+                 FileChannel channel = FileChannel.open(spool, StandardOpenOption.WRITE)) {
+                size = spool(content, channel);
+            }
+            auditMetrics.recordUpload(size, gzip);
+            return decode(spool, size);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    /**
+     * Checks pasted content against the same limit as uploaded files.
+     *
+     * @param content The pasted content.
+     * @return The content.
+     * @throws UploadTooLargeException if the content is longer than {@code app.audit.upload-max-size}.
+     */
+    public String checkPasted(String content) throws UploadTooLargeException {
+        // Characters rather than bytes, which is exact for ASCII specs and at most lenient by the UTF-8 overhead.
+        if (content.length() > maxBytes) {
+            throw new UploadTooLargeException(maxBytes);
+        }
+        return content;
+    }
+
+    private long spool(InputStream content, FileChannel channel) throws IOException {
+        byte[] chunk = new byte[CHUNK];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        long size = 0;
+        int n;
+        while ((n = content.read(chunk)) > 0) {
+            size += n;
+            if (size > maxBytes) {
+                throw new UploadTooLargeException(maxBytes);
+            }
+            buffer.clear().limit(n);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return size;
+    }
+
+    private static String decode(Path spool, long size) throws IOException {
+        try {
+            return Files.readString(spool, StandardCharsets.UTF_8);
+        } catch (MalformedInputException | UnmappableCharacterException e) {
+            return decodeReplacing(spool, size);
+        }
+    }
+
+    /**
+     * Decodes a file that is not valid UTF-8, replacing malformed input as {@code new String(bytes, UTF_8)} does.
+     */
+    private static String decodeReplacing(Path spool, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(spool, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            // A UTF-8 spec has at most as many characters as bytes, so the builder never grows. It stays
+            // one byte per character unless the spec contains characters beyond Latin-1.
+            StringBuilder text = new StringBuilder((int) size);
+            CharBuffer chunk = CharBuffer.allocate(CHUNK);
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chunk, true);
+                text.append(chunk.flip());
+                chunk.clear();
+            } while (result.isOverflow());
+            decoder.flush(chunk);
+            text.append(chunk.flip());
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.waheed.oasregexauditor.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Finds every {@code pattern} keyword of an OpenAPI document with a single pass of a streaming
+ * YAML/JSON parser, without building the document model. Only the parser's nesting context is kept
+ * in memory, so the cost scales with the depth of the document rather than its size.
+ */
+public final class StreamingPatternScanner {
+
+    private static final String PATTERN_KEY = "pattern";
+
+    // Keywords whose values are example data rather than schemas; a "pattern" inside them is not a regex.
+    private static final Set<String> DATA_KEYWORDS = Set.of("example", "examples", "default", "enum", "const");
+
+    // Keywords whose children are user-chosen names, where e.g. a property called "example" is still a schema.
+    private static final Set<String> NAME_MAPS = Set.of("properties", "patternProperties", "schemas", "parameters",
+            "responses", "headers", "requestBodies", "content", "encoding", "callbacks", "links", "paths",
+            "definitions", "$defs", "securitySchemes", "variables");
+
+    private StreamingPatternScanner() {
+    }
+
+    /**
+     * Scans the content and reports every pattern with its JSON Pointer and source position.
+     *
+     * @param content  The raw OpenAPI document (YAML or JSON).
+     * @param consumer Receives each pattern in document order.
+     * @throws IOException if the content is not well-formed YAML or JSON.
+     */
+    public static void scan(String content, Consumer<ScannedPattern> consumer) throws IOException {
+        try (JsonParser parser = createParser(content)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && isDataKeyword(parser)) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                } else if (token == JsonToken.VALUE_STRING && PATTERN_KEY.equals(parser.currentName())
+                        && parser.getParsingContext().inObject()) {
+                    JsonLocation location = parser.currentTokenLocation();
+                    consumer.accept(new ScannedPattern("#" + parser.getParsingContext().pathAsPointer(),
+                            location.getLineNr(), location.getColumnNr(), parser.getText()));
+                }
+            }
+        }
+    }
+
+    private static JsonParser createParser(String content) throws IOException {
+        JsonFactory factory = looksLikeJson(content) ? new JsonFactory() : new YAMLFactory();
+        return factory.createParser(content);
+    }
+
+    private static boolean isDataKeyword(JsonParser parser) throws IOException {
+        String name = parser.currentName();
+        if (!DATA_KEYWORDS.contains(name) && !name.startsWith("x-")) {
+            return false;
+        }
+        JsonStreamContext parent = parser.getParsingContext().getParent();
+        return parent == null || parent.getCurrentName() == null || !NAME_MAPS.contains(parent.getCurrentName());
+    }
+
+    private static boolean looksLikeJson(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!Character.isWhitespace(c) && c != '\uFEFF') {
+                return c == '{';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A pattern found by the scanner.
+     *
+     * @param pointer The JSON Pointer of the {@code pattern} keyword itself.
+     * @param line    The 1-based line of the pattern value.
+     * @param column  The 1-based column of the pattern value.
+     * @param regex   The regex text.
+     */
+    public record ScannedPattern(String pointer, int line, int column, String regex) {}
+}
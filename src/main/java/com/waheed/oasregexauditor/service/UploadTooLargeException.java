@@ -0,0 +1,13 @@
+package com.waheed.oasregexauditor.service;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an uploaded or pasted spec exceeds {@code app.audit.upload-max-size}.
+ */
+public class UploadTooLargeException extends IOException {
+
+    public UploadTooLargeException(long maxBytes) {
+        super("The spec is larger than the limit of " + maxBytes + " bytes.");
+    }
+}
@@ -0,0 +1,53 @@
+package com.waheed.oasregexauditor.service.redos;
+
+/**
+ * A {@link CharSequence} that aborts the regex match reading it once a deadline passes or the thread is
+ * interrupted. Backtracking matchers read their input through {@link #charAt(int)} on every step, so
+ * checking there bounds a match that would otherwise run for hours and ignore interrupts.
+ */
+final class InterruptibleCharSequence implements CharSequence {
+
+    // Reading the clock on every character would dominate the measurement.
+    private static final int CHECK_INTERVAL = 4096;
+
+    private final CharSequence inner;
+    private final long deadline;
+    private int reads;
+
+    InterruptibleCharSequence(CharSequence inner, long deadline) {
+        this.inner = inner;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++reads % CHECK_INTERVAL == 0 && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            throw new MatchTimeoutException();
+        }
+        return inner.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return inner.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new InterruptibleCharSequence(inner.subSequence(start, end), deadline);
+    }
+
+    @Override
+    public String toString() {
+        return inner.toString();
+    }
+
+    /**
+     * Thrown out of the matcher when the deadline passes.
+     */
+    static final class MatchTimeoutException extends RuntimeException {
+        MatchTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.waheed.oasregexauditor.service.redos;
+
+import com.waheed.oasregexauditor.service.regex.CharClass;
+import com.waheed.oasregexauditor.service.regex.RegexNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The position (Glushkov) automaton of a regex, which has one state per character-matching leaf and
+ * no epsilon transitions. Unlike a textbook construction it keeps the number of distinct ways each
+ * transition arises from the syntax tree, so nested quantifiers such as {@code (a+)+} show up as
+ * parallel edges: this is exactly the ambiguity a backtracking matcher pays for.
+ * <p>
+ * State 0 is the initial state; states {@code 1..n} are positions, and entering position {@code q}
+ * consumes one character from {@link #label(int)}. Bounded repetitions are unrolled up to
+ * {@link #MAX_UNROLL} copies and treated as unbounded beyond that, as a matcher that can backtrack
+ * 255 times into {@code {1,255}} behaves like one facing {@code +}. Assertions and lookarounds
+ * are treated as matching the empty string.
+ * <p>
+ * Unrolling multiplies across nested repetitions, so {@code ((a?){10}){10}} already has 100 positions and
+ * nearly all pairs of them connected. The number of positions is therefore computed from the syntax tree before
+ * anything is built, and every position and every edge merged while building is charged to the analysis budget.
+ */
+final class PositionAutomaton {
+
+    static final int MAX_UNROLL = 10;
+
+    // Counts saturate here; only "one way" versus "several ways" matters to the analysis.
+    private static final int MAX_MULTIPLICITY = 2;
+
+    private final int maxPositions;
+    private final RedosAnalyzer.Budget budget;
+    private int edgeCount;
+    private final List<CharClass> labels = new ArrayList<>();
+    private final List<Map<Integer, Integer>> edges = new ArrayList<>();
+    private final List<Loop> loops = new ArrayList<>();
+    private final List<int[]> atomicRegions = new ArrayList<>();
+    private final boolean[] accepting;
+
+    private PositionAutomaton(RegexNode root, int maxPositions, RedosAnalyzer.Budget budget) {
+        this.maxPositions = maxPositions;
+        this.budget = budget;
+        labels.add(CharClass.EMPTY);
+        edges.add(new LinkedHashMap<>());
+        Fragment fragment = build(root);
+        addEdges(Map.of(0, 1), fragment.first());
+        accepting = new boolean[labels.size()];
+        accepting[0] = fragment.nullable();
+        fragment.last().keySet().forEach(p -> accepting[p] = true);
+    }
+
+    /**
+     * Builds the automaton of a parsed regex.
+     *
+     * @throws UnsupportedConstructException if the regex uses a backreference.
+     * @throws BudgetExceededException       if the automaton would exceed {@code maxPositions} states or edges, or the
+     *                                       budget runs out while building it.
+     */
+    static PositionAutomaton of(RegexNode root, int maxPositions, RedosAnalyzer.Budget budget) {
+        if (positions(root, maxPositions) > maxPositions) {
+            throw new BudgetExceededException("more than " + maxPositions + " automaton states");
+        }
+        return new PositionAutomaton(root, maxPositions, budget);
+    }
+
+    /**
+     * Counts the positions of the automaton of a node, with repetitions unrolled as {@link #buildRepeat} does.
+     * Counting stops as soon as it exceeds {@code limit}, so the result is only exact up to there.
+     */
+    private static long positions(RegexNode node, long limit) {
+        if (node instanceof RegexNode.CharSet) {
+            return 1;
+        }
+        if (node instanceof RegexNode.Sequence sequence) {
+            return sum(sequence.items(), limit);
+        }
+        if (node instanceof RegexNode.Alternation alternation) {
+            return sum(alternation.alternatives(), limit);
+        }
+        if (node instanceof RegexNode.Group group) {
+            return positions(group.body(), limit);
+        }
+        if (node instanceof RegexNode.Repeat repeat) {
+            boolean unbounded = repeat.isUnbounded() || repeat.max() > MAX_UNROLL;
+            int required = Math.min(repeat.min(), MAX_UNROLL);
+            long copies = required + (unbounded ? 1 : repeat.max() - required);
+            long body = positions(repeat.body(), limit);
+            return body > 0 && copies > limit / body ? limit + 1 : body * copies;
+        }
+        return 0;
+    }
+
+    private static long sum(List<RegexNode> nodes, long limit) {
+        long total = 0;
+        for (RegexNode node : nodes) {
+            total += positions(node, limit);
+            if (total > limit) {
+                return total;
+            }
+        }
+        return total;
+    }
+
+    int size() {
+        return labels.size();
+    }
+
+    CharClass label(int state) {
+        return labels.get(state);
+    }
+
+    /**
+     * Returns the successors of a state with the number of distinct ways each transition arises.
+     */
+    Map<Integer, Integer> successors(int state) {
+        return edges.get(state);
+    }
+
+    boolean isAccepting(int state) {
+        return accepting[state];
+    }
+
+    List<Loop> loops() {
+        return loops;
+    }
+
+    /**
+     * Whether the position belongs to an atomic group or possessive quantifier, where the matcher
+     * never backtracks and ambiguity is harmless.
+     */
+    boolean isAtomic(int state) {
+        for (int[] region : atomicRegions) {
+            if (state >= region[0] && state < region[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Fragment build(RegexNode node) {
+        if (node instanceof RegexNode.CharSet charSet) {
+            int position = newPosition(charSet.chars());
+            return new Fragment(false, Map.of(position, 1), Map.of(position, 1));
+        }
+        if (node instanceof RegexNode.Sequence sequence) {
+            Fragment result = Fragment.EPSILON;
+            for (RegexNode item : sequence.items()) {
+                result = concat(result, build(item));
+            }
+            return result;
+        }
+        if (node instanceof RegexNode.Alternation alternation) {
+            boolean nullable = false;
+            Map<Integer, Integer> first = new LinkedHashMap<>();
+            Map<Integer, Integer> last = new LinkedHashMap<>();
+            for (RegexNode alternative : alternation.alternatives()) {
+                Fragment fragment = build(alternative);
+                nullable |= fragment.nullable();
+                merge(first, fragment.first(), 1);
+                merge(last, fragment.last(), 1);
+            }
+            return new Fragment(nullable, first, last);
+        }
+        if (node instanceof RegexNode.Group group) {
+            int from = labels.size();
+            Fragment fragment = build(group.body());
+            if (group.kind() == RegexNode.GroupKind.ATOMIC) {
+                atomicRegions.add(new int[]{from, labels.size()});
+            }
+            return fragment;
+        }
+        if (node instanceof RegexNode.Repeat repeat) {
+            int from = labels.size();
+            Fragment fragment = buildRepeat(repeat);
+            if (repeat.mode() == RegexNode.QuantifierMode.POSSESSIVE) {
+                atomicRegions.add(new int[]{from, labels.size()});
+            }
+            return fragment;
+        }
+        if (node instanceof RegexNode.Backreference) {
+            throw new UnsupportedConstructException("backreferences");
+        }
+        // Empty and assertions: zero-width.
+        return Fragment.EPSILON;
+    }
+
+    private Fragment buildRepeat(RegexNode.Repeat repeat) {
+        boolean unbounded = repeat.isUnbounded() || repeat.max() > MAX_UNROLL;
+        int required = Math.min(repeat.min(), MAX_UNROLL);
+        int optional = unbounded ? 0 : repeat.max() - required;
+        Fragment result = Fragment.EPSILON;
+        for (int i = 0; i < required; i++) {
+            result = concat(result, build(repeat.body()));
+        }
+        for (int i = 0; i < optional; i++) {
+            Fragment copy = build(repeat.body());
+            result = concat(result, new Fragment(true, copy.first(), copy.last()));
+        }
+        if (unbounded) {
+            int from = labels.size();
+            Fragment body = build(repeat.body());
+            for (Map.Entry<Integer, Integer> p : body.last().entrySet()) {
+                addEdges(Map.of(p.getKey(), p.getValue()), body.first());
+            }
+            loops.add(new Loop(repeat.start(), repeat.end(), from, labels.size()));
+            result = concat(result, new Fragment(true, body.first(), body.last()));
+        }
+        return result;
+    }
+
+    private Fragment concat(Fragment left, Fragment right) {
+        addEdges(left.last(), right.first());
+        Map<Integer, Integer> first = new LinkedHashMap<>();
+        merge(first, left.first(), 1);
+        if (left.nullable()) {
+            merge(first, right.first(), 1);
+        }
+        Map<Integer, Integer> last = new LinkedHashMap<>();
+        merge(last, right.last(), 1);
+        if (right.nullable()) {
+            merge(last, left.last(), 1);
+        }
+        return new Fragment(left.nullable() && right.nullable(), first, last);
+    }
+
+    private void addEdges(Map<Integer, Integer> from, Map<Integer, Integer> to) {
+        for (Map.Entry<Integer, Integer> p : from.entrySet()) {
+            Map<Integer, Integer> successors = edges.get(p.getKey());
+            int before = successors.size();
+            merge(successors, to, p.getValue());
+            edgeCount += successors.size() - before;
+            if (edgeCount > maxPositions) {
+                throw new BudgetExceededException("more than " + maxPositions + " automaton edges");
+            }
+        }
+    }
+
+    /**
+     * Adds the entries of one position set to another; each entry is charged to the budget.
+     */
+    private void merge(Map<Integer, Integer> target, Map<Integer, Integer> source, int factor) {
+        for (Map.Entry<Integer, Integer> entry : source.entrySet()) {
+            budget.tick();
+            int added = Math.min(entry.getValue() * factor, MAX_MULTIPLICITY);
+            target.merge(entry.getKey(), added, (a, b) -> Math.min(a + b, MAX_MULTIPLICITY));
+        }
+    }
+
+    private int newPosition(CharClass chars) {
+        budget.tick();
+        if (labels.size() > maxPositions) {
+            throw new BudgetExceededException("more than " + maxPositions + " automaton states");
+        }
+        labels.add(chars);
+        edges.add(new LinkedHashMap<>());
+        return labels.size() - 1;
+    }
+
+    /**
+     * An unbounded repetition: its source span and the positions {@code [fromState, toState)} of its body.
+     */
+    record Loop(int start, int end, int fromState, int toState) {
+
+        boolean contains(int state) {
+            return state >= fromState && state < toState;
+        }
+    }
+
+    private record Fragment(boolean nullable, Map<Integer, Integer> first, Map<Integer, Integer> last) {
+        static final Fragment EPSILON = new Fragment(true, Map.of(), Map.of());
+    }
+
+    /**
+     * Thrown when the regex uses a construct that cannot be modelled by a finite automaton.
+     */
+    static final class UnsupportedConstructException extends RuntimeException {
+        UnsupportedConstructException(String construct) {
+            super(construct);
+        }
+    }
+
+    /**
+     * Thrown when the analysis of a regex exceeds its state or time budget.
+     */
+    static final class BudgetExceededException extends RuntimeException {
+        BudgetExceededException(String reason) {
+            super(reason);
+        }
+    }
+}
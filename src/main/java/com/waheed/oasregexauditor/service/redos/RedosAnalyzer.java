@@ -0,0 +1,558 @@
+package com.waheed.oasregexauditor.service.redos;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.service.redos.PositionAutomaton.BudgetExceededException;
+import com.waheed.oasregexauditor.service.redos.PositionAutomaton.Loop;
+import com.waheed.oasregexauditor.service.redos.PositionAutomaton.UnsupportedConstructException;
+import com.waheed.oasregexauditor.service.redos.RedosReport.Complexity;
+import com.waheed.oasregexauditor.service.regex.CharClass;
+import com.waheed.oasregexauditor.service.regex.RegexNode;
+import com.waheed.oasregexauditor.service.regex.RegexParseException;
+import com.waheed.oasregexauditor.service.regex.RegexParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * Detects regexes whose worst-case backtracking time is super-linear, by looking for ambiguity in
+ * their position automaton:
+ * <ul>
+ *     <li><b>Exponential (EDA)</b>: some state can loop back to itself along two different paths
+ *     reading the same string, e.g. {@code (a+)+} or {@code (a|a)*}. Each repetition of that string
+ *     doubles the paths a failing match has to try.</li>
+ *     <li><b>Polynomial (IDA)</b>: a loop can be left for a later loop along a string that both loops
+ *     also accept, e.g. {@code \d+\d+}. A chain of k such loops costs O(n^k).</li>
+ * </ul>
+ * Every analysis, including building the automaton, runs under a state and time budget from {@link AuditProperties};
+ * a regex that exhausts it is reported as {@link Complexity#INCONCLUSIVE} instead of stalling the audit.
+ */
+@Component
+public class RedosAnalyzer {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final AuditProperties auditProperties;
+
+    @Autowired
+    public RedosAnalyzer(AuditProperties auditProperties) {
+        this.auditProperties = auditProperties;
+    }
+
+    /**
+     * Analyzes a regex for catastrophic backtracking.
+     *
+     * @param regex The regex text.
+     * @return The worst-case complexity, with the vulnerable sub-expression and an attack string when found.
+     */
+    public RedosReport analyze(String regex) {
+        RegexNode root;
+        try {
+            root = RegexParser.parse(regex);
+        } catch (RegexParseException e) {
+            return RedosReport.of(Complexity.UNSUPPORTED, "The pattern could not be parsed: " + e.getMessage());
+        }
+        Budget budget = new Budget(auditProperties.getRedosMaxStates(), auditProperties.getRedosTimeBudget().toNanos());
+        try {
+            PositionAutomaton automaton = PositionAutomaton.of(root, auditProperties.getRedosMaxStates(), budget);
+            return new Analysis(regex, automaton, budget).run();
+        } catch (UnsupportedConstructException e) {
+            return RedosReport.of(Complexity.UNSUPPORTED, "The pattern uses " + e.getMessage() + ", which the analysis cannot model.");
+        } catch (BudgetExceededException e) {
+            return RedosReport.of(Complexity.INCONCLUSIVE, "The analysis was stopped after " + e.getMessage() + ".");
+        }
+    }
+
+    /**
+     * Caps the work of one analysis, from building the automaton to exploring its product states, and its wall-clock time.
+     * States are charged with {@link #tick()}; every other unit of work, such as one label intersection, with
+     * {@link #step()}, so that the deadline is also checked inside loops that find no new state.
+     */
+    static final class Budget {
+        private final int maxStates;
+        private final long deadline;
+        private int states;
+        private long steps;
+
+        Budget(int maxStates, long timeBudgetNanos) {
+            this.maxStates = maxStates;
+            this.deadline = System.nanoTime() + timeBudgetNanos;
+        }
+
+        void tick() {
+            if (++states > maxStates) {
+                throw new BudgetExceededException("exploring " + maxStates + " states");
+            }
+            step();
+        }
+
+        void step() {
+            if (++steps % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                throw new BudgetExceededException("reaching its time budget");
+            }
+        }
+    }
+
+    /**
+     * The state of one analysis: the automaton, its strongly connected components and the budget.
+     */
+    private static final class Analysis {
+        private final String regex;
+        private final PositionAutomaton automaton;
+        private final Budget budget;
+        private final int n;
+        private final int[] component;
+        private final List<int[]> components = new ArrayList<>();
+        private final int[][] successors;
+        private final int[][] predecessors;
+
+        Analysis(String regex, PositionAutomaton automaton, Budget budget) {
+            this.regex = regex;
+            this.automaton = automaton;
+            this.budget = budget;
+            this.n = automaton.size();
+            this.component = new int[n];
+            Arrays.fill(component, -1);
+            this.successors = new int[n][];
+            this.predecessors = new int[n][];
+        }
+
+        RedosReport run() {
+            findComponents();
+            findPredecessors();
+            List<Integer> loops = new ArrayList<>();
+            // Tarjan emits components sinks first; walk them in the order the matcher reaches them.
+            for (int c = components.size() - 1; c >= 0; c--) {
+                if (isVulnerableCandidate(c)) {
+                    loops.add(c);
+                }
+            }
+            for (int c : loops) {
+                RedosReport exponential = checkExponential(c);
+                if (exponential != null) {
+                    return exponential;
+                }
+            }
+            return checkPolynomial(loops);
+        }
+
+        // --- Strongly connected components (iterative Tarjan) ---
+
+        private void findComponents() {
+            int[] index = new int[n];
+            int[] lowLink = new int[n];
+            Arrays.fill(index, -1);
+            boolean[] onStack = new boolean[n];
+            Deque<Integer> stack = new ArrayDeque<>();
+            Deque<int[]> work = new ArrayDeque<>();
+            int counter = 0;
+            for (int root = 0; root < n; root++) {
+                if (index[root] >= 0) {
+                    continue;
+                }
+                work.push(new int[]{root, 0});
+                while (!work.isEmpty()) {
+                    int[] frame = work.peek();
+                    int v = frame[0];
+                    if (frame[1] == 0) {
+                        budget.tick();
+                        index[v] = lowLink[v] = counter++;
+                        stack.push(v);
+                        onStack[v] = true;
+                        successors[v] = automaton.successors(v).keySet().stream().mapToInt(Integer::intValue).toArray();
+                    }
+                    if (frame[1] < successors[v].length) {
+                        int w = successors[v][frame[1]++];
+                        if (index[w] < 0) {
+                            work.push(new int[]{w, 0});
+                        } else if (onStack[w]) {
+                            lowLink[v] = Math.min(lowLink[v], index[w]);
+                        }
+                        continue;
+                    }
+                    work.pop();
+                    if (!work.isEmpty()) {
+                        int parent = work.peek()[0];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                    }
+                    if (lowLink[v] == index[v]) {
+                        List<Integer> members = new ArrayList<>();
+                        int w;
+                        do {
+                            w = stack.pop();
+                            onStack[w] = false;
+                            component[w] = components.size();
+                            members.add(w);
+                        } while (w != v);
+                        components.add(members.stream().mapToInt(Integer::intValue).sorted().toArray());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Records, for every state, its predecessors within its own component.
+         */
+        private void findPredecessors() {
+            int[] counts = new int[n];
+            for (int v = 0; v < n; v++) {
+                for (int w : successors[v]) {
+                    budget.step();
+                    if (component[w] == component[v]) {
+                        counts[w]++;
+                    }
+                }
+            }
+            for (int w = 0; w < n; w++) {
+                predecessors[w] = new int[counts[w]];
+            }
+            for (int v = 0; v < n; v++) {
+                for (int w : successors[v]) {
+                    if (component[w] == component[v]) {
+                        predecessors[w][--counts[w]] = v;
+                    }
+                }
+            }
+        }
+
+        private boolean isVulnerableCandidate(int c) {
+            int[] members = components.get(c);
+            boolean cyclic = members.length > 1 || automaton.successors(members[0]).containsKey(members[0]);
+            if (!cyclic || members[0] == 0) {
+                return false;
+            }
+            for (int state : members) {
+                if (!automaton.isAtomic(state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // --- Exponential degree of ambiguity ---
+
+        private RedosReport checkExponential(int c) {
+            int[] members = components.get(c);
+            // Parallel edges: two syntactic ways to take the same step, as in (a+)+ or (a*)*.
+            for (int p : members) {
+                for (Map.Entry<Integer, Integer> edge : automaton.successors(p).entrySet()) {
+                    int q = edge.getKey();
+                    if (component[q] == c && edge.getValue() > 1) {
+                        String pump = sample(q) + path(q, s -> s == p, c);
+                        return exponential(nestedLoopSpan(p, q, components.get(c)), path(0, s -> s == p, -1), pump);
+                    }
+                }
+            }
+            // Two different paths from p back to p over the same string: a diagonal and an
+            // off-diagonal state in one component of the product automaton, as in (a|a)* or (\w|\d)+.
+            for (int p : members) {
+                long start = pair(p, p);
+                Set<Long> forward = reach(start, this::productSuccessors, c);
+                Set<Long> backward = reach(start, this::productPredecessors, c);
+                for (long node : forward) {
+                    int q1 = (int) (node / n);
+                    int q2 = (int) (node % n);
+                    if (q1 != q2 && backward.contains(node)) {
+                        String pump = productPath(start, node, c) + productPath(node, start, c);
+                        return exponential(span(members), path(0, s -> s == p, -1), pump);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private RedosReport exponential(int[] span, String prefix, String pump) {
+            String subexpression = regex.substring(span[0], span[1]);
+            return new RedosReport(Complexity.EXPONENTIAL, 0, subexpression, span[0], prefix, pump,
+                    "The sub-expression '" + subexpression + "' can match the same input in several ways on every iteration, "
+                            + "so a failing match takes exponential time in the input length.");
+        }
+
+        private long pair(int a, int b) {
+            return (long) a * n + b;
+        }
+
+        private void productSuccessors(long node, int c, EdgeSink sink) {
+            int a = (int) (node / n);
+            int b = (int) (node % n);
+            for (int a2 : successors[a]) {
+                if (component[a2] != c) {
+                    continue;
+                }
+                for (int b2 : successors[b]) {
+                    budget.step();
+                    if (component[b2] == c) {
+                        CharClass common = automaton.label(a2).intersect(automaton.label(b2));
+                        if (!common.isEmpty()) {
+                            sink.accept(pair(a2, b2), common.sample());
+                        }
+                    }
+                }
+            }
+        }
+
+        private void productPredecessors(long node, int c, EdgeSink sink) {
+            int a = (int) (node / n);
+            int b = (int) (node % n);
+            if (component[a] != c || component[b] != c || automaton.label(a).intersect(automaton.label(b)).isEmpty()) {
+                return;
+            }
+            for (int a0 : predecessors[a]) {
+                for (int b0 : predecessors[b]) {
+                    budget.step();
+                    sink.accept(pair(a0, b0), 0);
+                }
+            }
+        }
+
+        private String productPath(long from, long to, int c) {
+            String path = search(from, node -> node == to, (node, sink) -> productSuccessors(node, c, sink), true);
+            return path == null ? "" : path;
+        }
+
+        // --- Polynomial degree of ambiguity ---
+
+        private RedosReport checkPolynomial(List<Integer> loops) {
+            Map<Integer, List<Integer>> followers = new HashMap<>();
+            Map<Long, String[]> witnesses = new HashMap<>();
+            for (int c1 : loops) {
+                for (int c2 : loops) {
+                    if (c1 == c2) {
+                        continue;
+                    }
+                    String[] witness = findPolynomialWitness(c1, c2);
+                    if (witness != null) {
+                        followers.computeIfAbsent(c1, k -> new ArrayList<>()).add(c2);
+                        witnesses.put(pair(c1, c2), witness);
+                    }
+                }
+            }
+            if (followers.isEmpty()) {
+                return RedosReport.of(Complexity.SAFE, "No ambiguous loops were found; matching time is linear in the input length.");
+            }
+            // Longest chain of loops, each of which can hand the same input over to the next.
+            Map<Integer, Integer> chainLength = new HashMap<>();
+            Map<Integer, Integer> next = new HashMap<>();
+            for (int i = loops.size() - 1; i >= 0; i--) {
+                int c = loops.get(i);
+                int best = 1;
+                for (int follower : followers.getOrDefault(c, List.of())) {
+                    int length = 1 + chainLength.getOrDefault(follower, 1);
+                    if (length > best) {
+                        best = length;
+                        next.put(c, follower);
+                    }
+                }
+                chainLength.put(c, best);
+            }
+            int head = loops.stream().max((a, b) -> Integer.compare(chainLength.get(a), chainLength.get(b))).orElseThrow();
+            int degree = chainLength.get(head);
+            int tail = head;
+            while (next.containsKey(tail)) {
+                tail = next.get(tail);
+            }
+            int start = span(components.get(head))[0];
+            int end = Math.max(start, span(components.get(tail))[1]);
+            String subexpression = regex.substring(start, end);
+            String[] witness = witnesses.get(pair(head, next.get(head)));
+            return new RedosReport(Complexity.POLYNOMIAL, degree, subexpression, start, witness[0], witness[1],
+                    "The sub-expression '" + subexpression + "' chains " + degree + " loops that accept the same input, "
+                            + "so a failing match takes O(n^" + degree + ") time in the input length.");
+        }
+
+        /**
+         * Looks for p in c1 and q in c2 such that some string leads p to itself, p to q, and q to itself:
+         * the matcher can then split that string between both loops in every possible way.
+         */
+        private String[] findPolynomialWitness(int c1, int c2) {
+            for (int p : components.get(c1)) {
+                for (int q : components.get(c2)) {
+                    budget.step();
+                    long start = triple(p, p, q);
+                    long target = triple(p, q, q);
+                    String pump = search(start, node -> node == target, (node, sink) -> tripleSuccessors(node, c1, c2, sink), false);
+                    if (pump != null) {
+                        return new String[]{path(0, s -> s == p, -1), pump};
+                    }
+                }
+            }
+            return null;
+        }
+
+        private long triple(int a, int b, int c) {
+            return ((long) a * n + b) * n + c;
+        }
+
+        private void tripleSuccessors(long node, int c1, int c2, EdgeSink sink) {
+            int c = (int) (node % n);
+            int b = (int) ((node / n) % n);
+            int a = (int) (node / n / n);
+            for (int a2 : successors[a]) {
+                if (component[a2] != c1) {
+                    continue;
+                }
+                for (int b2 : successors[b]) {
+                    budget.step();
+                    CharClass ab = automaton.label(a2).intersect(automaton.label(b2));
+                    if (ab.isEmpty()) {
+                        continue;
+                    }
+                    for (int c3 : successors[c]) {
+                        budget.step();
+                        if (component[c3] == c2) {
+                            CharClass common = ab.intersect(automaton.label(c3));
+                            if (!common.isEmpty()) {
+                                sink.accept(triple(a2, b2, c3), common.sample());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // --- Helpers ---
+
+        /**
+         * Returns the source span of the loop responsible for a transition taken in several ways by nested loops: the
+         * smallest loop around the transition that encloses another one around it, e.g. {@code (a*)*} rather than
+         * {@code a*}. Without such nesting, e.g. when an alternation makes the ambiguity, it is the smallest loop
+         * around the whole component.
+         */
+        private int[] nestedLoopSpan(int p, int q, int[] members) {
+            Loop smallest = null;
+            for (Loop outer : automaton.loops()) {
+                if (!outer.contains(p) || !outer.contains(q)
+                        || (smallest != null && outer.end() - outer.start() >= smallest.end() - smallest.start())) {
+                    continue;
+                }
+                for (Loop inner : automaton.loops()) {
+                    if (inner != outer && inner.contains(p) && inner.contains(q)
+                            && inner.start() >= outer.start() && inner.end() <= outer.end()) {
+                        smallest = outer;
+                        break;
+                    }
+                }
+            }
+            return smallest == null ? span(members) : new int[]{smallest.start(), smallest.end()};
+        }
+
+        /**
+         * Returns the source span of the smallest loop that contains all the given states.
+         */
+        private int[] span(int[] states) {
+            Loop smallest = null;
+            for (Loop loop : automaton.loops()) {
+                if (Arrays.stream(states).allMatch(loop::contains)
+                        && (smallest == null || loop.end() - loop.start() < smallest.end() - smallest.start())) {
+                    smallest = loop;
+                }
+            }
+            return smallest == null ? new int[]{0, regex.length()} : new int[]{smallest.start(), smallest.end()};
+        }
+
+        private String sample(int state) {
+            return new String(Character.toChars(automaton.label(state).sample()));
+        }
+
+        /**
+         * Returns the shortest string leading from one automaton state to another, optionally within one component.
+         */
+        private String path(int from, IntPredicate to, int withinComponent) {
+            if (to.test(from)) {
+                return "";
+            }
+            String path = search(from, node -> to.test((int) node), (node, sink) -> {
+                for (int next : successors[(int) node]) {
+                    budget.step();
+                    if (withinComponent < 0 || component[next] == withinComponent) {
+                        sink.accept(next, automaton.label(next).sample());
+                    }
+                }
+            }, false);
+            return path == null ? "" : path;
+        }
+
+        private Set<Long> reach(long start, ProductGraph graph, int c) {
+            Set<Long> seen = new HashSet<>();
+            Deque<Long> queue = new ArrayDeque<>();
+            seen.add(start);
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                long node = queue.poll();
+                graph.forEach(node, c, (next, ch) -> {
+                    if (seen.add(next)) {
+                        budget.tick();
+                        queue.add(next);
+                    }
+                });
+            }
+            return seen;
+        }
+
+        /**
+         * Breadth-first search returning the characters along the shortest path to a target, or null if there is none.
+         *
+         * @param allowEmpty Whether the start itself may be the target; otherwise at least one character is read.
+         */
+        private String search(long start, LongPredicate target, Successors successors, boolean allowEmpty) {
+            if (allowEmpty && target.test(start)) {
+                return "";
+            }
+            Map<Long, long[]> parents = new HashMap<>();
+            Deque<Long> queue = new ArrayDeque<>();
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                long node = queue.poll();
+                long[] found = {-1};
+                successors.forEach(node, (next, ch) -> {
+                    if (found[0] >= 0 || parents.containsKey(next)) {
+                        return;
+                    }
+                    budget.tick();
+                    parents.put(next, new long[]{node, ch});
+                    if (target.test(next)) {
+                        found[0] = next;
+                    } else {
+                        queue.add(next);
+                    }
+                });
+                if (found[0] >= 0) {
+                    StringBuilder path = new StringBuilder();
+                    long current = found[0];
+                    do {
+                        long[] parent = parents.get(current);
+                        path.appendCodePoint((int) parent[1]);
+                        current = parent[0];
+                    } while (current != start);
+                    return path.reverse().toString();
+                }
+            }
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface EdgeSink {
+        void accept(long next, int ch);
+    }
+
+    @FunctionalInterface
+    private interface Successors {
+        void forEach(long node, EdgeSink sink);
+    }
+
+    @FunctionalInterface
+    private interface ProductGraph {
+        void forEach(long node, int component, EdgeSink sink);
+    }
+}
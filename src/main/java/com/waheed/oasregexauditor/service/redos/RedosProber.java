@@ -0,0 +1,286 @@
+package com.waheed.oasregexauditor.service.redos;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.redos.InterruptibleCharSequence.MatchTimeoutException;
+import com.waheed.oasregexauditor.service.redos.RedosReport.Complexity;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Confirms static ReDoS warnings by measurement. For every flagged pattern it builds attack strings
+ * from the prefix and pump found by the {@link RedosAnalyzer}, then times full matches with
+ * java.util.regex and RE2J as the input grows, and attaches the resulting growth curves to the warning.
+ * <p>
+ * Every match reads its input through an {@link InterruptibleCharSequence}, so a single probe is
+ * hard-capped at {@code app.audit.redos-probe-timeout} and a whole pattern at {@code app.audit.redos-probe-budget}.
+ * Probes run on the bounded {@code redosProbeExecutor}; when it is saturated, patterns are left unmeasured.
+ */
+@Service
+public class RedosProber {
+
+    private static final Logger log = LoggerFactory.getLogger(RedosProber.class);
+
+    private static final String JAVA_ENGINE = "java.util.regex";
+    private static final String RE2J_ENGINE = "RE2J";
+
+    // Characters tried, in order, to make the attack string fail to match, which forces full backtracking.
+    private static final List<String> SUFFIX_CANDIDATES = List.of("!", "\u0000", "\n", " ", "-", "_", "@", "a", "0", "A");
+
+    // Timings below this are dominated by noise and are not used to estimate growth.
+    private static final long MIN_MEASURABLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_INPUT_LENGTH = 1 << 17;
+    private static final int MAX_EXPONENTIAL_REPETITIONS = 64;
+    private static final int FIRST_POLYNOMIAL_REPETITIONS = 16;
+    private static final int WARM_UP_RUNS = 20;
+    private static final int FIT_SAMPLES = 3;
+
+    private final RedosAnalyzer redosAnalyzer;
+    private final AuditProperties auditProperties;
+    private final ThreadPoolExecutor redosProbeExecutor;
+
+    @Autowired
+    public RedosProber(RedosAnalyzer redosAnalyzer, AuditProperties auditProperties,
+                       @Qualifier("redosProbeExecutor") ThreadPoolExecutor redosProbeExecutor) {
+        this.redosAnalyzer = redosAnalyzer;
+        this.auditProperties = auditProperties;
+        this.redosProbeExecutor = redosProbeExecutor;
+    }
+
+    /**
+     * Measures every pattern carrying a ReDoS warning among the given results and stores the growth
+     * curves in the warnings' {@code evidence}. Each distinct pattern is measured once.
+     *
+     * @param results The results of an audit; only ReDoS warnings are modified.
+     */
+    public void confirm(List<ValidationResult> results) {
+        Map<String, List<ValidationResult>> warningsByRegex = results.stream()
+                .filter(r -> RedosRule.REDOS_WARNING.equals(r.getMessage()))
+                .collect(Collectors.groupingBy(ValidationResult::getRegexPattern, LinkedHashMap::new, Collectors.toList()));
+        if (warningsByRegex.isEmpty()) {
+            return;
+        }
+
+        Map<String, Future<String>> probes = new LinkedHashMap<>();
+        for (String regex : warningsByRegex.keySet()) {
+            try {
+                probes.put(regex, redosProbeExecutor.submit(() -> probe(regex)));
+            } catch (RejectedExecutionException e) {
+                setEvidence(warningsByRegex.get(regex), "Not measured: the probe pool is busy with other patterns.");
+            }
+        }
+
+        // Queued probes wait for earlier ones, so allow one budget per round of the pool.
+        long budget = auditProperties.getRedosProbeBudget().toNanos();
+        int rounds = (probes.size() + redosProbeExecutor.getMaximumPoolSize() - 1) / redosProbeExecutor.getMaximumPoolSize();
+        long deadline = System.nanoTime() + budget * (rounds + 1);
+        probes.forEach((regex, probe) -> setEvidence(warningsByRegex.get(regex), await(probe, deadline)));
+    }
+
+    private String await(Future<String> probe, long deadline) {
+        try {
+            return probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            probe.cancel(true);
+            return "Not measured: the probe did not get a turn within its budget.";
+        } catch (InterruptedException e) {
+            probe.cancel(true);
+            Thread.currentThread().interrupt();
+            return "Not measured: the audit was interrupted.";
+        } catch (ExecutionException e) {
+            log.warn("ReDoS probe failed.", e.getCause());
+            return "Not measured: " + e.getCause().getMessage();
+        }
+    }
+
+    private static void setEvidence(List<ValidationResult> warnings, String evidence) {
+        warnings.forEach(w -> w.setEvidence(evidence));
+    }
+
+    /**
+     * Times one pattern on every engine that accepts it and describes the growth, e.g.
+     * "java.util.regex: ×1.41 per added character, over 1.0 s at n=42; RE2J: no measurable growth, 35 µs at n=42".
+     */
+    String probe(String regex) {
+        RedosReport report = redosAnalyzer.analyze(regex);
+        if (!report.isVulnerable() || report.pump() == null || report.pump().isEmpty()) {
+            return "Not measured: no attack string could be derived for this pattern.";
+        }
+        List<ProbeEngine> engines = engines(regex);
+        if (engines.isEmpty()) {
+            return "Not measured: neither java.util.regex nor RE2J accepts this pattern.";
+        }
+        String suffix = failingSuffix(engines.get(0), report);
+        long engineBudget = auditProperties.getRedosProbeBudget().toNanos() / engines.size();
+
+        List<String> curves = new ArrayList<>();
+        for (ProbeEngine engine : engines) {
+            List<Sample> samples = measure(engine, report, suffix, System.nanoTime() + engineBudget);
+            curves.add(describe(engine.name(), samples, report.complexity()));
+        }
+        return "Attack '" + report.prefix() + "' + '" + report.pump() + "'×k + '" + printable(suffix) + "': " + String.join("; ", curves);
+    }
+
+    private static List<ProbeEngine> engines(String regex) {
+        List<ProbeEngine> engines = new ArrayList<>();
+        try {
+            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(regex);
+            engines.add(new ProbeEngine(JAVA_ENGINE, input -> pattern.matcher(input).matches()));
+        } catch (RuntimeException e) {
+            // Not a Java regex; the RE2J measurement may still apply.
+        }
+        try {
+            com.google.re2j.Pattern pattern = com.google.re2j.Pattern.compile(regex);
+            engines.add(new ProbeEngine(RE2J_ENGINE, input -> pattern.matcher(input).matches()));
+        } catch (RuntimeException e) {
+            // Not an RE2 regex, e.g. it uses lookarounds.
+        }
+        return engines;
+    }
+
+    private String failingSuffix(ProbeEngine engine, RedosReport report) {
+        String base = report.prefix() + report.pump().repeat(2);
+        long deadline = System.nanoTime() + auditProperties.getRedosProbeTimeout().toNanos();
+        for (String candidate : SUFFIX_CANDIDATES) {
+            try {
+                if (!engine.matcher().test(new InterruptibleCharSequence(base + candidate, deadline))) {
+                    return candidate;
+                }
+            } catch (MatchTimeoutException e) {
+                return candidate;
+            }
+        }
+        return SUFFIX_CANDIDATES.get(0);
+    }
+
+    /**
+     * Times matches of growing attack strings until a match hits the per-probe cap, the engine's share
+     * of the budget is spent, or the input reaches {@link #MAX_INPUT_LENGTH}.
+     */
+    private List<Sample> measure(ProbeEngine engine, RedosReport report, String suffix, long engineDeadline) {
+        List<Sample> samples = new ArrayList<>();
+        long probeTimeout = auditProperties.getRedosProbeTimeout().toNanos();
+        boolean exponential = report.complexity() == Complexity.EXPONENTIAL;
+        int repetitions = exponential ? 1 : FIRST_POLYNOMIAL_REPETITIONS;
+        warmUp(engine, report.prefix() + report.pump().repeat(repetitions) + suffix, engineDeadline);
+        while (System.nanoTime() < engineDeadline) {
+            String input = report.prefix() + report.pump().repeat(repetitions) + suffix;
+            if (input.length() > MAX_INPUT_LENGTH || (exponential && repetitions > MAX_EXPONENTIAL_REPETITIONS)) {
+                break;
+            }
+            long start = System.nanoTime();
+            long deadline = Math.min(start + probeTimeout, engineDeadline);
+            boolean timedOut = false;
+            try {
+                engine.matcher().test(new InterruptibleCharSequence(input, deadline));
+            } catch (MatchTimeoutException e) {
+                timedOut = true;
+            } catch (StackOverflowError e) {
+                samples.add(new Sample(input.length(), System.nanoTime() - start, true, true));
+                break;
+            }
+            samples.add(new Sample(input.length(), System.nanoTime() - start, timedOut, false));
+            if (timedOut) {
+                break;
+            }
+            repetitions = exponential ? repetitions + 1 : repetitions * 2;
+        }
+        return samples;
+    }
+
+    // Runs the smallest attack a few times so that the first samples do not measure the interpreter.
+    private static void warmUp(ProbeEngine engine, String input, long deadline) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            try {
+                engine.matcher().test(new InterruptibleCharSequence(input, deadline));
+            } catch (MatchTimeoutException | StackOverflowError e) {
+                return;
+            }
+        }
+    }
+
+    static String describe(String engine, List<Sample> samples, Complexity complexity) {
+        if (samples.isEmpty()) {
+            return engine + ": not measured";
+        }
+        Sample last = samples.get(samples.size() - 1);
+        String outcome = last.stackOverflow()
+                ? "stack overflow at n=" + last.length()
+                : (last.timedOut() ? "over " : "") + formatNanos(last.nanos()) + " at n=" + last.length();
+        List<Sample> measurable = samples.stream()
+                .filter(s -> !s.timedOut() && s.nanos() >= MIN_MEASURABLE_NANOS)
+                .toList();
+        String growth = "no measurable growth";
+        if (measurable.size() >= 2) {
+            // Least-squares slope of log(time) over n (exponential) or over log(n) (polynomial) of the largest
+            // inputs, where the asymptotic term dominates; it smooths out the odd sample slowed down by JIT or GC.
+            boolean exponential = complexity == Complexity.EXPONENTIAL;
+            List<Sample> tail = measurable.subList(Math.max(0, measurable.size() - FIT_SAMPLES), measurable.size());
+            double slope = slope(tail, s -> exponential ? s.length() : Math.log(s.length()));
+            if (exponential) {
+                double perChar = Math.exp(slope);
+                if (perChar >= 1.05) {
+                    growth = String.format(Locale.ROOT, "×%.2f per added character", perChar);
+                }
+            } else {
+                growth = slope < 1.3 ? "linear" : String.format(Locale.ROOT, "grows like n^%.1f", slope);
+            }
+        } else if (last.timedOut() || last.stackOverflow()) {
+            growth = "super-linear";
+        }
+        return engine + ": " + growth + ", " + outcome;
+    }
+
+    private static double slope(List<Sample> samples, ToDoubleFunction<Sample> x) {
+        double meanX = samples.stream().mapToDouble(x).average().orElse(0);
+        double meanY = samples.stream().mapToDouble(s -> Math.log(s.nanos())).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (Sample sample : samples) {
+            double dx = x.applyAsDouble(sample) - meanX;
+            covariance += dx * (Math.log(sample.nanos()) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= TimeUnit.SECONDS.toNanos(1)) {
+            return String.format(Locale.ROOT, "%.1f s", nanos / 1e9);
+        }
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(1)) {
+            return String.format(Locale.ROOT, "%.1f ms", nanos / 1e6);
+        }
+        return String.format(Locale.ROOT, "%d µs", nanos / 1000);
+    }
+
+    private static String printable(String s) {
+        return s.replace("\u0000", "\\0").replace("\n", "\\n");
+    }
+
+    private record ProbeEngine(String name, Predicate<CharSequence> matcher) {}
+
+    /**
+     * One timed match: the input length, the elapsed time and whether the match was cut off.
+     */
+    record Sample(int length, long nanos, boolean timedOut, boolean stackOverflow) {}
+}
@@ -0,0 +1,49 @@
+package com.waheed.oasregexauditor.service.redos;
+
+/**
+ * The outcome of the static ReDoS analysis of one regex.
+ *
+ * @param complexity              The worst-case backtracking behaviour.
+ * @param degree                  For {@link Complexity#POLYNOMIAL}, the exponent k of O(n^k); otherwise 0.
+ * @param vulnerableSubexpression The part of the regex responsible for the blow-up, or null when safe.
+ * @param startIndex              The offset of the vulnerable sub-expression in the regex, or -1.
+ * @param prefix                  A string leading the matcher to the vulnerable part, or null.
+ * @param pump                    A string that, repeated, multiplies the number of matching paths, or null.
+ * @param detail                  A short human-readable explanation.
+ */
+public record RedosReport(Complexity complexity, int degree, String vulnerableSubexpression, int startIndex,
+                          String prefix, String pump, String detail) {
+
+    public enum Complexity {
+        SAFE,
+        POLYNOMIAL,
+        EXPONENTIAL,
+        /**
+         * The analysis ran out of its time or state budget.
+         */
+        INCONCLUSIVE,
+        /**
+         * The regex uses constructs the analysis cannot model, such as backreferences, or does not parse.
+         */
+        UNSUPPORTED
+    }
+
+    public boolean isVulnerable() {
+        return complexity == Complexity.EXPONENTIAL || complexity == Complexity.POLYNOMIAL;
+    }
+
+    static RedosReport of(Complexity complexity, String detail) {
+        return new RedosReport(complexity, 0, null, -1, null, null, detail);
+    }
+
+    /**
+     * Describes the worst case, e.g. "exponential" or "O(n^3)".
+     */
+    public String describeGrowth() {
+        return switch (complexity) {
+            case EXPONENTIAL -> "exponential";
+            case POLYNOMIAL -> "O(n^" + degree + ")";
+            default -> "linear";
+        };
+    }
+}
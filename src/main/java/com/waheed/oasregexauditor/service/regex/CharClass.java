@@ -0,0 +1,177 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable set of code points, stored as sorted, disjoint, inclusive ranges.
+ */
+public final class CharClass {
+
+    public static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    public static final CharClass EMPTY = new CharClass(new int[0]);
+    public static final CharClass ANY = range(0, MAX_CODE_POINT);
+    public static final CharClass DIGIT = range('0', '9');
+    public static final CharClass WORD = builder().addRange('a', 'z').addRange('A', 'Z').addRange('0', '9').add('_').build();
+    public static final CharClass SPACE = builder().add(' ').addRange('\t', '\r').build();
+    public static final CharClass LINE_TERMINATOR = builder().add('\n').add('\r').add(0x85).addRange(0x2028, 0x2029).build();
+    public static final CharClass DOT = LINE_TERMINATOR.complement();
+
+    private final int[] ranges;
+
+    private CharClass(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    public static CharClass of(int codePoint) {
+        return range(codePoint, codePoint);
+    }
+
+    public static CharClass range(int from, int to) {
+        return new CharClass(new int[]{from, to});
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    public boolean contains(int codePoint) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (codePoint < ranges[i]) {
+                return false;
+            }
+            if (codePoint <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CharClass union(CharClass other) {
+        return builder().addAll(this).addAll(other).build();
+    }
+
+    public CharClass complement() {
+        Builder builder = builder();
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                builder.addRange(next, ranges[i] - 1);
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX_CODE_POINT) {
+            builder.addRange(next, MAX_CODE_POINT);
+        }
+        return builder.build();
+    }
+
+    public CharClass intersect(CharClass other) {
+        Builder builder = builder();
+        int i = 0;
+        int j = 0;
+        while (i < ranges.length && j < other.ranges.length) {
+            int lo = Math.max(ranges[i], other.ranges[j]);
+            int hi = Math.min(ranges[i + 1], other.ranges[j + 1]);
+            if (lo <= hi) {
+                builder.addRange(lo, hi);
+            }
+            if (ranges[i + 1] < other.ranges[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return builder.build();
+    }
+
+    public boolean intersects(CharClass other) {
+        int i = 0;
+        int j = 0;
+        while (i < ranges.length && j < other.ranges.length) {
+            if (Math.max(ranges[i], other.ranges[j]) <= Math.min(ranges[i + 1], other.ranges[j + 1])) {
+                return true;
+            }
+            if (ranges[i + 1] < other.ranges[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a representative member, preferring printable ASCII so that generated strings stay readable.
+     *
+     * @return A code point in this class, or -1 if the class is empty.
+     */
+    public int sample() {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i + 1] >= 0x21 && ranges[i] <= 0x7E) {
+                return Math.max(ranges[i], 0x21);
+            }
+        }
+        return ranges.length == 0 ? -1 : ranges[0];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CharClass other && Arrays.equals(ranges, other.ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    /**
+     * Accumulates ranges in any order and normalises them on {@link #build()}.
+     */
+    public static final class Builder {
+
+        private final List<int[]> pending = new ArrayList<>();
+
+        public Builder add(int codePoint) {
+            return addRange(codePoint, codePoint);
+        }
+
+        public Builder addRange(int from, int to) {
+            if (from <= to) {
+                pending.add(new int[]{from, to});
+            }
+            return this;
+        }
+
+        public Builder addAll(CharClass chars) {
+            for (int i = 0; i < chars.ranges.length; i += 2) {
+                addRange(chars.ranges[i], chars.ranges[i + 1]);
+            }
+            return this;
+        }
+
+        public CharClass build() {
+            if (pending.isEmpty()) {
+                return EMPTY;
+            }
+            pending.sort((a, b) -> Integer.compare(a[0], b[0]));
+            int[] merged = new int[pending.size() * 2];
+            int size = 0;
+            for (int[] range : pending) {
+                if (size > 0 && range[0] <= merged[size - 1] + 1) {
+                    merged[size - 1] = Math.max(merged[size - 1], range[1]);
+                } else {
+                    merged[size++] = range[0];
+                    merged[size++] = range[1];
+                }
+            }
+            return new CharClass(Arrays.copyOf(merged, size));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.waheed.oasregexauditor.service.regex;
+
+/**
+ * A regex dialect whose support for each {@link RegexFeature} is known, matching one of the audited engines.
+ */
+public enum Dialect {
+
+    /**
+     * {@code java.util.regex} as of Java 21.
+     */
+    JAVA("Java"),
+
+    /**
+     * RE2 as implemented by RE2J, standing in for Go's {@code regexp}.
+     */
+    RE2("RE2"),
+
+    /**
+     * ECMA-262 without flags, i.e. {@code new RegExp(pattern)}, which is how OpenAPI and JSON Schema define
+     * {@code pattern}. Annex B applies, so many constructs of other dialects are read as literal characters
+     * instead of being rejected.
+     */
+    ECMASCRIPT("ECMAScript");
+
+    private final String displayName;
+
+    Dialect(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+}
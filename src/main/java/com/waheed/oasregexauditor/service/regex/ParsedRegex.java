@@ -0,0 +1,17 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import java.util.List;
+
+/**
+ * The outcome of {@link RegexParser#parseWithFeatures}: the syntax tree and the dialect-specific constructs it was built from.
+ *
+ * @param root     The root node.
+ * @param features The uses of {@link RegexFeature}s, ordered by offset.
+ */
+public record ParsedRegex(RegexNode root, List<FeatureUse> features) {
+
+    /**
+     * One use of a feature, with the {@code [start, end)} offsets of its syntax, e.g. the {@code (?<=} of a lookbehind.
+     */
+    public record FeatureUse(RegexFeature feature, int start, int end) {}
+}
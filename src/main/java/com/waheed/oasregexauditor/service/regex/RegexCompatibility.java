@@ -0,0 +1,117 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import com.waheed.oasregexauditor.service.regex.ParsedRegex.FeatureUse;
+import com.waheed.oasregexauditor.service.regex.RegexFeature.Support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whether a regex works in each {@link Dialect}, decided statically: the regex is parsed once and every recorded
+ * {@link RegexFeature} is looked up in the feature table for all dialects in the same pass. A dialect rejects the
+ * regex if it rejects a construct, in which case the verdict points at it; a regex that cannot be parsed, or with a
+ * construct the table cannot decide for a dialect ahead of any rejected one, is left to that dialect's engine.
+ */
+public final class RegexCompatibility {
+
+    private static final Dialect[] DIALECTS = Dialect.values();
+
+    private final Map<Dialect, Verdict> verdicts;
+
+    private RegexCompatibility(Map<Dialect, Verdict> verdicts) {
+        this.verdicts = verdicts;
+    }
+
+    /**
+     * Analyzes a regex for all dialects.
+     *
+     * @param regex The regex text.
+     * @return The verdict of every dialect.
+     */
+    public static RegexCompatibility analyze(String regex) {
+        Map<Dialect, Verdict> verdicts = new EnumMap<>(Dialect.class);
+        ParsedRegex parsed;
+        try {
+            parsed = RegexParser.parseWithFeatures(regex);
+        } catch (RegexParseException e) {
+            // Malformed for the lenient parser, so most likely for every engine, or nested too deeply to analyze;
+            // either way the engines decide, and their own messages are more precise.
+            for (Dialect dialect : DIALECTS) {
+                verdicts.put(dialect, Verdict.UNDECIDED);
+            }
+            return new RegexCompatibility(verdicts);
+        }
+
+        Support[] supports = new Support[DIALECTS.length];
+        FeatureUse[] constructs = new FeatureUse[DIALECTS.length];
+        Arrays.fill(supports, Support.SUPPORTED);
+        for (FeatureUse use : parsed.features()) {
+            for (int i = 0; i < DIALECTS.length; i++) {
+                // Uses are ordered by offset. A rejected construct decides the dialect; an undecided one does too,
+                // since the dialect may read the rest of the regex differently, e.g. after a nested class.
+                if (supports[i].compareTo(Support.UNKNOWN) >= 0) {
+                    continue;
+                }
+                Support support = use.feature().support(DIALECTS[i]);
+                if (support.compareTo(supports[i]) > 0) {
+                    supports[i] = support;
+                    constructs[i] = use;
+                }
+            }
+        }
+        for (int i = 0; i < DIALECTS.length; i++) {
+            String suggestedRegex = supports[i] == Support.UNSUPPORTED ? rewrite(regex, parsed.features(), DIALECTS[i]) : null;
+            verdicts.put(DIALECTS[i], new Verdict(supports[i], constructs[i], suggestedRegex));
+        }
+        return new RegexCompatibility(verdicts);
+    }
+
+    public Verdict verdict(Dialect dialect) {
+        return verdicts.get(dialect);
+    }
+
+    /**
+     * Rewrites every construct the dialect rejects into its equivalent there, if all of them have one and no
+     * undecided construct remains.
+     */
+    private static String rewrite(String regex, List<FeatureUse> uses, Dialect dialect) {
+        List<FeatureUse> rejected = new ArrayList<>();
+        for (FeatureUse use : uses) {
+            Support support = use.feature().support(dialect);
+            if (support == Support.UNKNOWN || (support == Support.UNSUPPORTED && use.feature().rewrite() == null)) {
+                return null;
+            }
+            if (support == Support.UNSUPPORTED) {
+                rejected.add(use);
+            }
+        }
+        StringBuilder rewritten = new StringBuilder(regex);
+        for (int i = rejected.size() - 1; i >= 0; i--) {
+            FeatureUse use = rejected.get(i);
+            rewritten.replace(use.start(), use.end(), use.feature().rewrite());
+        }
+        return rewritten.toString();
+    }
+
+    /**
+     * The verdict of one dialect.
+     *
+     * @param support        How the dialect treats the regex: as its least supported construct.
+     * @param construct      That construct, e.g. the first rejected one; null if the regex uses none or cannot be parsed.
+     * @param suggestedRegex An equivalent regex the dialect accepts, if the regex is rejected and one is known.
+     */
+    public record Verdict(Support support, FeatureUse construct, String suggestedRegex) {
+
+        static final Verdict UNDECIDED = new Verdict(Support.UNKNOWN, null, null);
+
+        /**
+         * Whether the verdict is final, i.e. the dialect's engine need not be asked.
+         */
+        public boolean isDecided() {
+            return support != Support.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import static com.waheed.oasregexauditor.service.regex.RegexFeature.Support.DIFFERENT;
+import static com.waheed.oasregexauditor.service.regex.RegexFeature.Support.SUPPORTED;
+import static com.waheed.oasregexauditor.service.regex.RegexFeature.Support.UNKNOWN;
+import static com.waheed.oasregexauditor.service.regex.RegexFeature.Support.UNSUPPORTED;
+
+/**
+ * The feature table: regex constructs outside the subset every {@link Dialect} accepts alike, with how each dialect
+ * treats them. {@link RegexParser} records every use of one, so that {@link RegexCompatibility} can decide all
+ * dialects from a single parse. Constructs whose support depends on details, e.g. the name of a Unicode property,
+ * are split into one constant per outcome; the support was established against the engines the auditor runs.
+ */
+public enum RegexFeature {
+
+    LOOKAHEAD("lookahead", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    LOOKBEHIND("lookbehind", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    QUANTIFIED_LOOKBEHIND("quantified lookbehind", SUPPORTED, UNSUPPORTED, UNSUPPORTED),
+    // Java needs an obvious maximum length behind, which it finds for a+b+, (?:a)* and (ab){1,3} but not for a+b{2},
+    // (?:ab)* or (a|b){2}; repeats of groups, and bounded repeats after unbounded ones, are left to the engine.
+    UNBOUNDED_LOOKBEHIND("lookbehind without an obvious maximum length", UNKNOWN, UNSUPPORTED, SUPPORTED),
+    QUANTIFIED_ANCHOR("quantified anchor", SUPPORTED, SUPPORTED, UNSUPPORTED),
+    QUANTIFIED_INLINE_FLAGS("quantified inline flags", UNKNOWN, UNKNOWN, UNSUPPORTED),
+    ATOMIC_GROUP("atomic group", SUPPORTED, UNSUPPORTED, UNSUPPORTED, "(?:"),
+    POSSESSIVE_QUANTIFIER("possessive quantifier", SUPPORTED, UNSUPPORTED, UNSUPPORTED, ""),
+    LARGE_REPEAT("repetition count above 1000", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    LITERAL_BRACE("unescaped '{' outside a quantifier", UNSUPPORTED, SUPPORTED, SUPPORTED, "\\{"),
+    QUANTIFIED_LITERAL_BRACE("quantified unescaped '{'", UNSUPPORTED, UNSUPPORTED, SUPPORTED, "\\{"),
+    NAMED_GROUP("named group", SUPPORTED, UNSUPPORTED, SUPPORTED, "(?P<"),
+    PYTHON_NAMED_GROUP("Python-style named group", UNSUPPORTED, SUPPORTED, UNSUPPORTED, "(?<"),
+    GROUP_NAME("group name not made of letters and digits", UNSUPPORTED, UNKNOWN, UNKNOWN),
+    DUPLICATE_GROUP_NAME("duplicate group name", UNSUPPORTED, UNSUPPORTED, UNSUPPORTED),
+    BACKREFERENCE("backreference", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    UNDEFINED_BACKREFERENCE("backreference to a missing group", SUPPORTED, UNSUPPORTED, DIFFERENT),
+    NAMED_BACKREFERENCE("named backreference", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    FORWARD_NAMED_BACKREFERENCE("named backreference ahead of its group", UNSUPPORTED, UNSUPPORTED, SUPPORTED),
+    UNDEFINED_NAMED_BACKREFERENCE("named backreference to a missing group", UNSUPPORTED, UNSUPPORTED, UNKNOWN),
+    INLINE_FLAGS("inline flags", SUPPORTED, SUPPORTED, UNSUPPORTED),
+    JAVA_INLINE_FLAGS("Java inline flags", SUPPORTED, UNSUPPORTED, UNSUPPORTED),
+    INVALID_INLINE_FLAGS("invalid inline flags", UNSUPPORTED, UNSUPPORTED, UNSUPPORTED),
+    UNICODE_CATEGORY("Unicode category", SUPPORTED, SUPPORTED, DIFFERENT),
+    JAVA_UNICODE_CATEGORY("Unicode category", SUPPORTED, UNSUPPORTED, DIFFERENT),
+    UNICODE_SCRIPT("Unicode script", UNSUPPORTED, SUPPORTED, DIFFERENT),
+    RECENT_UNICODE_SCRIPT("Unicode script", UNSUPPORTED, UNKNOWN, DIFFERENT),
+    RE2_UNICODE_PROPERTY("RE2 Unicode class", UNSUPPORTED, SUPPORTED, DIFFERENT),
+    UNICODE_PROPERTY("Unicode property", UNKNOWN, UNSUPPORTED, DIFFERENT),
+    INPUT_BOUNDARY("input boundary", SUPPORTED, SUPPORTED, DIFFERENT),
+    JAVA_BOUNDARY("Java boundary", SUPPORTED, UNSUPPORTED, DIFFERENT),
+    GRAPHEME_BOUNDARY("grapheme cluster boundary", SUPPORTED, DIFFERENT, DIFFERENT),
+    QUOTED_LITERAL("quoted literal", SUPPORTED, SUPPORTED, DIFFERENT),
+    JAVA_ESCAPE("Java escape", SUPPORTED, UNSUPPORTED, DIFFERENT),
+    BELL_ESCAPE("bell escape", SUPPORTED, SUPPORTED, DIFFERENT),
+    BRACED_HEX_ESCAPE("braced hexadecimal escape", SUPPORTED, SUPPORTED, DIFFERENT),
+    UNICODE_ESCAPE("Unicode escape", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    BRACED_UNICODE_ESCAPE("braced Unicode escape", UNSUPPORTED, UNSUPPORTED, DIFFERENT),
+    CONTROL_ESCAPE("control escape", SUPPORTED, UNSUPPORTED, SUPPORTED),
+    NUL_ESCAPE("NUL escape", UNSUPPORTED, SUPPORTED, SUPPORTED),
+    UNKNOWN_ESCAPE("unknown escape", UNSUPPORTED, UNSUPPORTED, DIFFERENT),
+    CLASS_BACKSPACE("backspace escape in a character class", UNSUPPORTED, UNSUPPORTED, SUPPORTED),
+    CLASS_INTERSECTION("character class intersection", SUPPORTED, DIFFERENT, DIFFERENT),
+    // Where a dialect ends the class at the first ']', the rest is parsed as something else than the parser assumed.
+    NESTED_CLASS("nested character class", SUPPORTED, UNKNOWN, UNKNOWN),
+    POSIX_CLASS("POSIX character class", DIFFERENT, SUPPORTED, UNKNOWN),
+    UNKNOWN_POSIX_CLASS("unknown POSIX character class", DIFFERENT, UNSUPPORTED, UNKNOWN),
+    LEADING_CLASS_BRACKET("']' first in a character class", SUPPORTED, SUPPORTED, UNKNOWN),
+
+    /**
+     * A construct too irregular across dialects to be decided statically, e.g. a non-ASCII escape; the engines decide.
+     */
+    IRREGULAR("irregular construct", UNKNOWN, UNKNOWN, UNKNOWN);
+
+    /**
+     * How a dialect treats a construct, from best to worst.
+     */
+    public enum Support {
+        SUPPORTED,
+
+        /**
+         * Accepted, but read differently than by the dialects supporting the construct, usually as literal characters.
+         */
+        DIFFERENT,
+
+        /**
+         * Not decided statically; only the dialect's engine can tell.
+         */
+        UNKNOWN,
+
+        /**
+         * Rejected as a syntax error.
+         */
+        UNSUPPORTED
+    }
+
+    private final String description;
+    private final Support java;
+    private final Support re2;
+    private final Support ecmaScript;
+    private final String rewrite;
+
+    RegexFeature(String description, Support java, Support re2, Support ecmaScript) {
+        this(description, java, re2, ecmaScript, null);
+    }
+
+    RegexFeature(String description, Support java, Support re2, Support ecmaScript, String rewrite) {
+        this.description = description;
+        this.java = java;
+        this.re2 = re2;
+        this.ecmaScript = ecmaScript;
+        this.rewrite = rewrite;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public Support support(Dialect dialect) {
+        return switch (dialect) {
+            case JAVA -> java;
+            case RE2 -> re2;
+            case ECMASCRIPT -> ecmaScript;
+        };
+    }
+
+    /**
+     * The text that replaces the construct in dialects rejecting it, keeping its meaning; null if there is none.
+     */
+    public String rewrite() {
+        return rewrite;
+    }
+}
@@ -0,0 +1,75 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import java.util.List;
+
+/**
+ * A node of the engine-neutral regex syntax tree produced by {@link RegexParser}.
+ * Nodes that correspond to a piece of source text carry its {@code [start, end)} offsets.
+ */
+public sealed interface RegexNode {
+
+    /**
+     * Matches the empty string, e.g. an empty alternative.
+     */
+    record Empty() implements RegexNode {}
+
+    /**
+     * Matches one character from a set: a literal, an escape such as {@code \d}, a bracket class or {@code .}.
+     */
+    record CharSet(CharClass chars, int start, int end) implements RegexNode {}
+
+    record Sequence(List<RegexNode> items) implements RegexNode {}
+
+    record Alternation(List<RegexNode> alternatives) implements RegexNode {}
+
+    /**
+     * A quantified node; {@code max} is {@link #UNBOUNDED} for {@code *}, {@code +} and {@code {n,}}.
+     */
+    record Repeat(RegexNode body, int min, int max, QuantifierMode mode, int start, int end) implements RegexNode {
+
+        public static final int UNBOUNDED = -1;
+
+        public boolean isUnbounded() {
+            return max == UNBOUNDED;
+        }
+    }
+
+    record Group(RegexNode body, GroupKind kind, String name, int start, int end) implements RegexNode {}
+
+    /**
+     * A zero-width assertion. Lookarounds carry the asserted sub-pattern as {@code body}; anchors have none.
+     */
+    record Assertion(AssertionKind kind, RegexNode body, int start, int end) implements RegexNode {}
+
+    /**
+     * A reference to a previously captured group, by number or by name.
+     */
+    record Backreference(String group, int start, int end) implements RegexNode {}
+
+    enum QuantifierMode {
+        GREEDY,
+        LAZY,
+        POSSESSIVE
+    }
+
+    enum GroupKind {
+        CAPTURING,
+        NON_CAPTURING,
+        NAMED,
+        ATOMIC
+    }
+
+    enum AssertionKind {
+        LINE_START,
+        LINE_END,
+        INPUT_START,
+        INPUT_END,
+        WORD_BOUNDARY,
+        NOT_WORD_BOUNDARY,
+        GRAPHEME_BOUNDARY,
+        LOOKAHEAD,
+        NEGATIVE_LOOKAHEAD,
+        LOOKBEHIND,
+        NEGATIVE_LOOKBEHIND
+    }
+}
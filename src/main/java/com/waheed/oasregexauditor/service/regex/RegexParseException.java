@@ -0,0 +1,20 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import lombok.Getter;
+
+/**
+ * Thrown by {@link RegexParser} when a regex is malformed.
+ */
+@Getter
+public class RegexParseException extends RuntimeException {
+
+    /**
+     * The offset in the regex at which the error was detected.
+     */
+    private final int index;
+
+    public RegexParseException(String message, int index) {
+        super(message + " near index " + index);
+        this.index = index;
+    }
+}
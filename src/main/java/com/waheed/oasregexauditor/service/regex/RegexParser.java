@@ -0,0 +1,791 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import com.waheed.oasregexauditor.service.regex.RegexNode.Alternation;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Assertion;
+import com.waheed.oasregexauditor.service.regex.RegexNode.AssertionKind;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Backreference;
+import com.waheed.oasregexauditor.service.regex.RegexNode.CharSet;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Empty;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Group;
+import com.waheed.oasregexauditor.service.regex.RegexNode.GroupKind;
+import com.waheed.oasregexauditor.service.regex.RegexNode.QuantifierMode;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Repeat;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Sequence;
+
+import com.waheed.oasregexauditor.service.regex.ParsedRegex.FeatureUse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A recursive-descent parser for the common subset of Java, RE2 and ECMAScript regex syntax.
+ * It accepts the union of the dialects' constructs so that a single tree can be built for any pattern;
+ * deciding whether a construct is supported by a particular engine is left to the caller, helped by the
+ * {@link RegexFeature}s the parser records along the way.
+ * Unicode property classes are approximated, which is sufficient for structural analysis.
+ * Groups and classes may be nested {@value #MAX_NESTING} deep, so that neither the parser nor the analyses walking
+ * its tree can run out of stack on a crafted pattern.
+ */
+public final class RegexParser {
+
+    private static final int RE2_MAX_REPEAT = 1000;
+    static final int MAX_NESTING = 100;
+
+    // The general categories RE2 knows; Java knows them too, plus Cn and LC.
+    private static final Set<String> CATEGORIES = Set.of("C", "Cc", "Cf", "Co", "Cs", "L", "Ll", "Lm", "Lo", "Lt", "Lu",
+            "M", "Mc", "Me", "Mn", "N", "Nd", "Nl", "No", "P", "Pc", "Pd", "Pe", "Pf", "Pi", "Po", "Ps",
+            "S", "Sc", "Sk", "Sm", "So", "Z", "Zl", "Zp", "Zs");
+    private static final Set<String> JAVA_CATEGORIES = Set.of("Cn", "LC");
+
+    // Scripts long present in RE2's tables; scripts of recent Unicode versions may be missing there.
+    private static final Set<String> ESTABLISHED_SCRIPTS = Set.of("Arabic", "Armenian", "Bengali", "Common", "Cyrillic",
+            "Devanagari", "Ethiopic", "Georgian", "Greek", "Gujarati", "Gurmukhi", "Han", "Hangul", "Hebrew", "Hiragana",
+            "Inherited", "Kannada", "Katakana", "Khmer", "Lao", "Latin", "Malayalam", "Myanmar", "Sinhala", "Tamil",
+            "Telugu", "Thai", "Tibetan");
+    private static final Set<String> SCRIPTS = scriptNames();
+
+    private static final Set<String> POSIX_CLASSES = Set.of("alnum", "alpha", "ascii", "blank", "cntrl", "digit", "graph",
+            "lower", "print", "punct", "space", "upper", "word", "xdigit");
+
+    private final String source;
+    private int pos;
+    private final List<FeatureUse> features = new ArrayList<>();
+    private int groupCount;
+    private final Map<String, Integer> groupStarts = new HashMap<>();
+    private final List<Backreference> backreferences = new ArrayList<>();
+    private int lookbehindDepth;
+    // Whether the innermost lookbehind has an unbounded repeat so far.
+    private boolean unboundedBehind;
+    private int nesting;
+
+    private RegexParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Parses a regex into its syntax tree.
+     *
+     * @param regex The regex text.
+     * @return The root node.
+     * @throws RegexParseException if the regex is malformed or nested too deeply.
+     */
+    public static RegexNode parse(String regex) {
+        return parseWithFeatures(regex).root();
+    }
+
+    /**
+     * Parses a regex into its syntax tree, recording the uses of {@link RegexFeature}s.
+     *
+     * @param regex The regex text.
+     * @return The root node and the feature uses, ordered by offset.
+     * @throws RegexParseException if the regex is malformed or nested too deeply.
+     */
+    public static ParsedRegex parseWithFeatures(String regex) {
+        RegexParser parser = new RegexParser(regex);
+        RegexNode root = parser.parseAlternation();
+        if (parser.pos < regex.length()) {
+            throw new RegexParseException("Unmatched ')'", parser.pos);
+        }
+        parser.resolveBackreferences();
+        parser.features.sort(Comparator.comparingInt(FeatureUse::start));
+        return new ParsedRegex(root, List.copyOf(parser.features));
+    }
+
+    /**
+     * Classifies backreferences once all groups are known, since ECMAScript allows referring to later groups.
+     */
+    private void resolveBackreferences() {
+        for (Backreference ref : backreferences) {
+            RegexFeature feature;
+            if (ref.group().length() > 1 && ref.group().charAt(0) <= '7' && ref.group().charAt(1) <= '7') {
+                // RE2 reads \12 as an octal escape, Java and ECMAScript as a backreference if there are enough groups.
+                feature = RegexFeature.IRREGULAR;
+            } else if (Character.isDigit(ref.group().charAt(0))) {
+                boolean defined = ref.group().length() <= 9 && Integer.parseInt(ref.group()) <= groupCount;
+                feature = defined ? RegexFeature.BACKREFERENCE : RegexFeature.UNDEFINED_BACKREFERENCE;
+            } else {
+                Integer groupStart = groupStarts.get(ref.group());
+                feature = groupStart == null ? RegexFeature.UNDEFINED_NAMED_BACKREFERENCE
+                        : groupStart < ref.start() ? RegexFeature.NAMED_BACKREFERENCE : RegexFeature.FORWARD_NAMED_BACKREFERENCE;
+            }
+            use(feature, ref.start(), ref.end());
+        }
+    }
+
+    private RegexNode parseAlternation() {
+        List<RegexNode> alternatives = new ArrayList<>();
+        alternatives.add(parseSequence());
+        while (more() && peek() == '|') {
+            pos++;
+            alternatives.add(parseSequence());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    private RegexNode parseSequence() {
+        List<RegexNode> items = new ArrayList<>();
+        while (more() && peek() != '|' && peek() != ')') {
+            int start = pos;
+            RegexNode atom = parseAtom();
+            items.add(parseQuantifier(atom, start));
+        }
+        if (items.isEmpty()) {
+            return new Empty();
+        }
+        return items.size() == 1 ? items.get(0) : new Sequence(items);
+    }
+
+    private RegexNode parseQuantifier(RegexNode atom, int start) {
+        if (!more()) {
+            return atom;
+        }
+        int min;
+        int max;
+        char c = peek();
+        if (c == '*') {
+            min = 0;
+            max = Repeat.UNBOUNDED;
+            pos++;
+        } else if (c == '+') {
+            min = 1;
+            max = Repeat.UNBOUNDED;
+            pos++;
+        } else if (c == '?') {
+            min = 0;
+            max = 1;
+            pos++;
+        } else if (c == '{' && isBraceQuantifier(pos)) {
+            int quantifierStart = pos;
+            int[] bounds = readBraceQuantifier();
+            min = bounds[0];
+            max = bounds[1];
+            if (min > RE2_MAX_REPEAT || max > RE2_MAX_REPEAT) {
+                use(RegexFeature.LARGE_REPEAT, quantifierStart, pos);
+            }
+        } else {
+            return atom;
+        }
+        if (atom instanceof Assertion assertion) {
+            if (assertion.kind() == AssertionKind.LOOKBEHIND || assertion.kind() == AssertionKind.NEGATIVE_LOOKBEHIND) {
+                use(RegexFeature.QUANTIFIED_LOOKBEHIND, assertion.end(), pos);
+            } else if (assertion.body() == null && assertion.kind() != AssertionKind.GRAPHEME_BOUNDARY) {
+                // Quantifying \b{g} quantifies its '}' where the braces are literals, which every dialect accepts.
+                use(RegexFeature.QUANTIFIED_ANCHOR, assertion.end(), pos);
+            }
+        }
+        if (lookbehindDepth > 0 && max != 1) {
+            if (atom instanceof Group || (max != Repeat.UNBOUNDED && unboundedBehind)) {
+                use(RegexFeature.UNBOUNDED_LOOKBEHIND, start, pos);
+            }
+            unboundedBehind |= max == Repeat.UNBOUNDED;
+        } else if (atom instanceof Empty) {
+            // Only inline flags and an empty \Q\E parse to nothing.
+            use(source.startsWith("(?", start) ? RegexFeature.QUANTIFIED_INLINE_FLAGS : RegexFeature.IRREGULAR, start, pos);
+        }
+        QuantifierMode mode = QuantifierMode.GREEDY;
+        if (more() && (peek() == '?' || peek() == '+')) {
+            if (peek() == '?') {
+                mode = QuantifierMode.LAZY;
+            } else {
+                mode = QuantifierMode.POSSESSIVE;
+                use(RegexFeature.POSSESSIVE_QUANTIFIER, pos, pos + 1);
+            }
+            if (lookbehindDepth > 0) {
+                // Java bounds the length of a lookbehind for greedy repeats only.
+                use(RegexFeature.IRREGULAR, pos, pos + 1);
+            }
+            pos++;
+        }
+        if (more() && isQuantifierStart(pos)) {
+            throw new RegexParseException("Dangling meta character '" + peek() + "'", pos);
+        }
+        return new Repeat(atom, min, max, mode, start, pos);
+    }
+
+    private RegexNode parseAtom() {
+        int start = pos;
+        char c = source.charAt(pos++);
+        switch (c) {
+            case '(':
+                return parseGroup(start);
+            case '[':
+                return new CharSet(parseClass(), start, pos);
+            case '.':
+                return new CharSet(CharClass.DOT, start, pos);
+            case '^':
+                return new Assertion(AssertionKind.LINE_START, null, start, pos);
+            case '$':
+                return new Assertion(AssertionKind.LINE_END, null, start, pos);
+            case '\\':
+                return parseEscape(start);
+            case '*':
+            case '+':
+            case '?':
+                throw new RegexParseException("Dangling meta character '" + c + "'", start);
+            case '{':
+                if (isBraceQuantifier(start)) {
+                    throw new RegexParseException("Dangling meta character '{'", start);
+                }
+                // RE2 reads a lone '{' literally, but not when it is quantified.
+                use(more() && isQuantifierStart(pos) ? RegexFeature.QUANTIFIED_LITERAL_BRACE : RegexFeature.LITERAL_BRACE, start, pos);
+                return new CharSet(CharClass.of(c), start, pos);
+            default:
+                int codePoint = source.codePointAt(start);
+                pos = start + Character.charCount(codePoint);
+                return new CharSet(CharClass.of(codePoint), start, pos);
+        }
+    }
+
+    private RegexNode parseGroup(int start) {
+        GroupKind kind = GroupKind.CAPTURING;
+        String name = null;
+        AssertionKind lookaround = null;
+        if (more() && peek() == '?') {
+            pos++;
+            if (!more()) {
+                throw new RegexParseException("Unknown group type", pos);
+            }
+            char c = source.charAt(pos++);
+            if (c == ':') {
+                kind = GroupKind.NON_CAPTURING;
+            } else if (c == '=') {
+                lookaround = AssertionKind.LOOKAHEAD;
+                use(RegexFeature.LOOKAHEAD, start, pos);
+            } else if (c == '!') {
+                lookaround = AssertionKind.NEGATIVE_LOOKAHEAD;
+                use(RegexFeature.LOOKAHEAD, start, pos);
+            } else if (c == '>') {
+                kind = GroupKind.ATOMIC;
+                use(RegexFeature.ATOMIC_GROUP, start, pos);
+            } else if (c == '<' && more() && (peek() == '=' || peek() == '!')) {
+                lookaround = source.charAt(pos++) == '=' ? AssertionKind.LOOKBEHIND : AssertionKind.NEGATIVE_LOOKBEHIND;
+                use(RegexFeature.LOOKBEHIND, start, pos);
+            } else if (c == '<' || (c == 'P' && more() && peek() == '<')) {
+                if (c == 'P') {
+                    pos++;
+                }
+                use(c == 'P' ? RegexFeature.PYTHON_NAMED_GROUP : RegexFeature.NAMED_GROUP, start, pos);
+                kind = GroupKind.NAMED;
+                int nameStart = pos;
+                name = readName('>');
+                if (!isAlphanumericName(name)) {
+                    use(RegexFeature.GROUP_NAME, nameStart, pos - 1);
+                }
+                if (groupStarts.putIfAbsent(name, start) != null) {
+                    use(RegexFeature.DUPLICATE_GROUP_NAME, nameStart, pos - 1);
+                }
+            } else {
+                // Inline flags: (?i) applies to the rest of the enclosing group, (?i:...) scopes them.
+                pos--;
+                while (more() && (Character.isLetter(peek()) || peek() == '-')) {
+                    pos++;
+                }
+                if (more() && peek() == ')') {
+                    pos++;
+                    use(inlineFlagsFeature(source.substring(start + 2, pos - 1)), start, pos);
+                    return new Empty();
+                }
+                if (!more() || peek() != ':') {
+                    throw new RegexParseException("Unknown inline modifier", pos);
+                }
+                pos++;
+                use(inlineFlagsFeature(source.substring(start + 2, pos - 1)), start, pos);
+                kind = GroupKind.NON_CAPTURING;
+            }
+        }
+        if (kind == GroupKind.CAPTURING || kind == GroupKind.NAMED) {
+            groupCount++;
+        }
+        boolean lookbehind = lookaround == AssertionKind.LOOKBEHIND || lookaround == AssertionKind.NEGATIVE_LOOKBEHIND;
+        boolean outerUnboundedBehind = unboundedBehind;
+        if (lookbehind) {
+            lookbehindDepth++;
+            unboundedBehind = false;
+        }
+        enterNested(start);
+        RegexNode body = parseAlternation();
+        nesting--;
+        if (lookbehind) {
+            lookbehindDepth--;
+            unboundedBehind = outerUnboundedBehind;
+        }
+        if (!more() || peek() != ')') {
+            throw new RegexParseException("Unclosed group", source.length());
+        }
+        pos++;
+        if (lookaround != null) {
+            return new Assertion(lookaround, body, start, pos);
+        }
+        return new Group(body, kind, name, start, pos);
+    }
+
+    private RegexNode parseEscape(int start) {
+        if (!more()) {
+            throw new RegexParseException("Unexpected internal error: trailing backslash", start);
+        }
+        char c = source.charAt(pos++);
+        switch (c) {
+            case 'b':
+                if (source.startsWith("{g}", pos)) {
+                    // Java's grapheme cluster boundary; RE2 and ECMAScript read the braces as literals.
+                    pos += 3;
+                    use(RegexFeature.GRAPHEME_BOUNDARY, start, pos);
+                    return new Assertion(AssertionKind.GRAPHEME_BOUNDARY, null, start, pos);
+                }
+                return new Assertion(AssertionKind.WORD_BOUNDARY, null, start, pos);
+            case 'B':
+                return new Assertion(AssertionKind.NOT_WORD_BOUNDARY, null, start, pos);
+            case 'A':
+            case 'G':
+                use(c == 'A' ? RegexFeature.INPUT_BOUNDARY : RegexFeature.JAVA_BOUNDARY, start, pos);
+                return new Assertion(AssertionKind.INPUT_START, null, start, pos);
+            case 'z':
+            case 'Z':
+                use(c == 'z' ? RegexFeature.INPUT_BOUNDARY : RegexFeature.JAVA_BOUNDARY, start, pos);
+                return new Assertion(AssertionKind.INPUT_END, null, start, pos);
+            case 'k':
+                if (more() && peek() == '<') {
+                    pos++;
+                    return backreference(new Backreference(readName('>'), start, pos));
+                }
+                use(RegexFeature.UNDEFINED_NAMED_BACKREFERENCE, start, pos);
+                return new CharSet(CharClass.of('k'), start, pos);
+            case 'Q': {
+                use(RegexFeature.QUOTED_LITERAL, start, pos);
+                int end = source.indexOf("\\E", pos);
+                int literalEnd = end < 0 ? source.length() : end;
+                List<RegexNode> literals = new ArrayList<>();
+                for (int i = pos; i < literalEnd; ) {
+                    int codePoint = source.codePointAt(i);
+                    int next = i + Character.charCount(codePoint);
+                    literals.add(new CharSet(CharClass.of(codePoint), i, next));
+                    i = next;
+                }
+                pos = end < 0 ? source.length() : end + 2;
+                return literals.isEmpty() ? new Empty() : new Sequence(literals);
+            }
+            default:
+                if (c >= '1' && c <= '9') {
+                    int digitsStart = pos - 1;
+                    while (more() && Character.isDigit(peek())) {
+                        pos++;
+                    }
+                    return backreference(new Backreference(source.substring(digitsStart, pos), start, pos));
+                }
+                pos--;
+                return new CharSet(readClassEscape(false), start, pos);
+        }
+    }
+
+    private Backreference backreference(Backreference ref) {
+        backreferences.add(ref);
+        if (lookbehindDepth > 0) {
+            // Java cannot bound the length of a backreference, and rejects it in a lookbehind.
+            use(RegexFeature.IRREGULAR, ref.start(), ref.end());
+        }
+        return ref;
+    }
+
+    /**
+     * Reads the escape following a backslash that denotes a set of characters, valid both inside and outside brackets.
+     */
+    private CharClass readClassEscape(boolean inClass) {
+        int start = pos - 1;
+        char c = source.charAt(pos++);
+        switch (c) {
+            case 'd': return CharClass.DIGIT;
+            case 'D': return CharClass.DIGIT.complement();
+            case 'w': return CharClass.WORD;
+            case 'W': return CharClass.WORD.complement();
+            case 's': return CharClass.SPACE;
+            case 'S': return CharClass.SPACE.complement();
+            case 'h':
+            case 'H': {
+                use(RegexFeature.JAVA_ESCAPE, start, pos);
+                CharClass chars = CharClass.builder().add(' ').add('\t').add(0xA0).build();
+                return c == 'h' ? chars : chars.complement();
+            }
+            case 'V': {
+                use(RegexFeature.JAVA_ESCAPE, start, pos);
+                return CharClass.LINE_TERMINATOR.union(CharClass.range(0x0B, 0x0C)).complement();
+            }
+            case 'R':
+            case 'X':
+                if (inClass) {
+                    use(RegexFeature.UNKNOWN_ESCAPE, start, pos);
+                    return CharClass.of(c);
+                }
+                use(RegexFeature.JAVA_ESCAPE, start, pos);
+                // \X, a grapheme cluster, is approximated as a single character.
+                return c == 'R' ? CharClass.LINE_TERMINATOR.union(CharClass.range(0x0B, 0x0C)) : CharClass.ANY;
+            case 'p': return readProperty(false, start);
+            case 'P': return readProperty(true, start);
+            case 'n': return CharClass.of('\n');
+            case 'r': return CharClass.of('\r');
+            case 't': return CharClass.of('\t');
+            case 'f': return CharClass.of('\f');
+            case 'v': return CharClass.of(0x0B);
+            case 'a':
+                use(RegexFeature.BELL_ESCAPE, start, pos);
+                return CharClass.of(0x07);
+            case 'e':
+                use(RegexFeature.JAVA_ESCAPE, start, pos);
+                return CharClass.of(0x1B);
+            case '0': {
+                CharClass chars = CharClass.of(readNumber(8, 3, 0));
+                if (pos == start + 2) {
+                    use(RegexFeature.NUL_ESCAPE, start, pos);
+                }
+                return chars;
+            }
+            case 'x':
+                if (more() && peek() == '{') {
+                    pos++;
+                    int codePoint = readNumber(16, 8, 0);
+                    expect('}');
+                    use(codePoint <= CharClass.MAX_CODE_POINT && pos > start + 4 ? RegexFeature.BRACED_HEX_ESCAPE : RegexFeature.IRREGULAR, start, pos);
+                    return CharClass.of(codePoint);
+                }
+                return CharClass.of(readNumber(16, 2, 2));
+            case 'u':
+                if (more() && peek() == '{') {
+                    pos++;
+                    int codePoint = readNumber(16, 8, 0);
+                    expect('}');
+                    use(RegexFeature.BRACED_UNICODE_ESCAPE, start, pos);
+                    return CharClass.of(codePoint);
+                }
+                CharClass chars = CharClass.of(readNumber(16, 4, 4));
+                use(RegexFeature.UNICODE_ESCAPE, start, pos);
+                return chars;
+            case 'c': {
+                if (!more()) {
+                    throw new RegexParseException("Illegal control escape sequence", pos);
+                }
+                char letter = source.charAt(pos++);
+                use(isAsciiLetter(letter) ? RegexFeature.CONTROL_ESCAPE : RegexFeature.IRREGULAR, start, pos);
+                return CharClass.of(letter % 32);
+            }
+            case 'N':
+                if (more() && peek() == '{') {
+                    // A character by name, which only Java knows; whether the name exists is left to the engine.
+                    readName('}');
+                    use(RegexFeature.IRREGULAR, start, pos);
+                    return CharClass.ANY;
+                }
+                use(RegexFeature.UNKNOWN_ESCAPE, start, pos);
+                return CharClass.of(c);
+            default:
+                int codePoint = source.codePointAt(pos - 1);
+                pos = pos - 1 + Character.charCount(codePoint);
+                if (codePoint >= 0x80) {
+                    use(RegexFeature.IRREGULAR, start, pos);
+                } else if (isAsciiLetter(codePoint) || Character.isDigit(codePoint)) {
+                    use(RegexFeature.UNKNOWN_ESCAPE, start, pos);
+                }
+                return CharClass.of(codePoint);
+        }
+    }
+
+    private CharClass readProperty(boolean negated, int start) {
+        String name;
+        if (more() && peek() == '{') {
+            pos++;
+            name = readName('}');
+        } else if (more()) {
+            name = String.valueOf(source.charAt(pos++));
+        } else {
+            throw new RegexParseException("Illegal character property", pos);
+        }
+        use(propertyFeature(name), start, pos);
+        CharClass chars = approximateProperty(name);
+        return negated ? chars.complement() : chars;
+    }
+
+    private static RegexFeature propertyFeature(String name) {
+        if (CATEGORIES.contains(name)) {
+            return RegexFeature.UNICODE_CATEGORY;
+        }
+        if (JAVA_CATEGORIES.contains(name)) {
+            return RegexFeature.JAVA_UNICODE_CATEGORY;
+        }
+        if (ESTABLISHED_SCRIPTS.contains(name)) {
+            return RegexFeature.UNICODE_SCRIPT;
+        }
+        if (name.equals("Any")) {
+            return RegexFeature.RE2_UNICODE_PROPERTY;
+        }
+        if (name.startsWith("^")) {
+            // RE2 also negates with a caret inside the braces.
+            String negated = name.substring(1);
+            return CATEGORIES.contains(negated) || ESTABLISHED_SCRIPTS.contains(negated)
+                    ? RegexFeature.RE2_UNICODE_PROPERTY : RegexFeature.IRREGULAR;
+        }
+        if (SCRIPTS.contains(name.toLowerCase(Locale.ROOT))) {
+            return RegexFeature.RECENT_UNICODE_SCRIPT;
+        }
+        return RegexFeature.UNICODE_PROPERTY;
+    }
+
+    /**
+     * Classifies the flags of {@code (?flags)} or {@code (?flags:...)}: RE2 knows i, m, s and U, with at most one
+     * '-' before the flags to turn off; Java also knows d, u, x and c and accepts a trailing '-'.
+     */
+    private static RegexFeature inlineFlagsFeature(String flags) {
+        int dash = flags.indexOf('-');
+        if (dash != flags.lastIndexOf('-') || !flags.chars().allMatch(c -> c == '-' || "idmsuxUc".indexOf(c) >= 0)) {
+            return RegexFeature.INVALID_INLINE_FLAGS;
+        }
+        boolean re2Flags = flags.chars().allMatch(c -> c == '-' || "imsU".indexOf(c) >= 0);
+        return re2Flags && (dash < 0 || dash < flags.length() - 1) ? RegexFeature.INLINE_FLAGS : RegexFeature.JAVA_INLINE_FLAGS;
+    }
+
+    private static boolean isAlphanumericName(String name) {
+        if (name.isEmpty() || !isAsciiLetter(name.charAt(0))) {
+            return false;
+        }
+        return name.chars().allMatch(c -> isAsciiLetter(c) || (c >= '0' && c <= '9'));
+    }
+
+    private static boolean isAsciiLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static Set<String> scriptNames() {
+        Set<String> names = new HashSet<>();
+        for (Character.UnicodeScript script : Character.UnicodeScript.values()) {
+            names.add(script.name().toLowerCase(Locale.ROOT));
+        }
+        names.remove("unknown");
+        return Set.copyOf(names);
+    }
+
+    // Exact Unicode tables are not needed for structural analysis; the approximations keep
+    // letters, digits and everything else apart so that overlap checks stay meaningful.
+    private static CharClass approximateProperty(String name) {
+        String property = name.replaceFirst("^(Is|In|gc=|General_Category=)", "");
+        if (property.startsWith("L") || property.equalsIgnoreCase("Alpha") || property.equalsIgnoreCase("Alphabetic")) {
+            return CharClass.builder().addRange('a', 'z').addRange('A', 'Z').addRange(0xAA, 0x2FF).addRange(0x370, 0x1FFF)
+                    .addRange(0x3040, 0xD7FF).addRange(0xF900, 0xFDFF).build();
+        }
+        if (property.startsWith("N") || property.equalsIgnoreCase("Digit")) {
+            return CharClass.DIGIT.union(CharClass.range(0x660, 0x669)).union(CharClass.range(0xFF10, 0xFF19));
+        }
+        if (property.equalsIgnoreCase("ASCII")) {
+            return CharClass.range(0, 0x7F);
+        }
+        return CharClass.ANY;
+    }
+
+    private CharClass parseClass() {
+        int start = pos - 1;
+        boolean negated = false;
+        if (more() && peek() == '^') {
+            negated = true;
+            pos++;
+        }
+        CharClass.Builder builder = CharClass.builder();
+        boolean first = true;
+        while (true) {
+            if (!more()) {
+                throw new RegexParseException("Unclosed character class", start);
+            }
+            char c = peek();
+            if (c == ']' && !first) {
+                pos++;
+                break;
+            }
+            if (c == ']') {
+                use(RegexFeature.LEADING_CLASS_BRACKET, pos, pos + 1);
+            }
+            first = false;
+            if (c == '[') {
+                pos++;
+                if (more() && peek() == ':') {
+                    // POSIX bracket expression such as [:alpha:]; approximated as any character.
+                    int close = source.indexOf(":]", pos);
+                    if (close < 0) {
+                        throw new RegexParseException("Unclosed character class", start);
+                    }
+                    String name = source.substring(pos + 1, close);
+                    use(POSIX_CLASSES.contains(name.startsWith("^") ? name.substring(1) : name)
+                            ? RegexFeature.POSIX_CLASS : RegexFeature.UNKNOWN_POSIX_CLASS, pos - 1, close + 2);
+                    pos = close + 2;
+                    builder.addAll(CharClass.ANY);
+                } else {
+                    use(RegexFeature.NESTED_CLASS, pos - 1, pos);
+                    enterNested(pos - 1);
+                    builder.addAll(parseClass());
+                    nesting--;
+                }
+                continue;
+            }
+            if (c == '&' && pos + 1 < source.length() && source.charAt(pos + 1) == '&') {
+                // Java class intersection; the union is a safe over-approximation for structural analysis.
+                use(pos + 2 < source.length() && source.charAt(pos + 2) == ']'
+                        ? RegexFeature.IRREGULAR : RegexFeature.CLASS_INTERSECTION, pos, pos + 2);
+                pos += 2;
+                continue;
+            }
+            CharClass item = readClassAtom();
+            if (more() && peek() == '-' && pos + 1 < source.length() && source.charAt(pos + 1) != ']') {
+                int from = singleCodePoint(item);
+                if (from >= 0) {
+                    pos++;
+                    if (peek() == '[') {
+                        // Java would open a nested class here.
+                        use(RegexFeature.IRREGULAR, pos, pos + 1);
+                    }
+                    int to = singleCodePoint(readClassAtom());
+                    if (to < 0) {
+                        throw new RegexParseException("Illegal character range", pos);
+                    }
+                    if (to < from) {
+                        throw new RegexParseException("Illegal character range", pos);
+                    }
+                    builder.addRange(from, to);
+                    continue;
+                }
+            }
+            builder.addAll(item);
+        }
+        CharClass chars = builder.build();
+        return negated ? chars.complement() : chars;
+    }
+
+    private CharClass readClassAtom() {
+        if (peek() == '\\') {
+            pos++;
+            if (!more()) {
+                throw new RegexParseException("Unclosed character class", pos);
+            }
+            if (peek() == 'b') {
+                pos++;
+                use(RegexFeature.CLASS_BACKSPACE, pos - 2, pos);
+                return CharClass.of('\b');
+            }
+            if (peek() == 'Q') {
+                return readQuotedClassAtom();
+            }
+            return readClassEscape(true);
+        }
+        int codePoint = source.codePointAt(pos);
+        pos += Character.charCount(codePoint);
+        return CharClass.of(codePoint);
+    }
+
+    /**
+     * Reads {@code \Q...\E} inside brackets, which only Java allows, as the union of the quoted characters.
+     */
+    private CharClass readQuotedClassAtom() {
+        int start = pos - 1;
+        pos++;
+        use(RegexFeature.JAVA_ESCAPE, start, pos);
+        int end = source.indexOf("\\E", pos);
+        if (end < 0) {
+            throw new RegexParseException("Unclosed character class", start);
+        }
+        CharClass.Builder builder = CharClass.builder();
+        source.substring(pos, end).codePoints().forEach(builder::add);
+        pos = end + 2;
+        return builder.build();
+    }
+
+    private static int singleCodePoint(CharClass chars) {
+        int sample = chars.sample();
+        return sample >= 0 && chars.equals(CharClass.of(sample)) ? sample : -1;
+    }
+
+    private boolean isQuantifierStart(int at) {
+        char c = source.charAt(at);
+        return c == '*' || c == '+' || c == '?' || (c == '{' && isBraceQuantifier(at));
+    }
+
+    private boolean isBraceQuantifier(int at) {
+        int i = at + 1;
+        int digits = 0;
+        while (i < source.length() && Character.isDigit(source.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < source.length() && source.charAt(i) == ',') {
+            i++;
+            while (i < source.length() && Character.isDigit(source.charAt(i))) {
+                i++;
+            }
+        }
+        return i < source.length() && source.charAt(i) == '}';
+    }
+
+    private int[] readBraceQuantifier() {
+        int start = pos;
+        pos++;
+        int min = readNumber(10, 9, 1);
+        int max = min;
+        if (peek() == ',') {
+            pos++;
+            max = Character.isDigit(peek()) ? readNumber(10, 9, 1) : Repeat.UNBOUNDED;
+        }
+        expect('}');
+        if (max != Repeat.UNBOUNDED && max < min) {
+            throw new RegexParseException("Illegal repetition range", start);
+        }
+        return new int[]{min, max};
+    }
+
+    private int readNumber(int radix, int maxDigits, int minDigits) {
+        int start = pos;
+        int value = 0;
+        while (more() && pos - start < maxDigits && Character.digit(peek(), radix) >= 0) {
+            value = value * radix + Character.digit(source.charAt(pos++), radix);
+        }
+        if (pos - start < minDigits) {
+            throw new RegexParseException("Illegal escape sequence", start);
+        }
+        return value;
+    }
+
+    private String readName(char terminator) {
+        int end = source.indexOf(terminator, pos);
+        if (end < 0) {
+            throw new RegexParseException("Unterminated name", pos);
+        }
+        String name = source.substring(pos, end);
+        pos = end + 1;
+        return name;
+    }
+
+    private void enterNested(int start) {
+        if (++nesting > MAX_NESTING) {
+            throw new RegexParseException("Groups or classes nested more than " + MAX_NESTING + " deep", start);
+        }
+    }
+
+    private void use(RegexFeature feature, int start, int end) {
+        features.add(new FeatureUse(feature, start, end));
+    }
+
+    private void expect(char c) {
+        if (!more() || peek() != c) {
+            throw new RegexParseException("Expected '" + c + "'", pos);
+        }
+        pos++;
+    }
+
+    private boolean more() {
+        return pos < source.length();
+    }
+
+    private char peek() {
+        return source.charAt(pos);
+    }
+}
@@ -0,0 +1,26 @@
+package com.waheed.oasregexauditor.service.report;
+
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.Statistics;
+
+import java.util.List;
+
+/**
+ * The outcome of auditing one spec, as written to a report.
+ *
+ * @param file    The name or path of the spec, as it should appear in the report.
+ * @param results    The grouped results, or an empty list if the spec could not be audited.
+ * @param statistics The statistics of the spec, or null if it could not be audited.
+ * @param error      Why the spec could not be audited (e.g. it is not valid OpenAPI), otherwise null.
+ */
+public record AuditedSpec(String file, List<GroupedValidationResult> results, Statistics statistics, String error) {
+
+    public static AuditedSpec of(String file, AuditReport report) {
+        return new AuditedSpec(file, report.getResults(), Statistics.fromReport(report), null);
+    }
+
+    public static AuditedSpec failed(String file, String error) {
+        return new AuditedSpec(file, List.of(), null, error);
+    }
+}
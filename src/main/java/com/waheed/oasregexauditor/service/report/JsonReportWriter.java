@@ -0,0 +1,39 @@
+package com.waheed.oasregexauditor.service.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes {@code {"specs": [{"file", "error", "statistics", "results"}, ...]}}.
+ */
+class JsonReportWriter implements ReportWriter {
+
+    private final JsonGenerator generator;
+
+    JsonReportWriter(JsonGenerator generator) throws IOException {
+        this.generator = generator;
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("specs");
+    }
+
+    @Override
+    public void write(AuditedSpec spec) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("file", spec.file());
+        if (spec.error() != null) {
+            generator.writeStringField("error", spec.error());
+        } else {
+            generator.writeObjectField("statistics", spec.statistics());
+            generator.writeObjectField("results", spec.results());
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,66 @@
+package com.waheed.oasregexauditor.service.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * The machine-readable report formats.
+ */
+public enum ReportFormat {
+
+    /**
+     * The audit results and statistics of every spec, in the same shape as the web API returns them.
+     */
+    JSON("application/json"),
+
+    /**
+     * SARIF 2.1.0, as consumed by code-scanning tools such as GitHub code scanning.
+     */
+    SARIF("application/sarif+json");
+
+    private final String mediaType;
+
+    ReportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * The media type of the format, as served by the web API.
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Starts a report on the given stream.
+     *
+     * @param out    The stream to write to; it is flushed but not closed by the writer.
+     * @param mapper The mapper used to serialize results.
+     */
+    public ReportWriter open(OutputStream out, ObjectMapper mapper) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .useDefaultPrettyPrinter();
+        return switch (this) {
+            case JSON -> new JsonReportWriter(generator);
+            case SARIF -> new SarifReportWriter(generator);
+        };
+    }
+
+    /**
+     * Parses a format name case-insensitively.
+     *
+     * @throws IllegalArgumentException if the name is not a known format.
+     */
+    public static ReportFormat parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format '" + name + "'; expected json or sarif.");
+        }
+    }
+}
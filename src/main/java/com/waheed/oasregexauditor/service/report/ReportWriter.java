@@ -0,0 +1,17 @@
+package com.waheed.oasregexauditor.service.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes audit results as a machine-readable report, one spec at a time, so that a report covering many
+ * specs never has to be held in memory. Closing the writer finishes the document and flushes it, but does
+ * not close the underlying stream.
+ */
+public interface ReportWriter extends Closeable {
+
+    /**
+     * Appends the results of one spec to the report.
+     */
+    void write(AuditedSpec spec) throws IOException;
+}
@@ -0,0 +1,124 @@
+package com.waheed.oasregexauditor.service.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.ValidationResult;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a SARIF 2.1.0 log with a single run. Every error and warning becomes a result; valid results
+ * are left out. Results are streamed as specs are written, and the tool description with the rules seen
+ * along the way is written after them, which SARIF allows since it is an unordered JSON object.
+ * <p>
+ * Rule IDs are derived from the issue: {@code regex-syntax/<engine>} for patterns an engine rejects, a slug
+ * of the message for warnings (e.g. {@code missing-anchors}), and {@code invalid-openapi} for specs that
+ * could not be parsed.
+ */
+class SarifReportWriter implements ReportWriter {
+
+    private static final String TOOL_NAME = "OpenAPI Pattern Auditor";
+    private static final String TOOL_URI = "https://github.com/abdulwaheed18/openapi-pattern-auditor";
+    private static final String INVALID_OPENAPI = "invalid-openapi";
+
+    private final JsonGenerator generator;
+    private final Map<String, String> rules = new LinkedHashMap<>();
+
+    SarifReportWriter(JsonGenerator generator) throws IOException {
+        this.generator = generator;
+        generator.writeStartObject();
+        generator.writeStringField("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
+        generator.writeStringField("version", "2.1.0");
+        generator.writeArrayFieldStart("runs");
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("results");
+    }
+
+    @Override
+    public void write(AuditedSpec spec) throws IOException {
+        String uri = spec.file().replace('\\', '/');
+        if (spec.error() != null) {
+            rules.putIfAbsent(INVALID_OPENAPI, "The file is not a valid OpenAPI document.");
+            writeResult(INVALID_OPENAPI, "error", spec.error(), uri, 0, null);
+            return;
+        }
+        for (GroupedValidationResult group : spec.results()) {
+            for (ValidationResult result : group.getResults()) {
+                if (result.getIssueType() == ValidationResult.IssueType.VALID) {
+                    continue;
+                }
+                boolean error = result.getIssueType() == ValidationResult.IssueType.ERROR;
+                String ruleId = error ? "regex-syntax/" + slug(result.getEngine()) : slug(result.getMessage());
+                rules.putIfAbsent(ruleId, error ? "The pattern is rejected by the " + result.getEngine() + " regex engine." : result.getMessage());
+                String message = result.getSuggestion() == null ? result.getMessage() : result.getMessage() + ". " + result.getSuggestion();
+                writeResult(ruleId, error ? "error" : "warning", message + " Pattern: " + result.getRegexPattern(),
+                        uri, result.getLineNumber(), result.getLocation());
+            }
+        }
+    }
+
+    private void writeResult(String ruleId, String level, String message, String uri, int line, String logicalLocation) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ruleId", ruleId);
+        generator.writeStringField("level", level);
+        generator.writeObjectFieldStart("message");
+        generator.writeStringField("text", message);
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("locations");
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("physicalLocation");
+        generator.writeObjectFieldStart("artifactLocation");
+        generator.writeStringField("uri", uri);
+        generator.writeEndObject();
+        if (line > 0) {
+            // Line 0 marks results without a source position, such as best-practice checks.
+            generator.writeObjectFieldStart("region");
+            generator.writeNumberField("startLine", line);
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+        if (logicalLocation != null) {
+            generator.writeArrayFieldStart("logicalLocations");
+            generator.writeStartObject();
+            generator.writeStringField("fullyQualifiedName", logicalLocation);
+            generator.writeEndObject();
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeObjectFieldStart("tool");
+        generator.writeObjectFieldStart("driver");
+        generator.writeStringField("name", TOOL_NAME);
+        generator.writeStringField("informationUri", TOOL_URI);
+        generator.writeArrayFieldStart("rules");
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            generator.writeStartObject();
+            generator.writeStringField("id", rule.getKey());
+            generator.writeObjectFieldStart("shortDescription");
+            generator.writeStringField("text", rule.getValue());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private static String slug(String text) {
+        String slug = text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return slug.isEmpty() ? "issue" : slug;
+    }
+}
@@ -0,0 +1,52 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A check run on the nodes of a document, besides the regex engines. Rules are Spring components collected by the
+ * {@link RuleRegistry}; a rule is only called for the node kinds it declares, and implements the matching
+ * {@code check} methods, adding its findings to {@code results}.
+ * <p>
+ * Rules are shared between concurrent audits and must be stateless. Pattern rules run on the audit's worker
+ * threads, once per distinct regex; the other kinds are called from the single walk over the document model.
+ */
+public interface AuditRule {
+
+    /**
+     * The engine name of rule findings.
+     */
+    String ENGINE_NAME = "Quality Check";
+
+    /**
+     * The ID of the rule, e.g. {@code anchors}, as used to select it in requests, rule sets and the CLI.
+     */
+    String id();
+
+    /**
+     * The node kinds the rule inspects.
+     */
+    Set<NodeKind> nodeKinds();
+
+    default void checkPattern(PatternLocation pattern, List<ValidationResult> results) {
+    }
+
+    default void checkPath(String location, String path, PathItem pathItem, List<ValidationResult> results) {
+    }
+
+    default void checkOperation(String location, PathItem.HttpMethod method, Operation operation, List<ValidationResult> results) {
+    }
+
+    default void checkParameter(String location, Parameter parameter, List<ValidationResult> results) {
+    }
+
+    default void checkSchema(String location, String name, Schema<?> schema, List<ValidationResult> results) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warns about patterns not anchored with {@code ^...$}, which match any value merely containing a match.
+ * Patterns already reported as overly permissive are left out, since anchoring them changes nothing.
+ */
+@Component
+public class MissingAnchorsRule implements AuditRule {
+
+    public static final String ID = "anchors";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Set<NodeKind> nodeKinds() {
+        return Set.of(NodeKind.PATTERN);
+    }
+
+    @Override
+    public void checkPattern(PatternLocation pattern, List<ValidationResult> results) {
+        String trimmedRegex = pattern.regex().trim();
+        if (!PermissivePatternRule.WEAK_PATTERNS.containsKey(trimmedRegex) && (!trimmedRegex.startsWith("^") || !trimmedRegex.endsWith("$"))) {
+            String suggestion = "The pattern can match a substring. Consider anchoring it to match the entire string.";
+            String suggestedRegex = "^" + trimmedRegex + "$";
+            results.add(ValidationResult.warning(pattern.location(), pattern.lineNumber(), pattern.regex(), ENGINE_NAME,
+                    "Missing Anchors", suggestion, suggestedRegex));
+        }
+    }
+}
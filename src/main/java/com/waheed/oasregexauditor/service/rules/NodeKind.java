@@ -0,0 +1,17 @@
+package com.waheed.oasregexauditor.service.rules;
+
+/**
+ * The kinds of document nodes an {@link AuditRule} can inspect.
+ */
+public enum NodeKind {
+    /** A {@code pattern} keyword, at every pointer it is reachable through; also found without a document model. */
+    PATTERN,
+    /** A path of {@code paths}. */
+    PATH,
+    /** An operation of a path. */
+    OPERATION,
+    /** A parameter, under {@code components/parameters}, a path or an operation. */
+    PARAMETER,
+    /** A schema defined under {@code components/schemas}. */
+    SCHEMA
+}
@@ -0,0 +1,36 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.ValidationResult;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warns about operations without a {@code summary}.
+ */
+@Component
+public class OperationSummaryRule implements AuditRule {
+
+    public static final String ID = "summary";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Set<NodeKind> nodeKinds() {
+        return Set.of(NodeKind.OPERATION);
+    }
+
+    @Override
+    public void checkOperation(String location, PathItem.HttpMethod method, Operation operation, List<ValidationResult> results) {
+        if (operation.getSummary() == null || operation.getSummary().isBlank()) {
+            results.add(ValidationResult.warning(location, 0, "N/A", ENGINE_NAME, "Missing Summary",
+                    "A summary provides a quick, human-readable overview of the operation's purpose.", null));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.ValidationResult;
+import io.swagger.v3.oas.models.PathItem;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warns about camelCase path segments.
+ */
+@Component
+public class PathNamingRule implements AuditRule {
+
+    public static final String ID = "naming";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Set<NodeKind> nodeKinds() {
+        return Set.of(NodeKind.PATH);
+    }
+
+    @Override
+    public void checkPath(String location, String path, PathItem pathItem, List<ValidationResult> results) {
+        if (path.matches(".*[A-Z].*")) {
+            // For best-practice checks, line number is not applicable, so we pass 0.
+            results.add(ValidationResult.warning(location, 0, path, ENGINE_NAME, "Path Naming Convention",
+                    "Path segments should ideally use kebab-case (e.g., /user-profiles) or snake_case, not camelCase.", null));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Warns about patterns that accept (almost) anything, such as {@code .*}.
+ */
+@Component
+public class PermissivePatternRule implements AuditRule {
+
+    public static final String ID = "permissive";
+
+    static final Map<String, String> WEAK_PATTERNS = Map.of(
+            ".*", "The pattern '.*' allows any sequence of characters, including an empty string. This is often too permissive.",
+            ".+", "The pattern '.+' allows any sequence of one or more characters. It is still very broad."
+    );
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Set<NodeKind> nodeKinds() {
+        return Set.of(NodeKind.PATTERN);
+    }
+
+    @Override
+    public void checkPattern(PatternLocation pattern, List<ValidationResult> results) {
+        String weakness = WEAK_PATTERNS.get(pattern.regex().trim());
+        if (weakness != null) {
+            results.add(ValidationResult.warning(pattern.location(), pattern.lineNumber(), pattern.regex(), ENGINE_NAME,
+                    "Overly Permissive Pattern", weakness, null));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.redos.RedosAnalyzer;
+import com.waheed.oasregexauditor.service.redos.RedosReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warns about patterns the static {@link RedosAnalyzer} finds vulnerable to catastrophic backtracking, or could not
+ * decide within its budget. Warnings can then be confirmed by timing attack strings, see
+ * {@link com.waheed.oasregexauditor.service.redos.RedosProber}.
+ */
+@Component
+public class RedosRule implements AuditRule {
+
+    public static final String ID = "redos";
+    public static final String REDOS_WARNING = "Potential ReDoS Vulnerability";
+
+    private final RedosAnalyzer redosAnalyzer;
+
+    @Autowired
+    public RedosRule(RedosAnalyzer redosAnalyzer) {
+        this.redosAnalyzer = redosAnalyzer;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Set<NodeKind> nodeKinds() {
+        return Set.of(NodeKind.PATTERN);
+    }
+
+    @Override
+    public void checkPattern(PatternLocation pattern, List<ValidationResult> results) {
+        RedosReport redos = redosAnalyzer.analyze(pattern.regex());
+        if (redos.isVulnerable()) {
+            String suggestion = redos.detail() + " Make overlapping alternatives or adjacent quantifiers mutually exclusive, or bound the repetition.";
+            results.add(ValidationResult.warning(pattern.location(), pattern.lineNumber(), pattern.regex(), ENGINE_NAME, REDOS_WARNING, suggestion, null));
+        } else if (redos.complexity() == RedosReport.Complexity.INCONCLUSIVE) {
+            results.add(ValidationResult.warning(pattern.location(), pattern.lineNumber(), pattern.regex(), ENGINE_NAME,
+                    "ReDoS Analysis Inconclusive", redos.detail(), null));
+        }
+    }
+}
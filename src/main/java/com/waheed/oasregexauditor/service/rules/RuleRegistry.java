@@ -0,0 +1,128 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All {@link AuditRule}s of the application, by ID, and the named rule sets selecting among them.
+ * <p>
+ * Besides the sets configured under {@code app.audit.rule-sets}, three are built in: {@code all}, {@code patterns}
+ * (the rules inspecting only patterns, which run without a document model) and {@code best-practices} (the others).
+ * The dispatch table of each distinct selection, i.e. of each request profile, is built once and cached; there are
+ * at most as many as subsets of the registered rules.
+ */
+@Component
+public class RuleRegistry {
+
+    public static final String ALL = "all";
+    public static final String PATTERNS = "patterns";
+    public static final String BEST_PRACTICES = "best-practices";
+
+    private final Map<String, AuditRule> rules = new TreeMap<>();
+    private final Map<String, Set<String>> ruleSetsByName = new LinkedHashMap<>();
+    private final Map<Set<String>, RuleSet> ruleSets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RuleRegistry(List<AuditRule> rules, AuditProperties auditProperties) {
+        for (AuditRule rule : rules) {
+            if (this.rules.put(rule.id(), rule) != null) {
+                throw new IllegalStateException("Two rules have the ID " + rule.id());
+            }
+        }
+        ruleSetsByName.put(ALL, Set.copyOf(this.rules.keySet()));
+        ruleSetsByName.put(PATTERNS, idsWhere(rules, true));
+        ruleSetsByName.put(BEST_PRACTICES, idsWhere(rules, false));
+        auditProperties.getRuleSets().forEach((name, ids) -> {
+            try {
+                ruleSetsByName.put(name.toLowerCase(Locale.ROOT), Set.copyOf(resolve(ids)));
+            } catch (UnknownRuleException e) {
+                throw new IllegalStateException("Invalid rule set app.audit.rule-sets." + name + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * The IDs of all rules, sorted.
+     */
+    public Set<String> ruleIds() {
+        return Collections.unmodifiableSet(rules.keySet());
+    }
+
+    /**
+     * The rule sets by name, built-in ones first.
+     */
+    public Map<String, Set<String>> ruleSetsByName() {
+        return Collections.unmodifiableMap(ruleSetsByName);
+    }
+
+    /**
+     * Expands rule IDs and rule set names, case-insensitively, to the IDs of the rules they select.
+     *
+     * @param names Rule IDs and rule set names; blank names are ignored.
+     * @return The selected rule IDs, sorted.
+     * @throws UnknownRuleException if a name is neither a rule nor a rule set.
+     */
+    public Set<String> resolve(Collection<String> names) {
+        Set<String> ids = new TreeSet<>();
+        for (String name : names) {
+            String key = name.trim().toLowerCase(Locale.ROOT);
+            if (rules.containsKey(key)) {
+                ids.add(key);
+            } else if (ruleSetsByName.containsKey(key)) {
+                ids.addAll(ruleSetsByName.get(key));
+            } else if (!key.isEmpty()) {
+                throw new UnknownRuleException("Unknown rule '" + name.trim() + "'; expected one of "
+                        + String.join(", ", ruleSetsByName.keySet()) + ", " + String.join(", ", rules.keySet()));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the dispatch table of a selection of rules, building it on first use.
+     *
+     * @param ids Rule IDs, as returned by {@link #resolve}.
+     * @throws UnknownRuleException if an ID is not a registered rule.
+     */
+    public RuleSet ruleSet(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return RuleSet.NONE;
+        }
+        RuleSet ruleSet = ruleSets.get(ids);
+        if (ruleSet != null) {
+            return ruleSet;
+        }
+        List<AuditRule> selected = ids.stream()
+                .map(id -> {
+                    AuditRule rule = rules.get(id);
+                    if (rule == null) {
+                        throw new UnknownRuleException("Unknown rule '" + id + "'");
+                    }
+                    return rule;
+                })
+                .toList();
+        return ruleSets.computeIfAbsent(Set.copyOf(ids), key -> new RuleSet(selected));
+    }
+
+    private static Set<String> idsWhere(List<AuditRule> rules, boolean patternsOnly) {
+        Set<String> ids = new TreeSet<>();
+        for (AuditRule rule : rules) {
+            if (rule.nodeKinds().equals(Set.of(NodeKind.PATTERN)) == patternsOnly) {
+                ids.add(rule.id());
+            }
+        }
+        return Set.copyOf(ids);
+    }
+}
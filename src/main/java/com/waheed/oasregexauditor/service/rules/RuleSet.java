@@ -0,0 +1,69 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The dispatch table of a selection of rules: for every node kind, the rules to call on nodes of that kind, in
+ * order of their IDs. Built once per distinct selection by the {@link RuleRegistry} and shared afterwards.
+ */
+public final class RuleSet {
+
+    /**
+     * No rules: only the regex engines run.
+     */
+    public static final RuleSet NONE = new RuleSet(List.of());
+
+    private final Set<String> ids;
+    private final Map<NodeKind, List<AuditRule>> rulesByKind = new EnumMap<>(NodeKind.class);
+
+    RuleSet(Collection<AuditRule> rules) {
+        Set<String> ids = new TreeSet<>();
+        for (NodeKind kind : NodeKind.values()) {
+            rulesByKind.put(kind, rules.stream()
+                    .filter(rule -> rule.nodeKinds().contains(kind))
+                    .sorted((a, b) -> a.id().compareTo(b.id()))
+                    .toList());
+        }
+        rules.forEach(rule -> ids.add(rule.id()));
+        this.ids = Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * The IDs of the rules, sorted.
+     */
+    public Set<String> ids() {
+        return ids;
+    }
+
+    /**
+     * The rules inspecting nodes of a kind; empty if there are none.
+     */
+    public List<AuditRule> rules(NodeKind kind) {
+        return rulesByKind.get(kind);
+    }
+
+    /**
+     * Whether any rule inspects nodes of a kind.
+     */
+    public boolean has(NodeKind kind) {
+        return !rulesByKind.get(kind).isEmpty();
+    }
+
+    /**
+     * Whether any rule needs the parsed document model, i.e. inspects anything but patterns.
+     */
+    public boolean requiresDocumentModel() {
+        for (NodeKind kind : NodeKind.values()) {
+            if (kind != NodeKind.PATTERN && has(kind)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
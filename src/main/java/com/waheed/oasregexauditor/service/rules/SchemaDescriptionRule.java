@@ -0,0 +1,35 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.model.ValidationResult;
+import io.swagger.v3.oas.models.media.Schema;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warns about component schemas without a {@code description}.
+ */
+@Component
+public class SchemaDescriptionRule implements AuditRule {
+
+    public static final String ID = "schema-description";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Set<NodeKind> nodeKinds() {
+        return Set.of(NodeKind.SCHEMA);
+    }
+
+    @Override
+    public void checkSchema(String location, String name, Schema<?> schema, List<ValidationResult> results) {
+        if (schema.getDescription() == null || schema.getDescription().isBlank()) {
+            results.add(ValidationResult.warning(location, 0, name, ENGINE_NAME, "Missing Schema Description",
+                    "A description clarifies the purpose and structure of the schema.", null));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.waheed.oasregexauditor.service.rules;
+
+/**
+ * Thrown when a request selects a rule or rule set that is not registered.
+ */
+public class UnknownRuleException extends IllegalArgumentException {
+
+    public UnknownRuleException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.waheed.oasregexauditor.service.validators;
 
 import com.google.re2j.PatternSyntaxException;
 import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.regex.Dialect;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -29,4 +30,9 @@ public class GoRe2jRegexValidator implements RegexValidator {
     public String getEngineName() {
         return ENGINE_NAME;
     }
+
+    @Override
+    public Dialect getDialect() {
+        return Dialect.RE2;
+    }
 }
@@ -1,6 +1,7 @@
 package com.waheed.oasregexauditor.service.validators;
 
 import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.regex.Dialect;
 import org.springframework.stereotype.Component;
 
 import java.util.regex.Pattern;
@@ -38,4 +39,9 @@ public class JavaRegexValidator implements RegexValidator {
     public String getEngineName() {
         return ENGINE_NAME;
     }
+
+    @Override
+    public Dialect getDialect() {
+        return Dialect.JAVA;
+    }
 }
@@ -1,29 +1,177 @@
 package com.waheed.oasregexauditor.service.validators;
 
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.PatternLocation;
 import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.regex.Dialect;
+import jakarta.annotation.PreDestroy;
 import org.graalvm.polyglot.Context;
-import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates patterns with GraalJS.
+ * All contexts share one polyglot {@link Engine}, so the checking function is parsed and compiled once,
+ * and contexts are pooled because a GraalJS context may only be used by one thread at a time.
+ * Patterns are handed to the guest as host values, so no regex text is ever spliced into JavaScript source.
+ */
 @Component
 public class JavaScriptRegexValidator implements RegexValidator {
 
     private static final String ENGINE_NAME = "JavaScript";
 
+    // Returns, for every pattern, null if it compiles or the string form of the SyntaxError otherwise.
+    private static final Source CHECK_ALL = Source.create("js", """
+            (function (patterns) {
+                const errors = new Array(patterns.length);
+                for (let i = 0; i < patterns.length; i++) {
+                    try {
+                        new RegExp(patterns[i]);
+                        errors[i] = null;
+                    } catch (e) {
+                        errors[i] = String(e);
+                    }
+                }
+                return errors;
+            })
+            """);
+
+    private final int poolSize;
+    private final long borrowTimeoutMillis;
+    private final BlockingQueue<PooledContext> idleContexts;
+    private final AtomicInteger createdContexts = new AtomicInteger();
+    private volatile Engine engine;
+
+    @Autowired
+    public JavaScriptRegexValidator(AuditProperties auditProperties) {
+        this.poolSize = Math.max(1, auditProperties.getJsContextPoolSize());
+        this.borrowTimeoutMillis = auditProperties.getJsContextBorrowTimeout().toMillis();
+        this.idleContexts = new ArrayBlockingQueue<>(poolSize);
+    }
+
     @Override
     public ValidationResult validate(String location, int lineNumber, String regex) {
-        try (Context context = Context.create("js")) {
-            String escapedRegex = regex.replace("\\", "\\\\").replace("'", "\\'");
-            context.eval("js", "new RegExp('" + escapedRegex + "');");
-            return ValidationResult.success(location, lineNumber, regex, ENGINE_NAME);
-        } catch (PolyglotException e) {
-            String errorMessage = "Invalid JavaScript regex: " + e.getMessage();
-            String suggestion = "The pattern is not a valid regular expression according to JavaScript's syntax rules.";
-            String suggestedRegex = generateSuggestedFix(regex, e.getMessage());
-            return ValidationResult.error(location, lineNumber, regex, ENGINE_NAME, errorMessage, suggestion, suggestedRegex);
+        return validateAll(List.of(new PatternLocation(location, lineNumber, regex))).get(0);
+    }
+
+    @Override
+    public List<ValidationResult> validateAll(List<PatternLocation> patterns) {
+        if (patterns.isEmpty()) {
+            return Collections.emptyList();
+        }
+        PooledContext pooled = null;
+        try {
+            pooled = borrow();
+            List<Object> regexes = new ArrayList<>(patterns.size());
+            patterns.forEach(p -> regexes.add(p.regex()));
+            Value errors = pooled.checkAll().execute(ProxyArray.fromList(regexes));
+
+            List<ValidationResult> results = new ArrayList<>(patterns.size());
+            for (int i = 0; i < patterns.size(); i++) {
+                PatternLocation p = patterns.get(i);
+                Value error = errors.getArrayElement(i);
+                results.add(error.isNull()
+                        ? ValidationResult.success(p.location(), p.lineNumber(), p.regex(), ENGINE_NAME)
+                        : toError(p, error.asString()));
+            }
+            release(pooled);
+            return results;
         } catch (Exception e) {
+            // The context may be in an unknown state after a host-side failure, so it is not reused.
+            discard(pooled);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             String errorMessage = "An unexpected error occurred during JavaScript validation: " + e.getMessage();
-            return ValidationResult.error(location, lineNumber, regex, ENGINE_NAME, errorMessage, "There might be an issue with the GraalVM environment setup.", null);
+            return patterns.stream()
+                    .map(p -> ValidationResult.engineFailure(p.location(), p.lineNumber(), p.regex(), ENGINE_NAME, errorMessage))
+                    .toList();
+        }
+    }
+
+    private ValidationResult toError(PatternLocation p, String guestError) {
+        String errorMessage = "Invalid JavaScript regex: " + guestError;
+        String suggestion = "The pattern is not a valid regular expression according to JavaScript's syntax rules.";
+        String suggestedRegex = generateSuggestedFix(p.regex(), guestError);
+        return ValidationResult.error(p.location(), p.lineNumber(), p.regex(), ENGINE_NAME, errorMessage, suggestion, suggestedRegex);
+    }
+
+    private PooledContext borrow() throws InterruptedException {
+        PooledContext pooled = idleContexts.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        if (createdContexts.incrementAndGet() <= poolSize) {
+            try {
+                return newContext();
+            } catch (RuntimeException e) {
+                createdContexts.decrementAndGet();
+                throw e;
+            }
+        }
+        createdContexts.decrementAndGet();
+        // Batches run on the audit's fork-join pool; a managed wait lets the pool add a worker meanwhile.
+        ContextWait wait = new ContextWait(idleContexts, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis));
+        ForkJoinPool.managedBlock(wait);
+        if (wait.pooled == null) {
+            throw new IllegalStateException("No JavaScript context became available within " + borrowTimeoutMillis + " ms");
+        }
+        return wait.pooled;
+    }
+
+    private void release(PooledContext pooled) {
+        if (!idleContexts.offer(pooled)) {
+            discard(pooled);
+        }
+    }
+
+    private void discard(PooledContext pooled) {
+        if (pooled != null) {
+            createdContexts.decrementAndGet();
+            pooled.context().close(true);
+        }
+    }
+
+    private PooledContext newContext() {
+        Context context = Context.newBuilder("js").engine(sharedEngine()).build();
+        return new PooledContext(context, context.eval(CHECK_ALL));
+    }
+
+    private Engine sharedEngine() {
+        Engine result = engine;
+        if (result == null) {
+            synchronized (this) {
+                result = engine;
+                if (result == null) {
+                    result = Engine.newBuilder("js").option("engine.WarnInterpreterOnly", "false").build();
+                    engine = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledContext pooled;
+        while ((pooled = idleContexts.poll()) != null) {
+            pooled.context().close(true);
+        }
+        if (engine != null) {
+            engine.close();
         }
     }
 
@@ -45,4 +193,42 @@ public class JavaScriptRegexValidator implements RegexValidator {
     public String getEngineName() {
         return ENGINE_NAME;
     }
+
+    @Override
+    public Dialect getDialect() {
+        return Dialect.ECMASCRIPT;
+    }
+
+    private record PooledContext(Context context, Value checkAll) {}
+
+    /**
+     * Waits for an idle context until the deadline; {@link #pooled} stays null if none was released in time.
+     */
+    private static final class ContextWait implements ForkJoinPool.ManagedBlocker {
+
+        private final BlockingQueue<PooledContext> idleContexts;
+        private final long deadline;
+        private PooledContext pooled;
+
+        ContextWait(BlockingQueue<PooledContext> idleContexts, long deadline) {
+            this.idleContexts = idleContexts;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (pooled == null) {
+                pooled = idleContexts.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (pooled == null) {
+                pooled = idleContexts.poll();
+            }
+            return pooled != null || System.nanoTime() - deadline >= 0;
+        }
+    }
 }
@@ -1,6 +1,11 @@
 package com.waheed.oasregexauditor.service.validators;
 
+import com.waheed.oasregexauditor.model.PatternLocation;
 import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.regex.Dialect;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Interface for a specific regex engine validator.
@@ -19,10 +24,31 @@ public interface RegexValidator {
      */
     ValidationResult validate(String location, int lineNumber, String regex);
 
+    /**
+     * Validates a batch of patterns. Engines with a high per-call cost should override this
+     * to validate the whole batch in a single call.
+     *
+     * @param patterns The patterns to validate.
+     * @return One {@link ValidationResult} per pattern, in the same order as the input.
+     */
+    default List<ValidationResult> validateAll(List<PatternLocation> patterns) {
+        return patterns.stream()
+                .map(p -> validate(p.location(), p.lineNumber(), p.regex()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Returns the name of the validation engine.
      *
      * @return A string representing the engine name (e.g., "Java").
      */
     String getEngineName();
+
+    /**
+     * Returns the dialect the engine implements, whose verdicts {@link com.waheed.oasregexauditor.service.regex.RegexCompatibility}
+     * can decide without running the engine.
+     *
+     * @return The dialect of the engine.
+     */
+    Dialect getDialect();
 }
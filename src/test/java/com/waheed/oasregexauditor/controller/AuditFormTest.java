@@ -0,0 +1,86 @@
+package com.waheed.oasregexauditor.controller;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.service.redos.RedosAnalyzer;
+import com.waheed.oasregexauditor.service.rules.MissingAnchorsRule;
+import com.waheed.oasregexauditor.service.rules.OperationIdRule;
+import com.waheed.oasregexauditor.service.rules.OperationSummaryRule;
+import com.waheed.oasregexauditor.service.rules.PathNamingRule;
+import com.waheed.oasregexauditor.service.rules.PermissivePatternRule;
+import com.waheed.oasregexauditor.service.rules.RedosRule;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.SchemaDescriptionRule;
+import com.waheed.oasregexauditor.service.rules.SchemaExampleRule;
+import com.waheed.oasregexauditor.service.rules.UnknownRuleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The form's check flags, which predate rules, select the rules that replaced them.
+ */
+class AuditFormTest {
+
+    private final RuleRegistry registry = new RuleRegistry(List.of(new PermissivePatternRule(), new MissingAnchorsRule(),
+            new RedosRule(new RedosAnalyzer(new AuditProperties())), new PathNamingRule(), new OperationIdRule(),
+            new OperationSummaryRule(), new SchemaDescriptionRule(), new SchemaExampleRule()), new AuditProperties());
+
+    @Test
+    void mapsEachFlagToItsRule() {
+        assertEquals(Set.of(PermissivePatternRule.ID), rulesOf(form -> form.setQualityCheckPermissive(true)));
+        assertEquals(Set.of(MissingAnchorsRule.ID), rulesOf(form -> form.setQualityCheckAnchors(true)));
+        assertEquals(Set.of(RedosRule.ID), rulesOf(form -> form.setQualityCheckRedos(true)));
+        assertEquals(Set.of(PathNamingRule.ID), rulesOf(form -> form.setCheckNaming(true)));
+        assertEquals(Set.of(OperationIdRule.ID), rulesOf(form -> form.setCheckOperationId(true)));
+        assertEquals(Set.of(OperationSummaryRule.ID), rulesOf(form -> form.setCheckSummary(true)));
+        assertEquals(Set.of(SchemaDescriptionRule.ID), rulesOf(form -> form.setCheckSchemaDescription(true)));
+        assertEquals(Set.of(SchemaExampleRule.ID), rulesOf(form -> form.setCheckSchemaExample(true)));
+        assertEquals(Set.of(), rulesOf(form -> { }));
+    }
+
+    @Test
+    void addsRulesAndRuleSetsToTheFlags() {
+        AuditForm form = new AuditForm();
+        form.setCheckNaming(true);
+        form.setRules("patterns, operation-id");
+        form.setEngine(" ");
+
+        AuditOptions options = form.toOptions(registry);
+
+        assertEquals(Set.of(PathNamingRule.ID, OperationIdRule.ID, PermissivePatternRule.ID, MissingAnchorsRule.ID, RedosRule.ID),
+                options.rules());
+        assertEquals("java", options.engine());
+    }
+
+    @Test
+    void confirmsRedosOnlyWhenTheRedosRuleIsSelected() {
+        AuditForm form = new AuditForm();
+        form.setConfirmRedos(true);
+        assertFalse(form.toOptions(registry).confirmRedos());
+
+        form.setRules("redos");
+        assertTrue(form.toOptions(registry).confirmRedos());
+    }
+
+    @Test
+    void rejectsUnknownRules() {
+        AuditForm form = new AuditForm();
+        form.setRules("anchors,qualityCheckAnchors");
+
+        assertThrows(UnknownRuleException.class, () -> form.toOptions(registry));
+    }
+
+    private Set<String> rulesOf(Consumer<AuditForm> flags) {
+        AuditForm form = new AuditForm();
+        flags.accept(form);
+        return form.toOptions(registry).rules();
+    }
+}
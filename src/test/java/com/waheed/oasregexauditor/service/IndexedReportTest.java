@@ -0,0 +1,105 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.ResultsPage;
+import com.waheed.oasregexauditor.model.ResultsQuery;
+import com.waheed.oasregexauditor.model.ResultsQuery.Sort;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.model.ValidationResult.IssueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Filtering, sorting and paging of shared results through the index of {@link IndexedReport}.
+ */
+class IndexedReportTest {
+
+    private static final String QUALITY = "Quality Check";
+
+    private static final IndexedReport REPORT = IndexedReport.of(new AuditReport(List.of(
+            group("#/components/schemas/B", 9, ValidationResult.success("#/components/schemas/B", 9, "^b$", "Java")),
+            group("#/components/schemas/A", 5, ValidationResult.error("#/components/schemas/A", 5, "[a", "Java",
+                    "Invalid Java regex", null, null)),
+            group("#/paths/~1a/get/parameters/0", 20,
+                    ValidationResult.success("#/paths/~1a/get/parameters/0", 20, "x", "Java"),
+                    ValidationResult.warning("#/paths/~1a/get/parameters/0", 20, "x", QUALITY, "Missing Anchors", null, "^x$")),
+            // Starts like "#/components/schemas/" and sorts right after the groups under it, but is not one of them.
+            group("#/components/schemas0", 2, ValidationResult.success("#/components/schemas0", 2, "^c$", "Go (RE2J)")),
+            group("#/components/schemas/C", 0,
+                    ValidationResult.success("#/components/schemas/C", 0, ".*", "Java"),
+                    ValidationResult.warning("#/components/schemas/C", 0, ".*", QUALITY, "Overly Permissive", null, null))),
+            new AuditOptions("all", Set.of(), false), List.of()));
+
+    @Test
+    void pagesThroughTheReportInOrder() {
+        ResultsPage second = REPORT.query(new ResultsQuery(null, null, null, null, null, Sort.REPORT, 1, 2));
+        ResultsPage past = REPORT.query(new ResultsQuery(null, null, null, null, null, Sort.REPORT, 3, 2));
+
+        assertEquals(List.of("#/paths/~1a/get/parameters/0", "#/components/schemas0"), locations(second));
+        assertEquals(5, second.getTotal());
+        assertTrue(second.hasMore());
+        assertEquals(List.of(), past.getResults());
+        assertFalse(past.hasMore());
+    }
+
+    @Test
+    void filtersBySeverityEngineAndWarningType() {
+        assertEquals(List.of("#/components/schemas/A", "#/paths/~1a/get/parameters/0", "#/components/schemas/C"),
+                locations(query(Set.of(IssueType.ERROR, IssueType.WARNING), null, null, null, null, Sort.REPORT)));
+        assertEquals(List.of("#/paths/~1a/get/parameters/0", "#/components/schemas/C"),
+                locations(query(null, "quality check", null, null, null, Sort.REPORT)));
+        assertEquals(List.of("#/paths/~1a/get/parameters/0"),
+                locations(query(null, null, "MISSING ANCHORS", null, null, Sort.REPORT)));
+        assertEquals(List.of(), locations(query(null, "Python", null, null, null, Sort.REPORT)));
+    }
+
+    @Test
+    void filtersByLocationPrefixAndText() {
+        assertEquals(List.of("#/components/schemas/B", "#/components/schemas/A", "#/components/schemas/C"),
+                locations(query(null, null, null, "#/components/schemas/", null, Sort.REPORT)));
+        assertEquals(List.of(), locations(query(null, null, null, "#/webhooks/", null, Sort.REPORT)));
+        assertEquals(List.of("#/paths/~1a/get/parameters/0"), locations(query(null, null, null, null, "PARAMETERS", Sort.REPORT)));
+        assertEquals(List.of("#/components/schemas/A"), locations(query(null, null, null, null, "invalid java", Sort.REPORT)));
+    }
+
+    @Test
+    void combinesFiltersBeforePaging() {
+        ResultsPage page = REPORT.query(new ResultsQuery(Set.of(IssueType.VALID), null, null, "#/components/", null, Sort.REPORT, 1, 1));
+
+        assertEquals(List.of("#/components/schemas0"), locations(page));
+        assertEquals(2, page.getTotal());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void sortsByLineLocationAndSeverity() {
+        assertEquals(List.of("#/components/schemas/C", "#/components/schemas0", "#/components/schemas/A", "#/components/schemas/B",
+                "#/paths/~1a/get/parameters/0"), locations(query(null, null, null, null, null, Sort.LINE)));
+        assertEquals(List.of("#/components/schemas/A", "#/components/schemas/B", "#/components/schemas/C"),
+                locations(query(null, null, null, "#/components/schemas/", null, Sort.LOCATION)));
+        // Errors first, then warnings, then valid groups, each in report order.
+        assertEquals(List.of("#/components/schemas/A", "#/paths/~1a/get/parameters/0", "#/components/schemas/C",
+                "#/components/schemas/B", "#/components/schemas0"), locations(query(null, null, null, null, null, Sort.SEVERITY)));
+    }
+
+    private static ResultsPage query(Set<IssueType> severities, String engine, String warningType, String locationPrefix,
+                                     String text, Sort sort) {
+        return REPORT.query(new ResultsQuery(severities, engine, warningType, locationPrefix, text, sort, 0, 10));
+    }
+
+    private static List<String> locations(ResultsPage page) {
+        return page.getResults().stream().map(GroupedValidationResult::getLocation).toList();
+    }
+
+    private static GroupedValidationResult group(String location, int lineNumber, ValidationResult... results) {
+        return new GroupedValidationResult(location, lineNumber, results[0].getRegexPattern(), List.of(results));
+    }
+}
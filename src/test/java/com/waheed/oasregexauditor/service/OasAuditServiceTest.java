@@ -0,0 +1,176 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.RuleSet;
+import com.waheed.oasregexauditor.service.validators.JavaRegexValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Single-flight memoization of {@link OasAuditService}, with pattern validation stubbed out.
+ */
+class OasAuditServiceTest {
+
+    private static final String SPEC = """
+            openapi: 3.0.0
+            info: {title: t, version: '1'}
+            paths: {}
+            components:
+              schemas:
+                Code: {type: string, pattern: '^[A-Z]{3}$'}
+            """;
+    private static final AuditOptions OPTIONS = new AuditOptions("java", Set.of(), false);
+
+    private final AtomicInteger validations = new AtomicInteger();
+    private volatile Behaviour behaviour = Behaviour.SUCCEED;
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private OasAuditService auditService;
+
+    private enum Behaviour { SUCCEED, STACK_OVERFLOW, TIME_OUT }
+
+    @BeforeEach
+    void setUp() {
+        AuditProperties properties = new AuditProperties();
+        AuditMetrics metrics = new AuditMetrics(new SimpleMeterRegistry());
+        OasValidationService validationService = new OasValidationService(List.of(new JavaRegexValidator()), null, null, properties, null, metrics) {
+            @Override
+            public List<GroupedValidationResult> validatePatterns(List<PatternLocation> patterns, String engine, RuleSet rules,
+                                                                  boolean confirmRedos, AuditProgress progress) {
+                if (patterns.isEmpty()) {
+                    return List.of();
+                }
+                validations.incrementAndGet();
+                awaitRelease();
+                PatternLocation p = patterns.get(0);
+                return switch (behaviour) {
+                    case STACK_OVERFLOW -> throw new StackOverflowError();
+                    case TIME_OUT -> List.of(new GroupedValidationResult(p.location(), p.lineNumber(), p.regex(), List.of(
+                            ValidationResult.engineTimedOut(p.location(), p.lineNumber(), p.regex(), "Java", "Timed out."))));
+                    case SUCCEED -> List.of(new GroupedValidationResult(p.location(), p.lineNumber(), p.regex(), List.of(
+                            ValidationResult.success(p.location(), p.lineNumber(), p.regex(), "Java"))));
+                };
+            }
+        };
+        auditService = new OasAuditService(validationService, new CacheConfig().cacheManager(properties), metrics,
+                new RuleRegistry(List.of(), properties));
+    }
+
+    @Test
+    void memoizesIdenticalAudits() {
+        AuditReport first = auditService.audit(SPEC, OPTIONS);
+
+        assertSame(first, auditService.audit(SPEC, OPTIONS));
+        assertEquals(1, validations.get());
+    }
+
+    @Test
+    void errorInOwnerIsNotMemoized() {
+        behaviour = Behaviour.STACK_OVERFLOW;
+        assertThrows(StackOverflowError.class, () -> auditService.audit(SPEC, OPTIONS));
+
+        behaviour = Behaviour.SUCCEED;
+        AuditReport report = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> auditService.audit(SPEC, OPTIONS));
+        assertEquals(1, report.getResults().size());
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void errorInOwnerFailsWaitersInsteadOfBlockingThem() throws Exception {
+        behaviour = Behaviour.STACK_OVERFLOW;
+        release = new CountDownLatch(1);
+        CompletableFuture<AuditReport> owner = CompletableFuture.supplyAsync(() -> auditService.audit(SPEC, OPTIONS));
+        waitForValidations(1);
+        // The waiter reports its stage once it holds the owner's in-flight future; only then may the owner fail.
+        CountDownLatch waiting = new CountDownLatch(1);
+        AuditProgress waiterProgress = new AuditProgress() {
+            @Override
+            public void stage(String stage) {
+                waiting.countDown();
+            }
+        };
+        CompletableFuture<AuditReport> waiter = CompletableFuture.supplyAsync(() -> auditService.audit(SPEC, OPTIONS, waiterProgress));
+        assertTrue(waiting.await(10, TimeUnit.SECONDS));
+        release.countDown();
+
+        ExecutionException ownerFailure = assertThrows(ExecutionException.class, () -> owner.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, ownerFailure.getCause());
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, waiterFailure.getCause());
+        assertEquals(1, validations.get());
+    }
+
+    @Test
+    void reportWithEngineTimeoutIsNotMemoized() {
+        behaviour = Behaviour.TIME_OUT;
+        AuditReport first = auditService.audit(SPEC, OPTIONS);
+        assertTrue(ValidationResult.isEngineFailure(first.getResults().get(0).getResults().get(0)));
+
+        behaviour = Behaviour.SUCCEED;
+        AuditReport second = auditService.audit(SPEC, OPTIONS);
+        assertEquals(2, validations.get());
+        assertSame(second, auditService.audit(SPEC, OPTIONS));
+    }
+
+    @Test
+    void reauditCarriesCompleteResultsForward() {
+        AuditReport previous = auditService.audit(SPEC, OPTIONS);
+
+        OasAuditService.Reaudit reaudit = auditService.reaudit(previous, SPEC.replace("title: t", "title: u"));
+
+        assertEquals(1, validations.get());
+        assertEquals(1, reaudit.summary().reusedPatterns());
+        assertEquals(previous.getResults(), reaudit.report().getResults());
+    }
+
+    @Test
+    void reauditRevalidatesResultsDroppedByIssuesOnlyRetention() {
+        AuditReport previous = ReportCompactor.compact(auditService.audit(SPEC, OPTIONS), true);
+        assertTrue(previous.getResults().get(0).getResults().isEmpty());
+
+        OasAuditService.Reaudit reaudit = auditService.reaudit(previous, SPEC.replace("title: t", "title: u"));
+
+        assertEquals(2, validations.get());
+        assertEquals(0, reaudit.summary().reusedPatterns());
+        assertEquals(List.of("#/components/schemas/Code"), reaudit.summary().recomputedLocations());
+        assertEquals(ValidationResult.IssueType.VALID, reaudit.report().getResults().get(0).getResults().get(0).getIssueType());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitForValidations(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (validations.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.rules.AuditRule;
+import com.waheed.oasregexauditor.service.rules.MissingAnchorsRule;
+import com.waheed.oasregexauditor.service.rules.NodeKind;
+import com.waheed.oasregexauditor.service.rules.RuleRegistry;
+import com.waheed.oasregexauditor.service.rules.RuleSet;
+import com.waheed.oasregexauditor.service.validators.JavaRegexValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rule dispatch during {@link OasValidationService#inspect}, and per-audit deduplication of
+ * {@link OasValidationService#validatePatterns}: each distinct regex is validated once and its verdicts are fanned
+ * out to every occurrence.
+ */
+class OasValidationServiceTest {
+
+    private final List<String> validated = new CopyOnWriteArrayList<>();
+    private ForkJoinPool pool;
+    private OasValidationService validationService;
+
+    @BeforeEach
+    void setUp() {
+        AuditProperties properties = new AuditProperties();
+        // Every pattern reaches the engine, so that the engine calls count the regexes validated.
+        properties.setConfirmWithEngines(true);
+        JavaRegexValidator engine = new JavaRegexValidator() {
+            @Override
+            public ValidationResult validate(String location, int lineNumber, String regex) {
+                validated.add(regex);
+                return super.validate(location, lineNumber, regex);
+            }
+        };
+        pool = new ForkJoinPool(2);
+        validationService = new OasValidationService(List.of(engine), new RegexVerdictCache(new CacheConfig().cacheManager(properties)),
+                pool, properties, null, new AuditMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void validatesEachDistinctRegexOnceAndFansOutItsVerdicts() {
+        List<PatternLocation> patterns = List.of(
+                new PatternLocation("#/components/schemas/A", 5, "^[a-z]+$"),
+                new PatternLocation("#/components/schemas/B", 9, "[0-9"),
+                new PatternLocation("#/paths/~1a/get/parameters/0/schema", 0, "^[a-z]+$"),
+                new PatternLocation("#/components/schemas/C", 14, "[0-9"));
+
+        List<GroupedValidationResult> groups = validationService.validatePatterns(patterns, "java", RuleSet.NONE, false);
+
+        assertEquals(List.of("^[a-z]+$", "[0-9"), validated);
+        assertEquals(List.of("#/components/schemas/A", "#/components/schemas/B", "#/paths/~1a/get/parameters/0/schema",
+                "#/components/schemas/C"), groups.stream().map(GroupedValidationResult::getLocation).toList());
+        for (int i = 0; i < patterns.size(); i++) {
+            GroupedValidationResult group = groups.get(i);
+            assertEquals(patterns.get(i).lineNumber(), group.getLineNumber());
+            assertEquals(1, group.getResults().size());
+            ValidationResult result = group.getResults().get(0);
+            // Each copy carries the location and line of its own occurrence.
+            assertEquals(group.getLocation(), result.getLocation());
+            assertEquals(patterns.get(i).lineNumber(), result.getLineNumber());
+        }
+        assertTrue(groups.get(2).getResults().get(0).isValid());
+        assertFalse(groups.get(3).getResults().get(0).isValid());
+        assertEquals(groups.get(1).getResults().get(0).getMessage(), groups.get(3).getResults().get(0).getMessage());
+    }
+
+    @Test
+    void inspectionCallsEachRuleOnlyForTheNodeKindsItDeclares() {
+        String spec = """
+                openapi: 3.0.3
+                info: {title: t, version: '1'}
+                paths:
+                  /a:
+                    get:
+                      parameters:
+                        - {name: q, in: query, schema: {type: string, pattern: '^q$'}}
+                      responses: {'200': {description: ok}}
+                components:
+                  schemas:
+                    Code: {type: string, pattern: '^[A-Z]{3}$'}
+                """;
+        RecordingRule pathsAndSchemas = new RecordingRule("paths-and-schemas", Set.of(NodeKind.PATH, NodeKind.SCHEMA));
+        RecordingRule operations = new RecordingRule("operations", Set.of(NodeKind.OPERATION));
+        RuleSet rules = new RuleRegistry(List.of(pathsAndSchemas, operations), new AuditProperties())
+                .ruleSet(Set.of("paths-and-schemas", "operations"));
+
+        OasValidationService.Inspection inspection = validationService.inspect(
+                new OpenAPIV3Parser().readContents(spec, null, null).getOpenAPI(), spec, rules);
+
+        assertEquals(List.of("schema #/components/schemas/Code", "path #/paths/~1a"), pathsAndSchemas.calls);
+        assertEquals(List.of("operation #/paths/~1a/get"), operations.calls);
+        assertEquals(List.of("#/components/schemas/Code", "#/paths/~1a/get/parameters/0"),
+                inspection.patterns().stream().map(PatternLocation::location).toList());
+        // Findings under paths come first, whatever the traversal order.
+        assertEquals(List.of("#/paths/~1a", "#/paths/~1a/get", "#/components/schemas/Code"),
+                inspection.findings().stream().map(GroupedValidationResult::getLocation).toList());
+    }
+
+    @Test
+    void fansOutPatternRuleFindingsInTheOrderTheyWereProduced() {
+        List<PatternLocation> patterns = List.of(
+                new PatternLocation("#/components/schemas/A", 5, "[a-z]+"),
+                new PatternLocation("#/components/schemas/B", 9, "[a-z]+"));
+
+        List<GroupedValidationResult> groups = validationService.validatePatterns(patterns, "java",
+                new RuleRegistry(List.of(new MissingAnchorsRule()), new AuditProperties()).ruleSet(Set.of(MissingAnchorsRule.ID)), false);
+
+        assertEquals(List.of("[a-z]+"), validated);
+        assertEquals(2, groups.size());
+        for (GroupedValidationResult group : groups) {
+            assertEquals(List.of("Java", MissingAnchorsRule.ENGINE_NAME),
+                    group.getResults().stream().map(ValidationResult::getEngine).toList());
+            assertEquals(group.getLocation(), group.getResults().get(1).getLocation());
+        }
+    }
+
+    /**
+     * Records the nodes it is called for, and reports each as a warning.
+     */
+    private static final class RecordingRule implements AuditRule {
+        private final String id;
+        private final Set<NodeKind> nodeKinds;
+        private final List<String> calls = new ArrayList<>();
+
+        RecordingRule(String id, Set<NodeKind> nodeKinds) {
+            this.id = id;
+            this.nodeKinds = nodeKinds;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public Set<NodeKind> nodeKinds() {
+            return nodeKinds;
+        }
+
+        @Override
+        public void checkPattern(PatternLocation pattern, List<ValidationResult> results) {
+            record("pattern", pattern.location(), results);
+        }
+
+        @Override
+        public void checkPath(String location, String path, PathItem pathItem, List<ValidationResult> results) {
+            record("path", location, results);
+        }
+
+        @Override
+        public void checkOperation(String location, PathItem.HttpMethod method, Operation operation, List<ValidationResult> results) {
+            record("operation", location, results);
+        }
+
+        @Override
+        public void checkParameter(String location, Parameter parameter, List<ValidationResult> results) {
+            record("parameter", location, results);
+        }
+
+        @Override
+        public void checkSchema(String location, String name, Schema<?> schema, List<ValidationResult> results) {
+            record("schema", location, results);
+        }
+
+        private void record(String kind, String location, List<ValidationResult> results) {
+            calls.add(kind + " " + location);
+            results.add(ValidationResult.warning(location, 0, null, ENGINE_NAME, id, null, null));
+        }
+    }
+}
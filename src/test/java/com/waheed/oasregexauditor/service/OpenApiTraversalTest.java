@@ -0,0 +1,91 @@
+package com.waheed.oasregexauditor.service;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Patterns reachable through schema instances shared by resolved references, including cyclic ones.
+ */
+class OpenApiTraversalTest {
+
+    @Test
+    void selfReferencingSchemaIsWalkedOnce() {
+        Schema<Object> node = new ObjectSchema();
+        node.addProperty("name", new StringSchema().pattern("^n$"));
+        node.addProperty("next", node);
+        OpenAPI openAPI = new OpenAPI().components(new Components().addSchemas("Node", node));
+
+        List<Reported> reported = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> traverse(openAPI));
+
+        assertEquals(List.of(new Reported("#/components/schemas/Node/properties/name",
+                "#/components/schemas/Node/properties/name/pattern", "^n$")), reported);
+    }
+
+    @Test
+    void mutuallyReferencingSchemasReportEachPatternAtTheirComponents() {
+        Schema<Object> a = new ObjectSchema().pattern("^a$");
+        Schema<Object> b = new ObjectSchema().pattern("^b$");
+        a.addProperty("b", b);
+        b.addProperty("a", a);
+        OpenAPI openAPI = new OpenAPI().components(new Components().addSchemas("A", a).addSchemas("B", b));
+
+        List<Reported> reported = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> traverse(openAPI));
+
+        assertEquals(List.of("#/components/schemas/A", "#/components/schemas/A/properties/b", "#/components/schemas/B"),
+                reported.stream().map(Reported::location).toList());
+        assertEquals("^b$", reported.get(2).regex());
+    }
+
+    @Test
+    void sharedSchemaIsReportedUnderEveryPointerWithItsSourcePointer() {
+        Schema<String> code = new StringSchema().pattern("^[A-Z]{3}$");
+        Operation get = new Operation()
+                .addParametersItem(new QueryParameter().name("code").schema(code))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse().content(new Content()
+                        .addMediaType("application/json", new MediaType().schema(new ObjectSchema().addProperty("code", code))))));
+        OpenAPI openAPI = new OpenAPI()
+                .components(new Components().addSchemas("Code", code))
+                .paths(new Paths().addPathItem("/a", new PathItem().get(get)));
+
+        List<Reported> reported = traverse(openAPI);
+
+        String source = "#/components/schemas/Code/pattern";
+        assertEquals(List.of(
+                new Reported("#/components/schemas/Code", source, "^[A-Z]{3}$"),
+                new Reported("#/paths/~1a/get/parameters/0", source, "^[A-Z]{3}$"),
+                new Reported("#/paths/~1a/get/responses/200/content/application~1json/schema/properties/code", source, "^[A-Z]{3}$")),
+                reported);
+    }
+
+    private static List<Reported> traverse(OpenAPI openAPI) {
+        List<Reported> reported = new ArrayList<>();
+        OpenApiTraversal.traverse(openAPI, new OpenApiTraversal.Visitor() {
+            @Override
+            public void pattern(String location, String sourcePointer, String regex) {
+                reported.add(new Reported(location, sourcePointer, regex));
+            }
+        });
+        return reported;
+    }
+
+    private record Reported(String location, String sourcePointer, String regex) {}
+}
@@ -0,0 +1,83 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import com.waheed.oasregexauditor.service.regex.Dialect;
+import com.waheed.oasregexauditor.service.validators.RegexValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Which results {@link RegexVerdictCache} keeps: verdicts are cached, engine failures never are, whatever their text.
+ */
+class RegexVerdictCacheTest {
+
+    private static final String FAILURE_SUGGESTION = ValidationResult.engineFailure("#", 0, "x", "Stub", "failed").getSuggestion();
+
+    private final RegexVerdictCache cache = new RegexVerdictCache(new CacheConfig().cacheManager(new AuditProperties()));
+    private final StubValidator validator = new StubValidator();
+
+    @Test
+    void cachesVerdictsButNotEngineFailures() {
+        List<PatternLocation> patterns = List.of(new PatternLocation("#/a", 1, "valid"), new PatternLocation("#/b", 2, "failure"),
+                new PatternLocation("#/c", 3, "failure"));
+
+        List<ValidationResult> first = cache.validateAll(validator, patterns);
+        List<ValidationResult> second = cache.validateAll(validator, patterns);
+
+        assertEquals(List.of("valid", "failure", "failure"), validator.validated);
+        assertEquals(first, second);
+        assertNull(first.get(0).getFailureKind());
+        // Served to every occurrence with its failure kind, so that callers can still tell it is not a verdict.
+        assertEquals(ValidationResult.FailureKind.ENGINE_FAILED, first.get(2).getFailureKind());
+        assertEquals("#/c", first.get(2).getLocation());
+    }
+
+    @Test
+    void verdictsAreRecognizedByKindNotByText() {
+        List<PatternLocation> patterns = List.of(new PatternLocation("#/a", 1, "lookalike"), new PatternLocation("#/b", 2, "timeout"));
+
+        List<ValidationResult> results = cache.validateAll(validator, patterns);
+        cache.validateAll(validator, patterns);
+
+        assertFalse(ValidationResult.isEngineFailure(results.get(0)));
+        assertTrue(ValidationResult.isEngineFailure(results.get(1)));
+        assertEquals(List.of("lookalike", "timeout", "timeout"), validator.validated);
+    }
+
+    private static final class StubValidator implements RegexValidator {
+        private final List<String> validated = new ArrayList<>();
+
+        @Override
+        public ValidationResult validate(String location, int lineNumber, String regex) {
+            validated.add(regex);
+            return switch (regex) {
+                case "failure" -> ValidationResult.engineFailure(location, lineNumber, regex, getEngineName(), "Context unavailable");
+                case "timeout" -> ValidationResult.engineTimedOut(location, lineNumber, regex, getEngineName(), "Timed out");
+                // A rule's verdict that happens to read like an engine failure is still a verdict.
+                case "lookalike" -> ValidationResult.error(location, lineNumber, regex, getEngineName(), "Engine Timed Out",
+                        FAILURE_SUGGESTION, null);
+                default -> ValidationResult.success(location, lineNumber, regex, getEngineName());
+            };
+        }
+
+        @Override
+        public String getEngineName() {
+            return "Stub";
+        }
+
+        @Override
+        public Dialect getDialect() {
+            return Dialect.JAVA;
+        }
+    }
+}
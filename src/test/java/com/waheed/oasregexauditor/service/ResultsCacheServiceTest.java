@@ -0,0 +1,102 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.config.CacheConfig;
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shares of identical reports are stored once, under the content key, and every share ID still resolves.
+ */
+class ResultsCacheServiceTest {
+
+    private static final AuditOptions OPTIONS = new AuditOptions("java", Set.of(), false);
+    private static final String KEY = "0123456789abcdef";
+
+    @TempDir
+    Path directory;
+
+    private AuditProperties properties;
+    private DiskResultsStore diskStore;
+    private ResultsCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setResultsStoreDirectory(directory.toString());
+        restart();
+    }
+
+    @Test
+    void identicalReportsAreStoredOnce() {
+        AuditReport report = report(KEY, ValidationResult.success("#/a", 3, "^a$", "Java"));
+
+        IndexedReport first = service.store("share-1", report);
+        IndexedReport second = service.store("share-2", report);
+
+        assertSame(first, second);
+        assertSame(first, service.get("share-1").orElseThrow());
+        assertSame(first, service.get("share-2").orElseThrow());
+        assertEquals(1L, diskStore.stats().get("count"));
+        assertEquals(2L, diskStore.stats().get("links"));
+    }
+
+    @Test
+    void shareIdsResolveAfterARestart() {
+        AuditReport report = report(KEY, ValidationResult.success("#/a", 3, "^a$", "Java"));
+        service.store("share-1", report);
+        service.store("share-2", report);
+
+        restart();
+
+        AuditReport reloaded = service.get("share-2").orElseThrow().report();
+        assertEquals(report.getResults(), reloaded.getResults());
+        assertSame(service.get("share-1").orElseThrow(), service.get("share-2").orElseThrow());
+    }
+
+    @Test
+    void reportWithoutContentKeyIsStoredUnderItsShareId() {
+        service.store("share-1", report(null, ValidationResult.success("#/a", 3, "^a$", "Java")));
+
+        restart();
+
+        assertTrue(service.get("share-1").isPresent());
+        assertEquals(1L, diskStore.stats().get("count"));
+        assertEquals(0L, diskStore.stats().get("links"));
+    }
+
+    @Test
+    void copyWithEngineFailuresIsReplacedByACompleteOne() {
+        service.store("share-1", report(KEY, ValidationResult.engineTimedOut("#/a", 3, "^a$", "Java", "Timed out")));
+        AuditReport complete = report(KEY, ValidationResult.success("#/a", 3, "^a$", "Java"));
+
+        service.store("share-2", complete);
+
+        assertEquals(complete.getResults(), service.get("share-1").orElseThrow().report().getResults());
+        assertEquals(1L, diskStore.stats().get("count"));
+    }
+
+    private void restart() {
+        diskStore = new DiskResultsStore(properties);
+        service = new ResultsCacheService(diskStore, properties, new CacheConfig().cacheManager(properties));
+    }
+
+    private static AuditReport report(String contentKey, ValidationResult result) {
+        return new AuditReport(List.of(new GroupedValidationResult("#/a", 3, "^a$", List.of(result))), OPTIONS,
+                List.of(new PatternLocation("#/a", 3, "^a$")), contentKey);
+    }
+}
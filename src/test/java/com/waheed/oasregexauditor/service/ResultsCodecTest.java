@@ -0,0 +1,118 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.model.AuditOptions;
+import com.waheed.oasregexauditor.model.AuditReport;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.PatternLocation;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips of {@link ResultsCodec}, and rejection of corrupt records with {@link IllegalArgumentException} only.
+ */
+class ResultsCodecTest {
+
+    private static final AuditReport REPORT = new AuditReport(
+            List.of(new GroupedValidationResult("#/components/schemas/Code", 12, "^(a+)+$", List.of(
+                            ValidationResult.success("#/components/schemas/Code", 12, "^(a+)+$", "Java"),
+                            new ValidationResult("#/components/schemas/Code", 12, "^(a+)+$", "Go (RE2J)", false,
+                                    ValidationResult.IssueType.WARNING, "Nested quantifier", "Use (a)+", "^a+$", "aaaa!"),
+                            ValidationResult.engineFailure("#/components/schemas/Code", 12, "^(a+)+$", "JavaScript", "No context"),
+                            ValidationResult.engineTimedOut("#/components/schemas/Code", 12, "^(a+)+$", "Java", "Timed out"))),
+                    new GroupedValidationResult("#/paths/~1a", -1, null, List.of(
+                            ValidationResult.warning("#/paths/~1a", -1, null, "Rules", "Path is not kebab-case", null, null)))),
+            new AuditOptions("java,go", Set.of("redos", "anchors"), true),
+            List.of(new PatternLocation("#/components/schemas/Code", 12, "^(a+)+$"),
+                    new PatternLocation("#/components/schemas/Name", 0, "ünïcödé")));
+
+    @Test
+    void roundTripsAReport() {
+        assertEquals(REPORT, decode(ResultsCodec.encode(REPORT)));
+    }
+
+    @Test
+    void keepsFailureKinds() {
+        List<ValidationResult> results = decode(ResultsCodec.encode(REPORT)).getResults().get(0).getResults();
+
+        assertNull(results.get(1).getFailureKind());
+        assertEquals(ValidationResult.FailureKind.ENGINE_FAILED, results.get(2).getFailureKind());
+        assertEquals(ValidationResult.FailureKind.ENGINE_TIMED_OUT, results.get(3).getFailureKind());
+    }
+
+    @Test
+    void roundTripsAReportWithoutOptionsOrPatterns() {
+        AuditReport report = new AuditReport(List.of(), null, null);
+
+        AuditReport decoded = decode(ResultsCodec.encode(report));
+
+        assertEquals(List.of(), decoded.getResults());
+        assertNull(decoded.getOptions());
+        assertNull(decoded.getPatterns());
+    }
+
+    @Test
+    void rejectsAnotherMagicOrVersion() {
+        byte[] record = ResultsCodec.encode(REPORT);
+        byte[] badMagic = record.clone();
+        badMagic[0] = 'X';
+        byte[] badVersion = record.clone();
+        badVersion[4] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> decode(badMagic));
+        assertThrows(IllegalArgumentException.class, () -> decode(badVersion));
+    }
+
+    @Test
+    void rejectsEveryTruncation() {
+        byte[] record = ResultsCodec.encode(REPORT);
+        for (int length = 0; length < record.length; length++) {
+            byte[] truncated = Arrays.copyOf(record, length);
+            assertThrows(IllegalArgumentException.class, () -> decode(truncated));
+        }
+    }
+
+    @Test
+    void rejectsCountsLargerThanTheRecordBeforeAllocating() {
+        // A string table of Integer.MAX_VALUE entries, then nothing.
+        byte[] hugeCount = {'O', 'A', 'S', 'R', 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        // One string of Integer.MAX_VALUE bytes.
+        byte[] hugeLength = {'O', 'A', 'S', 'R', 2, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        // A string table of -1 entries.
+        byte[] negativeCount = {'O', 'A', 'S', 'R', 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+        assertThrows(IllegalArgumentException.class, () -> decode(hugeCount));
+        assertThrows(IllegalArgumentException.class, () -> decode(hugeLength));
+        assertThrows(IllegalArgumentException.class, () -> decode(negativeCount));
+    }
+
+    @Test
+    void corruptBytesFailWithIllegalArgumentOrDecode() {
+        byte[] record = ResultsCodec.encode(REPORT);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            byte[] corrupt = record.clone();
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                corrupt[4 + random.nextInt(corrupt.length - 4)] = (byte) random.nextInt(256);
+            }
+            try {
+                decode(corrupt);
+            } catch (IllegalArgumentException expected) {
+                // Corruption is either detected or yields some other well-formed report.
+            }
+        }
+    }
+
+    private static AuditReport decode(byte[] record) {
+        return ResultsCodec.decode(ByteBuffer.wrap(record));
+    }
+}
@@ -0,0 +1,64 @@
+package com.waheed.oasregexauditor.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Line lookup of patterns by JSON Pointer, with the regex text as a fallback for pointers not in the source.
+ */
+class SourcePositionIndexTest {
+
+    private static final String SPEC = """
+            openapi: 3.0.3
+            info: {title: t, version: '1'}
+            paths: {}
+            components:
+              schemas:
+                First:
+                  type: string
+                  pattern: '^[a-z]+$'
+                Second:
+                  type: string
+                  pattern: '^[a-z]+$'
+                Other:
+                  type: string
+                  pattern: '^[0-9]+$'
+            """;
+
+    @Test
+    void duplicateRegexesResolveToTheirOwnLines() {
+        SourcePositionIndex index = SourcePositionIndex.build(SPEC);
+
+        assertEquals(8, index.lineOf("#/components/schemas/First/pattern", "^[a-z]+$"));
+        assertEquals(11, index.lineOf("#/components/schemas/Second/pattern", "^[a-z]+$"));
+        assertEquals(14, index.lineOf("#/components/schemas/Other/pattern", "^[0-9]+$"));
+    }
+
+    @Test
+    void unknownPointerFallsBackToTheFirstOccurrenceOfTheRegex() {
+        SourcePositionIndex index = SourcePositionIndex.build(SPEC);
+
+        // E.g. a schema inlined into a path by reference resolution.
+        assertEquals(8, index.lineOf("#/paths/~1a/get/parameters/0/schema/pattern", "^[a-z]+$"));
+        assertEquals(new SourcePositionIndex.SourcePosition(8, 16),
+                index.positionOf("#/paths/~1a/get/parameters/0/schema/pattern", "^[a-z]+$"));
+    }
+
+    @Test
+    void unknownPatternHasNoPosition() {
+        SourcePositionIndex index = SourcePositionIndex.build(SPEC);
+
+        assertEquals(0, index.lineOf("#/components/schemas/Missing/pattern", "^x$"));
+        assertNull(index.positionOf("#/components/schemas/Missing/pattern", "^x$"));
+    }
+
+    @Test
+    void malformedContentYieldsAnEmptyIndex() {
+        SourcePositionIndex index = SourcePositionIndex.build("openapi: 3.0.3\npaths: {\n");
+
+        assertEquals(0, index.lineOf("#/components/schemas/First/pattern", "^[a-z]+$"));
+        assertEquals(0, SourcePositionIndex.build("  ").lineOf("#/a/pattern", "^a$"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.waheed.oasregexauditor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Entry and whole-archive limits of {@link SpecArchiveReader}.
+ */
+class SpecArchiveReaderTest {
+
+    private static final long MAX_ENTRY_BYTES = 1024;
+    private static final int MAX_ENTRIES = 10;
+    private static final long MAX_TOTAL_BYTES = 64 * 1024;
+
+    @Test
+    void readsSpecsAndSkipsOtherFiles() throws Exception {
+        byte[] zip = zip(List.of("a.yaml", "notes.txt", "dir/b.json", "__MACOSX/._a.yaml"), List.of("openapi: 3.0.0", "x", "{}", "x"));
+
+        List<SpecArchiveReader.SpecEntry> specs = readAll(zip);
+
+        assertEquals(List.of("a.yaml", "dir/b.json"), specs.stream().map(SpecArchiveReader.SpecEntry::name).toList());
+        assertEquals("openapi: 3.0.0", specs.get(0).content());
+    }
+
+    @Test
+    void oversizedSpecIsReportedAndTheRestIsRead() throws Exception {
+        byte[] tar = tar(List.of("big.yaml", "small.yaml"), List.of("a".repeat((int) MAX_ENTRY_BYTES + 1), "openapi: 3.1.0"));
+
+        List<SpecArchiveReader.SpecEntry> specs = readAll(tar);
+
+        assertNull(specs.get(0).content());
+        assertTrue(specs.get(0).error().contains(String.valueOf(MAX_ENTRY_BYTES)));
+        assertEquals("openapi: 3.1.0", specs.get(1).content());
+    }
+
+    @Test
+    void zipDecompressingBeyondTheLimitIsRejectedEvenIfTheEntryIsSkipped() throws Exception {
+        byte[] zip = zip(List.of("bomb.bin", "a.yaml"), List.of("0".repeat((int) MAX_TOTAL_BYTES * 4), "openapi: 3.0.0"));
+
+        assertThrows(ArchiveTooLargeException.class, () -> readAll(zip));
+        assertThrows(ArchiveTooLargeException.class, () -> open(zip).checkLimits());
+    }
+
+    @Test
+    void tarGzDecompressingBeyondTheLimitIsRejectedEvenIfTheEntryIsSkipped() throws Exception {
+        byte[] tarGz = gzip(tar(List.of("bomb.bin", "a.yaml"), List.of("0".repeat((int) MAX_TOTAL_BYTES * 4), "openapi: 3.0.0")));
+
+        assertThrows(ArchiveTooLargeException.class, () -> readAll(tarGz));
+        assertThrows(ArchiveTooLargeException.class, () -> open(tarGz).checkLimits());
+    }
+
+    @Test
+    void entriesOfAnyKindCountTowardsTheEntryLimit() throws Exception {
+        List<String> names = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i <= MAX_ENTRIES; i++) {
+            names.add("file" + i + ".txt");
+            contents.add("");
+        }
+
+        assertThrows(ArchiveTooLargeException.class, () -> open(zip(names, contents)).checkLimits());
+        assertThrows(ArchiveTooLargeException.class, () -> open(tar(names, contents)).checkLimits());
+    }
+
+    @Test
+    void archiveWithinTheLimitsPassesTheCheck() throws Exception {
+        byte[] tarGz = gzip(tar(List.of("a.yaml", "b.yml"), List.of("openapi: 3.0.0", "openapi: 3.1.0")));
+
+        assertDoesNotThrow(() -> open(tarGz).checkLimits());
+        assertEquals(2, readAll(tarGz).size());
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> open("openapi: 3.0.0".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static SpecArchiveReader open(byte[] archive) throws IOException {
+        return SpecArchiveReader.open(new ByteArrayInputStream(archive), MAX_ENTRY_BYTES, MAX_ENTRIES, MAX_TOTAL_BYTES);
+    }
+
+    private static List<SpecArchiveReader.SpecEntry> readAll(byte[] archive) throws Exception {
+        List<SpecArchiveReader.SpecEntry> specs = new ArrayList<>();
+        open(archive).forEachSpec(specs::add);
+        return specs;
+    }
+
+    private static byte[] zip(List<String> names, List<String> contents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < names.size(); i++) {
+                zip.putNextEntry(new ZipEntry(names.get(i)));
+                zip.write(contents.get(i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] tar(List<String> names, List<String> contents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < names.size(); i++) {
+            byte[] data = contents.get(i).getBytes(StandardCharsets.UTF_8);
+            byte[] header = new byte[512];
+            put(header, 0, names.get(i));
+            put(header, 124, String.format("%011o", data.length));
+            header[156] = '0';
+            put(header, 257, "ustar");
+            bytes.write(header);
+            bytes.write(data);
+            bytes.write(new byte[(512 - data.length % 512) % 512]);
+        }
+        bytes.write(new byte[1024]);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] ascii = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(ascii, 0, header, offset, ascii.length);
+    }
+}
@@ -0,0 +1,96 @@
+package com.waheed.oasregexauditor.service;
+
+import com.waheed.oasregexauditor.service.StreamingPatternScanner.ScannedPattern;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The streaming scan reports every {@code pattern} keyword where it is written, with its source position.
+ */
+class StreamingPatternScannerTest {
+
+    @Test
+    void reportsPatternsInDocumentOrderWithTheirPositions() throws IOException {
+        List<ScannedPattern> scanned = scan("""
+                openapi: 3.0.3
+                info: {title: t, version: '1'}
+                paths:
+                  /users/{id}:
+                    parameters:
+                      - {name: id, in: path, required: true, schema: {type: string, pattern: '^[0-9]+$'}}
+                    get:
+                      responses:
+                        '200':
+                          description: ok
+                          content:
+                            application/json:
+                              schema:
+                                $ref: '#/components/schemas/Code'
+                components:
+                  schemas:
+                    Code:
+                      type: string
+                      pattern: '^[A-Z]{3}$'
+                """);
+
+        assertEquals(List.of(
+                new ScannedPattern("#/paths/~1users~1{id}/parameters/0/schema/pattern", 6, 78, "^[0-9]+$"),
+                new ScannedPattern("#/components/schemas/Code/pattern", 19, 16, "^[A-Z]{3}$")), scanned);
+    }
+
+    @Test
+    void skipsExampleDataButNotSchemasNamedLikeIt() throws IOException {
+        List<ScannedPattern> scanned = scan("""
+                openapi: 3.0.3
+                info: {title: t, version: '1'}
+                paths:
+                  /a:
+                    x-internal: {pattern: '^ext$'}
+                components:
+                  schemas:
+                    Target:
+                      type: object
+                      properties:
+                        pattern: {type: string, pattern: '^named-pattern$'}
+                        example: {type: string, pattern: '^named-example$'}
+                      example: {pattern: '^data$'}
+                      default: {pattern: '^default$'}
+                      enum: [{pattern: '^enum$'}]
+                    Flag: {type: boolean, pattern: 1}
+                """);
+
+        assertEquals(List.of("^named-pattern$", "^named-example$"), scanned.stream().map(ScannedPattern::regex).toList());
+        assertEquals("#/components/schemas/Target/properties/example/pattern", scanned.get(1).pointer());
+    }
+
+    @Test
+    void scansJson() throws IOException {
+        List<ScannedPattern> scanned = scan("""
+                {
+                  "openapi": "3.1.0",
+                  "components": {"schemas": {"Tuple": {
+                    "prefixItems": [{"type": "string", "pattern": "^p0$"}]
+                  }}}
+                }
+                """);
+
+        assertEquals(List.of(new ScannedPattern("#/components/schemas/Tuple/prefixItems/0/pattern", 4, 51, "^p0$")), scanned);
+    }
+
+    @Test
+    void rejectsMalformedContent() {
+        assertThrows(IOException.class, () -> scan("openapi: 3.0.3\npaths: {\n"));
+    }
+
+    private static List<ScannedPattern> scan(String content) throws IOException {
+        List<ScannedPattern> scanned = new ArrayList<>();
+        StreamingPatternScanner.scan(content, scanned::add);
+        return scanned;
+    }
+}
@@ -0,0 +1,103 @@
+package com.waheed.oasregexauditor.service.redos;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.service.redos.RedosReport.Complexity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedosAnalyzerTest {
+
+    private final RedosAnalyzer analyzer = new RedosAnalyzer(new AuditProperties());
+
+    @Test
+    void findsExponentialBacktracking() {
+        RedosReport report = analyzer.analyze("^(a|a)*$");
+
+        assertEquals(Complexity.EXPONENTIAL, report.complexity());
+        assertEquals("(a|a)*", report.vulnerableSubexpression());
+        assertEquals(1, report.startIndex());
+    }
+
+    @Test
+    void reportsTheEnclosingLoopOfNestedQuantifiers() {
+        assertEquals("(a*)*", analyzer.analyze("(a*)*b").vulnerableSubexpression());
+        assertEquals("(a+)+", analyzer.analyze("(a+)+b").vulnerableSubexpression());
+        assertEquals("(a+)+", analyzer.analyze("x(?:b(a+)+)c").vulnerableSubexpression());
+    }
+
+    @Test
+    void findsPolynomialBacktracking() {
+        RedosReport report = analyzer.analyze("^\\d+\\d+\\d+x$");
+
+        assertEquals(Complexity.POLYNOMIAL, report.complexity());
+        assertEquals(3, report.degree());
+    }
+
+    @Test
+    void acceptsLinearRegexes() {
+        for (String regex : new String[]{"^[a-z]+$", "^\\d{3}-\\d{4}$", "^(?:[a-z0-9-]+\\.)+[a-z]{2,}$", "^(a|b)*c$"}) {
+            assertEquals(Complexity.SAFE, analyzer.analyze(regex).complexity(), regex);
+        }
+    }
+
+    @Test
+    void doesNotModelBackreferences() {
+        assertEquals(Complexity.UNSUPPORTED, analyzer.analyze("(a+)\\1").complexity());
+    }
+
+    @Test
+    void givesUpOnDeeplyNestedRegexes() {
+        String regex = "(".repeat(10_000) + "a" + ")".repeat(10_000);
+
+        assertEquals(Complexity.UNSUPPORTED, analyzer.analyze(regex).complexity());
+    }
+
+    @Test
+    void rejectsAutomataTooLargeToBuild() {
+        // 10^6 positions once unrolled: rejected before anything is built.
+        String regex = "((((((a){10}){10}){10}){10}){10}){10}";
+
+        assertInconclusiveWithin(regex);
+    }
+
+    @Test
+    void stopsBuildingDenseAutomataWithinTheBudget() {
+        // Few positions, but every optional copy connects to all later ones: the edges run out the budget.
+        assertInconclusiveWithin("(((a?){10}){10}){10}");
+        assertInconclusiveWithin("((((a?){10}){10}){10}){10}");
+    }
+
+    @Test
+    void stopsLongAlternationsWithinTheTimeBudget() {
+        // 150 two-letter words over {a, b, c}: few new product states, but every step intersects hundreds of labels.
+        String words = IntStream.range(0, 150)
+                .mapToObj(i -> "" + (char) ('a' + i % 3) + (char) ('a' + i / 3 % 3))
+                .collect(Collectors.joining("|"));
+
+        assertInconclusiveWithin("((" + words + "|[a-z])*)((" + words + ")*)$");
+    }
+
+    @Test
+    void smallBudgetMakesTheAnalysisInconclusive() {
+        AuditProperties properties = new AuditProperties();
+        properties.setRedosMaxStates(50);
+
+        RedosReport report = new RedosAnalyzer(properties).analyze("^[a-z]{10}@[a-z]{10}\\.com$");
+
+        assertEquals(Complexity.INCONCLUSIVE, report.complexity());
+        assertTrue(report.detail().contains("50"), report.detail());
+    }
+
+    private void assertInconclusiveWithin(String regex) {
+        RedosReport report = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> analyzer.analyze(regex));
+
+        assertEquals(Complexity.INCONCLUSIVE, report.complexity(), regex);
+    }
+}
@@ -0,0 +1,134 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import com.waheed.oasregexauditor.service.regex.RegexCompatibility.Verdict;
+import com.waheed.oasregexauditor.service.regex.RegexFeature.Support;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * The feature table against the engines it stands in for: every verdict decided statically for Java or RE2 must
+ * match whether {@code java.util.regex} or RE2J compiles the regex, and every suggested rewrite must compile there.
+ */
+class RegexCompatibilityTest {
+
+    // Fragments spliced at random, biased towards constructs the dialects disagree on.
+    private static final String[] FRAGMENTS = {"a", "b", ".", "\\d", "\\w", "(", ")", "(?:", "(?=", "(?<=", "(?<!", "(?<n>",
+            "(?P<n>", "\\1", "\\k<n>", "*", "+", "?", "{2}", "{1,3}", "{2,}", "{1001}", "{", "}", "[", "]", "[a-z]", "[^a]",
+            "|", "^", "$", "\\b", "\\B", "\\b{g}", "{g}", "\\A", "\\z", "\\Z", "\\p{L}", "\\p{Greek}", "\\pL", "\\x41",
+            "\\x{41}", "\\u0041", "\\0", "\\cA", "\\e", "\\h", "\\Q", "\\E", "(?i)", "(?i:", "(?>", "&&", "[[:alpha:]]",
+            "\\-", "\\/", "\\t", "+?", "*+", "\\s", "\\", "-", "\\a", "\\v", "\\8", "(a|b)", "(?:ab)", "(?:a)", "a+"};
+
+    @Test
+    void decidesLookbehindsJavaCannotBoundAsUnknown() {
+        for (String regex : List.of("(?<=(a|b)*)c", "(?<=(?:ab)+)c", "(?<!(?:ab)+)c")) {
+            assertEquals(Support.UNKNOWN, RegexCompatibility.analyze(regex).verdict(Dialect.JAVA).support(), regex);
+        }
+        assertEquals(Support.SUPPORTED, RegexCompatibility.analyze("(?<=a*)c").verdict(Dialect.JAVA).support());
+    }
+
+    @Test
+    void acceptsTheGraphemeBoundaryInJava() {
+        for (String regex : List.of("\\b{g}", "a\\b{g}")) {
+            RegexCompatibility compatibility = RegexCompatibility.analyze(regex);
+            assertEquals(Support.SUPPORTED, compatibility.verdict(Dialect.JAVA).support(), regex);
+            assertEquals(Support.DIFFERENT, compatibility.verdict(Dialect.RE2).support(), regex);
+        }
+    }
+
+    @Test
+    void leavesDeeplyNestedRegexesToTheEngines() {
+        String regex = "(".repeat(RegexParser.MAX_NESTING + 1) + "a" + ")".repeat(RegexParser.MAX_NESTING + 1);
+
+        RegexCompatibility compatibility = RegexCompatibility.analyze(regex);
+
+        for (Dialect dialect : Dialect.values()) {
+            assertFalse(compatibility.verdict(dialect).isDecided(), dialect.name());
+        }
+    }
+
+    @Test
+    void agreesWithTheEnginesOnTheCorpus() throws IOException {
+        List<String> mismatches = new ArrayList<>();
+        for (String regex : corpus()) {
+            check(regex, mismatches);
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void agreesWithTheEnginesOnRandomRegexes() {
+        Random random = new Random(42);
+        List<String> mismatches = new ArrayList<>();
+        int decided = 0;
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder regex = new StringBuilder();
+            for (int n = 1 + random.nextInt(6); n > 0; n--) {
+                regex.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            decided += check(regex.toString(), mismatches);
+        }
+        assertEquals(List.of(), mismatches);
+        // The table must decide a fair share, or the comparison proves little.
+        assertTrue(decided > 25_000, "decided only " + decided);
+    }
+
+    /**
+     * Compares the static verdicts of a regex with the engines, adding any disagreement to the list.
+     *
+     * @return The number of dialects decided statically.
+     */
+    private static int check(String regex, List<String> mismatches) {
+        RegexCompatibility compatibility = RegexCompatibility.analyze(regex);
+        int decided = 0;
+        for (Dialect dialect : List.of(Dialect.JAVA, Dialect.RE2)) {
+            Verdict verdict = compatibility.verdict(dialect);
+            if (!verdict.isDecided()) {
+                continue;
+            }
+            decided++;
+            boolean compiles = compiles(dialect, regex);
+            if (compiles != (verdict.support() != Support.UNSUPPORTED)) {
+                mismatches.add(dialect + " " + regex + ": " + verdict.support() + " " + verdict.construct() + ", engine compiles: " + compiles);
+            }
+            if (verdict.suggestedRegex() != null && !compiles(dialect, verdict.suggestedRegex())) {
+                mismatches.add(dialect + " " + regex + ": suggested " + verdict.suggestedRegex() + " does not compile");
+            }
+        }
+        return decided;
+    }
+
+    private static boolean compiles(Dialect dialect, String regex) {
+        try {
+            if (dialect == Dialect.JAVA) {
+                java.util.regex.Pattern.compile(regex);
+            } else {
+                com.google.re2j.Pattern.compile(regex);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static List<String> corpus() throws IOException {
+        try (InputStream in = RegexCompatibilityTest.class.getResourceAsStream("/regex/compatibility-corpus.txt")) {
+            if (in == null) {
+                fail("Missing regex/compatibility-corpus.txt");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isEmpty() && !line.startsWith("# "))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.waheed.oasregexauditor.service.regex;
+
+import com.waheed.oasregexauditor.service.regex.ParsedRegex.FeatureUse;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Alternation;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Assertion;
+import com.waheed.oasregexauditor.service.regex.RegexNode.AssertionKind;
+import com.waheed.oasregexauditor.service.regex.RegexNode.CharSet;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Group;
+import com.waheed.oasregexauditor.service.regex.RegexNode.GroupKind;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Repeat;
+import com.waheed.oasregexauditor.service.regex.RegexNode.Sequence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegexParserTest {
+
+    @Test
+    void buildsTheSyntaxTree() {
+        Sequence sequence = assertInstanceOf(Sequence.class, RegexParser.parse("(a|b)*c"));
+
+        Repeat repeat = assertInstanceOf(Repeat.class, sequence.items().get(0));
+        assertEquals(0, repeat.min());
+        assertTrue(repeat.isUnbounded());
+        Group group = assertInstanceOf(Group.class, repeat.body());
+        assertEquals(GroupKind.CAPTURING, group.kind());
+        assertEquals(2, assertInstanceOf(Alternation.class, group.body()).alternatives().size());
+        assertInstanceOf(CharSet.class, sequence.items().get(1));
+    }
+
+    @Test
+    void recordsFeaturesInOffsetOrder() {
+        List<FeatureUse> features = RegexParser.parseWithFeatures("a++(?<n>b)\\k<n>").features();
+
+        assertEquals(List.of(RegexFeature.POSSESSIVE_QUANTIFIER, RegexFeature.NAMED_GROUP, RegexFeature.NAMED_BACKREFERENCE),
+                features.stream().map(FeatureUse::feature).toList());
+        assertEquals(2, features.get(0).start());
+    }
+
+    @Test
+    void rejectsMalformedRegexes() {
+        for (String regex : List.of("(a", "a)", "*a", "a**", "[a", "a{2}{3}", "\\", "(?")) {
+            assertThrows(RegexParseException.class, () -> RegexParser.parse(regex), regex);
+        }
+    }
+
+    @Test
+    void parsesTheGraphemeBoundaryAsAnAssertion() {
+        Sequence sequence = assertInstanceOf(Sequence.class, RegexParser.parse("a\\b{g}"));
+        assertEquals(AssertionKind.GRAPHEME_BOUNDARY, assertInstanceOf(Assertion.class, sequence.items().get(1)).kind());
+
+        List<FeatureUse> features = RegexParser.parseWithFeatures("\\b{g}+").features();
+        assertEquals(List.of(new FeatureUse(RegexFeature.GRAPHEME_BOUNDARY, 0, 5)), features);
+    }
+
+    @Test
+    void flagsLookbehindsWithoutAnObviousMaximumLength() {
+        for (String regex : List.of("(?<=(a|b)*)c", "(?<=(?:ab)+)c", "(?<!(?:ab)+)c", "(?<=(a|b){2})c", "(?<=a+b{2})c")) {
+            assertTrue(RegexParser.parseWithFeatures(regex).features().stream()
+                    .anyMatch(use -> use.feature() == RegexFeature.UNBOUNDED_LOOKBEHIND), regex);
+        }
+        for (String regex : List.of("(?<=a*)c", "(?<=a+b+)c", "(?<=(a|b)?)c", "(?<=\\d{2}-\\d{2})c", "(a|b)*(?<=c)")) {
+            assertTrue(RegexParser.parseWithFeatures(regex).features().stream()
+                    .noneMatch(use -> use.feature() == RegexFeature.UNBOUNDED_LOOKBEHIND), regex);
+        }
+    }
+
+    @Test
+    void limitsNesting() {
+        int limit = RegexParser.MAX_NESTING;
+        assertDoesNotThrow(() -> RegexParser.parse("(".repeat(limit) + "a" + ")".repeat(limit)));
+        assertThrows(RegexParseException.class, () -> RegexParser.parse("(".repeat(limit + 1) + "a" + ")".repeat(limit + 1)));
+        assertThrows(RegexParseException.class, () -> RegexParser.parse("[".repeat(limit + 2) + "a" + "]".repeat(limit + 2)));
+    }
+
+    @Test
+    void deeplyNestedRegexFailsToParseInsteadOfOverflowingTheStack() {
+        String regex = "(?:".repeat(100_000) + "a" + ")".repeat(100_000);
+
+        assertThrows(RegexParseException.class, () -> RegexParser.parse(regex));
+    }
+}
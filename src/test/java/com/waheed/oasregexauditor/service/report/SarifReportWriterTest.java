@@ -0,0 +1,102 @@
+package com.waheed.oasregexauditor.service.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waheed.oasregexauditor.model.GroupedValidationResult;
+import com.waheed.oasregexauditor.model.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The SARIF 2.1.0 log written for audited specs: one result per error or warning, and the rules seen along the way.
+ */
+class SarifReportWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void writesIssuesAsResultsAndTheirRules() throws IOException {
+        String location = "#/components/schemas/Code";
+        AuditedSpec spec = new AuditedSpec("specs\\api.yaml", List.of(
+                new GroupedValidationResult(location, 7, "[a-z", List.of(
+                        ValidationResult.success(location, 7, "[a-z", "Java"),
+                        ValidationResult.error(location, 7, "[a-z", "Go (RE2J)", "Invalid Go regex", "Close the class", "[a-z]"))),
+                new GroupedValidationResult("#/paths/~1a", 0, null, List.of(
+                        ValidationResult.warning("#/paths/~1a", 0, null, "Quality Check", "Missing Anchors", null, null)))),
+                null, null);
+
+        JsonNode run = write(spec).path("runs").get(0);
+
+        JsonNode results = run.path("results");
+        assertEquals(2, results.size());
+        JsonNode error = results.get(0);
+        assertEquals("regex-syntax/go-re2j", error.path("ruleId").asText());
+        assertEquals("error", error.path("level").asText());
+        assertEquals("Invalid Go regex. Close the class Pattern: [a-z", error.path("message").path("text").asText());
+        JsonNode errorLocation = error.path("locations").get(0);
+        assertEquals("specs/api.yaml", errorLocation.path("physicalLocation").path("artifactLocation").path("uri").asText());
+        assertEquals(7, errorLocation.path("physicalLocation").path("region").path("startLine").asInt());
+        assertEquals(location, errorLocation.path("logicalLocations").get(0).path("fullyQualifiedName").asText());
+
+        JsonNode warning = results.get(1);
+        assertEquals("missing-anchors", warning.path("ruleId").asText());
+        assertEquals("warning", warning.path("level").asText());
+        // Findings without a source position have no region.
+        assertFalse(warning.path("locations").get(0).path("physicalLocation").has("region"));
+
+        assertEquals(List.of("regex-syntax/go-re2j", "missing-anchors"), ruleIds(run));
+        assertEquals("OpenAPI Pattern Auditor", run.path("tool").path("driver").path("name").asText());
+    }
+
+    @Test
+    void reportsUnparsableSpecsAndListsEachRuleOnce() throws IOException {
+        AuditedSpec broken = AuditedSpec.failed("a.yaml", "Failed to parse OpenAPI file.");
+        AuditedSpec alsoBroken = AuditedSpec.failed("b.yaml", "Failed to parse OpenAPI file.");
+
+        JsonNode log = write(broken, alsoBroken);
+
+        assertEquals("2.1.0", log.path("version").asText());
+        JsonNode run = log.path("runs").get(0);
+        assertEquals(2, run.path("results").size());
+        JsonNode result = run.path("results").get(1);
+        assertEquals("invalid-openapi", result.path("ruleId").asText());
+        assertEquals("error", result.path("level").asText());
+        assertEquals("b.yaml", result.path("locations").get(0).path("physicalLocation").path("artifactLocation").path("uri").asText());
+        assertEquals(List.of("invalid-openapi"), ruleIds(run));
+    }
+
+    @Test
+    void validResultsAreLeftOut() throws IOException {
+        AuditedSpec spec = new AuditedSpec("api.yaml", List.of(new GroupedValidationResult("#/a", 3, "^a$",
+                List.of(ValidationResult.success("#/a", 3, "^a$", "Java")))), null, null);
+
+        JsonNode run = write(spec).path("runs").get(0);
+
+        assertTrue(run.path("results").isEmpty());
+        assertTrue(run.path("tool").path("driver").path("rules").isEmpty());
+    }
+
+    private static JsonNode write(AuditedSpec... specs) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = ReportFormat.SARIF.open(out, MAPPER)) {
+            for (AuditedSpec spec : specs) {
+                writer.write(spec);
+            }
+        }
+        return MAPPER.readTree(out.toByteArray());
+    }
+
+    private static List<String> ruleIds(JsonNode run) {
+        List<String> ids = new ArrayList<>();
+        run.path("tool").path("driver").path("rules").forEach(rule -> ids.add(rule.path("id").asText()));
+        return ids;
+    }
+}
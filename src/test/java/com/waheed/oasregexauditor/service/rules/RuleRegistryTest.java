@@ -0,0 +1,85 @@
+package com.waheed.oasregexauditor.service.rules;
+
+import com.waheed.oasregexauditor.config.AuditProperties;
+import com.waheed.oasregexauditor.service.redos.RedosAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolution of rule IDs and rule set names, and the per-selection dispatch tables of {@link RuleRegistry}.
+ */
+class RuleRegistryTest {
+
+    private static final Set<String> PATTERN_RULES = Set.of(PermissivePatternRule.ID, MissingAnchorsRule.ID, RedosRule.ID);
+    private static final Set<String> DOCUMENT_RULES = Set.of(PathNamingRule.ID, OperationIdRule.ID, OperationSummaryRule.ID,
+            SchemaDescriptionRule.ID, SchemaExampleRule.ID);
+
+    @Test
+    void resolvesRuleIdsAndBuiltInRuleSets() {
+        RuleRegistry registry = registry(new AuditProperties());
+
+        assertEquals(Set.of(MissingAnchorsRule.ID, OperationIdRule.ID), registry.resolve(List.of(" Anchors", "OPERATION-ID ", "")));
+        assertEquals(PATTERN_RULES, registry.resolve(List.of(RuleRegistry.PATTERNS)));
+        assertEquals(DOCUMENT_RULES, registry.resolve(List.of(RuleRegistry.BEST_PRACTICES)));
+        assertEquals(registry.ruleIds(), registry.resolve(List.of(RuleRegistry.ALL, MissingAnchorsRule.ID)));
+        assertEquals(Set.of(), registry.resolve(List.of()));
+    }
+
+    @Test
+    void resolvesConfiguredRuleSets() {
+        AuditProperties properties = new AuditProperties();
+        properties.setRuleSets(Map.of("CI", List.of(MissingAnchorsRule.ID, RuleRegistry.BEST_PRACTICES)));
+        RuleRegistry registry = registry(properties);
+
+        Set<String> expected = new TreeSet<>(DOCUMENT_RULES);
+        expected.add(MissingAnchorsRule.ID);
+        assertEquals(expected, registry.resolve(List.of("ci")));
+    }
+
+    @Test
+    void rejectsUnknownNames() {
+        RuleRegistry registry = registry(new AuditProperties());
+
+        UnknownRuleException e = assertThrows(UnknownRuleException.class, () -> registry.resolve(List.of("anchors", "checkNaming")));
+        assertTrue(e.getMessage().contains("'checkNaming'"));
+        assertThrows(UnknownRuleException.class, () -> registry.ruleSet(Set.of("nope")));
+
+        AuditProperties properties = new AuditProperties();
+        properties.setRuleSets(Map.of("ci", List.of("nope")));
+        assertThrows(IllegalStateException.class, () -> registry(properties));
+    }
+
+    @Test
+    void dispatchesEachSelectionByNodeKindOnce() {
+        RuleRegistry registry = registry(new AuditProperties());
+
+        RuleSet patterns = registry.ruleSet(Set.of(MissingAnchorsRule.ID, PermissivePatternRule.ID));
+        assertEquals(List.of(MissingAnchorsRule.ID, PermissivePatternRule.ID),
+                patterns.rules(NodeKind.PATTERN).stream().map(AuditRule::id).toList());
+        assertFalse(patterns.requiresDocumentModel());
+        assertSame(patterns, registry.ruleSet(Set.of(PermissivePatternRule.ID, MissingAnchorsRule.ID)));
+
+        RuleSet operations = registry.ruleSet(Set.of(OperationIdRule.ID, OperationSummaryRule.ID));
+        assertEquals(2, operations.rules(NodeKind.OPERATION).size());
+        assertTrue(operations.rules(NodeKind.PATTERN).isEmpty());
+        assertTrue(operations.requiresDocumentModel());
+
+        assertSame(RuleSet.NONE, registry.ruleSet(Set.of()));
+    }
+
+    private static RuleRegistry registry(AuditProperties properties) {
+        return new RuleRegistry(List.of(new PermissivePatternRule(), new MissingAnchorsRule(), new RedosRule(new RedosAnalyzer(properties)),
+                new PathNamingRule(), new OperationIdRule(), new OperationSummaryRule(), new SchemaDescriptionRule(),
+                new SchemaExampleRule()), properties);
+    }
+}